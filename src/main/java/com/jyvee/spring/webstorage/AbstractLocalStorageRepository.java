@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023-2025 Rahim Alizada
+ * Copyright (c) 2023-2026 Rahim Alizada
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,7 @@ import com.jyvee.spring.webstorage.configuration.LocalStorageConfigurationProper
 import com.jyvee.spring.webstorage.provider.DefaultStoragePathProvider;
 import com.jyvee.spring.webstorage.provider.LocalStorageProvider;
 import com.jyvee.spring.webstorage.provider.StoragePathProvider;
+import com.jyvee.spring.webstorage.validator.StorageValidationEngine;
 import com.jyvee.spring.webstorage.validator.StorageValidator;
 import lombok.Getter;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -41,4 +42,7 @@ public abstract class AbstractLocalStorageRepository<T>
     @Autowired(required = false)
     private StoragePathProvider storagePathProvider = new DefaultStoragePathProvider();
 
+    @Getter(lazy = true)
+    private final StorageValidationEngine validationEngine = new StorageValidationEngine(getValidators());
+
 }
@@ -20,6 +20,7 @@ import com.jyvee.spring.webstorage.configuration.S3StorageConfigurationPropertie
 import com.jyvee.spring.webstorage.provider.DefaultStoragePathProvider;
 import com.jyvee.spring.webstorage.provider.S3StorageProvider;
 import com.jyvee.spring.webstorage.provider.StoragePathProvider;
+import com.jyvee.spring.webstorage.validator.StorageValidationEngine;
 import com.jyvee.spring.webstorage.validator.StorageValidator;
 import lombok.Getter;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -41,4 +42,7 @@ public abstract class AbstractS3StorageRepository<T>
     @Autowired(required = false)
     private StoragePathProvider storagePathProvider = new DefaultStoragePathProvider();
 
+    @Getter(lazy = true)
+    private final StorageValidationEngine validationEngine = new StorageValidationEngine(getValidators());
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023-2025 Rahim Alizada
+ * Copyright (c) 2023-2026 Rahim Alizada
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,12 +18,16 @@ package com.jyvee.spring.webstorage;
 
 import com.jyvee.spring.webstorage.configuration.FileType;
 import com.jyvee.spring.webstorage.configuration.StorageConfigurationProperties;
+import com.jyvee.spring.webstorage.provider.PayloadDigests;
 import com.jyvee.spring.webstorage.provider.StoragePathProvider;
 import com.jyvee.spring.webstorage.provider.StorageProvider;
+import com.jyvee.spring.webstorage.validator.StoragePayload;
+import com.jyvee.spring.webstorage.validator.StorageValidationEngine;
 import com.jyvee.spring.webstorage.validator.StorageValidator;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
@@ -49,32 +53,71 @@ public interface StorageRepository<T, S extends StorageConfigurationProperties>
             final String fileName = Optional
                 .ofNullable(multipartFile.getOriginalFilename())
                 .orElseThrow(() -> new IllegalArgumentException("File name is missing"));
-            final T httpFile = save(fileType, fileName, contentType, multipartFile.getBytes(), new LinkedHashMap<>());
-            httpFiles.add(httpFile);
+            // Large uploads are kept on disk by the multipart resolver, an invalid one is rejected before loading it
+            try (final InputStream inputStream = multipartFile.getInputStream()) {
+                final T httpFile = save(fileType, fileName, contentType,
+                    StoragePayload.of(inputStream, multipartFile.getSize()), new LinkedHashMap<>());
+                httpFiles.add(httpFile);
+            }
         }
         return httpFiles;
     }
 
     default T save(final FileType fileType, final String path, final String contentType, final byte[] payload,
                    final Map<String, String> metadata) throws IOException {
+        return save(fileType, path, contentType, StoragePayload.of(payload), metadata);
+    }
+
+    /**
+     * Validates and saves a file. The validators run before the whole content is read, so a file failing the size or
+     * content checks is rejected after reading at most its first bytes.
+     *
+     * @param fileType    file type
+     * @param path        relative path of the file, its file name is kept in the storage path
+     * @param contentType content type of the file
+     * @param payload     file content
+     * @param metadata    file metadata
+     * @return saved file, or the stored identical file if deduplication is enabled
+     * @throws IOException if the content cannot be read or saved
+     */
+    default T save(final FileType fileType, final String path, final String contentType, final StoragePayload payload,
+                   final Map<String, String> metadata) throws IOException {
 
         final Path relativePath = Paths.get(path);
+        final Map<String, String> validatorMetadata = getValidationEngine().validate(fileType, contentType, payload);
+        final byte[] bytes = payload.readAllBytes();
 
-        final String storagePath = getStoragePathProvider().getStoragePath(fileType.getPath(), relativePath, payload);
+        // Digests shared by the path, the deduplication check and the save, each one computed on first use only
+        final PayloadDigests digests = PayloadDigests.of(bytes);
+        final String storagePath =
+            getStoragePathProvider().getStoragePath(fileType.getPath(), relativePath, bytes, digests);
+        if (getConfiguration().isDeduplicationEnabled()) {
+            // Identical content maps to the same path, uploading it again would only rewrite the same bytes
+            final Optional<T> existing = findIdentical(storagePath, digests);
+            if (existing.isPresent()) {
+                return existing.get();
+            }
+        }
 
         final Map<String, String> updatedMetadata = new LinkedHashMap<>(metadata);
         updatedMetadata.put("filename", relativePath.getFileName().toString());
         updatedMetadata.put("fileType", fileType.name());
-        getValidators()
-            .stream()
-            .map(validator -> validator.validate(fileType, contentType, payload))
-            .forEach(updatedMetadata::putAll);
+        updatedMetadata.putAll(validatorMetadata);
 
-        return this.save(storagePath, contentType, payload, updatedMetadata);
+        return this.save(storagePath, contentType, bytes, updatedMetadata, digests);
     }
 
     List<StorageValidator> getValidators();
 
+    /**
+     * Engine running {@link #getValidators()}, override to share one instance or to validate with an executor
+     *
+     * @return validation engine
+     */
+    default StorageValidationEngine getValidationEngine() {
+        return new StorageValidationEngine(getValidators());
+    }
+
     StoragePathProvider getStoragePathProvider();
 
 }
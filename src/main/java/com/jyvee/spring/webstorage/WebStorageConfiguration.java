@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023-2025 Rahim Alizada
+ * Copyright (c) 2023-2026 Rahim Alizada
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,9 +17,29 @@
 package com.jyvee.spring.webstorage;
 
 import com.jyvee.spring.webstorage.configuration.StorageConfigurationProperties;
+import com.jyvee.spring.webstorage.provider.Murmur3StoragePathProvider;
+import com.jyvee.spring.webstorage.provider.StoragePathProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 @ConfigurationPropertiesScan(basePackageClasses = StorageConfigurationProperties.class)
-public class WebStorageConfiguration {}
+public class WebStorageConfiguration {
+
+    /**
+     * Names stored files by the MurmurHash3 of their content instead of MD5 when 'web-storage.path-hash' is 'murmur3',
+     * repositories fall back to MD5 paths without a storage path provider bean
+     *
+     * @return storage path provider
+     */
+    @Bean
+    @ConditionalOnMissingBean(StoragePathProvider.class)
+    @ConditionalOnProperty(prefix = "web-storage", name = "path-hash", havingValue = "murmur3")
+    public StoragePathProvider murmur3StoragePathProvider() {
+        return new Murmur3StoragePathProvider();
+    }
+
+}
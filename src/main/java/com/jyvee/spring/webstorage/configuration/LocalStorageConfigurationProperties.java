@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2024-2025 Rahim Alizada
+ * Copyright (c) 2024-2026 Rahim Alizada
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,10 +16,68 @@
 
 package com.jyvee.spring.webstorage.configuration;
 
+import org.jspecify.annotations.Nullable;
+
 import java.nio.file.Path;
 
 public interface LocalStorageConfigurationProperties extends StorageConfigurationProperties {
 
     Path getPath();
 
+    /** @return owner of saved files and created directories, null to keep the user running the application */
+    default @Nullable String getOwner() {
+        return "www-data";
+    }
+
+    /** @return group of saved files and created directories, null to keep the primary group of the owner */
+    default @Nullable String getGroup() {
+        return "www-data";
+    }
+
+    /** @return POSIX permissions of saved files and created directories, like {@code rwxr-xr-x} */
+    default String getPermissions() {
+        return "rwxr-xr-x";
+    }
+
+    /**
+     * Where the content type, checksum and metadata of saved files are stored
+     *
+     * @return metadata store
+     */
+    default MetadataStore getMetadataStore() {
+        return MetadataStore.EXTENDED_ATTRIBUTES;
+    }
+
+    /**
+     * How saved files are forced to disk before a save returns
+     *
+     * @return durability mode
+     */
+    default Durability getDurability() {
+        return Durability.NONE;
+    }
+
+    enum MetadataStore {
+
+        /** User extended attributes of each file, unsupported by some file systems like overlay or NFS mounts */
+        EXTENDED_ATTRIBUTES,
+
+        /**
+         * Hidden sidecar file next to each file, for file systems without user extended attributes. Files saved with
+         * extended attributes are still read.
+         */
+        SIDECAR_FILES
+
+    }
+
+    enum Durability {
+
+        /** Files are left to the operating system, a crash may lose recently saved files */
+        NONE,
+
+        /** Every file and its directory are synced to disk before the save returns */
+        FSYNC
+
+    }
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023-2025 Rahim Alizada
+ * Copyright (c) 2023-2026 Rahim Alizada
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,12 +18,16 @@ package com.jyvee.spring.webstorage.configuration;
 
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
+import org.jspecify.annotations.Nullable;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
 import org.springframework.validation.annotation.Validated;
 
 import java.net.URI;
 import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
 
 @Getter
 @Validated
@@ -31,6 +35,12 @@ import java.nio.file.Path;
 @ConditionalOnProperty(prefix = "web-storage.local", name = {"path", "endpoint"})
 public class LocalStorageConfigurationPropertiesImpl implements LocalStorageConfigurationProperties {
 
+    private static final String DEFAULT_OWNER = "www-data";
+
+    private static final String DEFAULT_GROUP = "www-data";
+
+    private static final String DEFAULT_PERMISSIONS = "rwxr-xr-x";
+
     /** Base endpoint URI for uploaded files */
     private final URI endpoint;
 
@@ -40,10 +50,136 @@ public class LocalStorageConfigurationPropertiesImpl implements LocalStorageConf
     /** Storage ID */
     private final String storageId;
 
+    /** Return existing files with identical content instead of saving them again */
+    private final boolean deduplicationEnabled;
+
+    /** Owner of saved files and created directories, empty to keep the user running the application */
+    @Nullable
+    private final String owner;
+
+    /** Group of saved files and created directories, empty to keep the primary group of the owner */
+    @Nullable
+    private final String group;
+
+    /** POSIX permissions of saved files and created directories */
+    private final String permissions;
+
+    /** Where file metadata is stored: extended-attributes or sidecar-files */
+    private final MetadataStore metadataStore;
+
+    /** How saved files are forced to disk: none or fsync */
+    private final Durability durability;
+
     public LocalStorageConfigurationPropertiesImpl(@NotNull final URI endpoint, @NotNull final Path path) {
+        this(endpoint, path, false, Durability.NONE, DEFAULT_OWNER, DEFAULT_GROUP, DEFAULT_PERMISSIONS,
+            MetadataStore.EXTENDED_ATTRIBUTES);
+    }
+
+    @ConstructorBinding
+    public LocalStorageConfigurationPropertiesImpl(@NotNull final URI endpoint, @NotNull final Path path,
+                                                   @DefaultValue("false") final boolean deduplicate,
+                                                   @DefaultValue("none") final Durability durability,
+                                                   @DefaultValue(DEFAULT_OWNER) @Nullable final String owner,
+                                                   @DefaultValue(DEFAULT_GROUP) @Nullable final String group,
+                                                   @DefaultValue(DEFAULT_PERMISSIONS) final String permissions,
+                                                   @DefaultValue("extended-attributes")
+                                                   final MetadataStore metadataStore) {
+        // Fails on an invalid permission string at startup rather than on the first save
+        PosixFilePermissions.fromString(permissions);
         this.endpoint = endpoint;
         this.path = path;
         this.storageId = path.toString();
+        this.deduplicationEnabled = deduplicate;
+        this.durability = durability;
+        this.owner = owner == null || owner.isBlank() ? null : owner;
+        this.group = group == null || group.isBlank() ? null : group;
+        this.permissions = permissions;
+        this.metadataStore = metadataStore;
+    }
+
+    /**
+     * Starts a configuration built in code, the options which are not set keep the defaults of the bound properties
+     *
+     * @param endpoint base endpoint URI for uploaded files
+     * @param path     base path for uploaded files
+     * @return configuration builder
+     */
+    public static Builder builder(@NotNull final URI endpoint, @NotNull final Path path) {
+        return new Builder(endpoint, path);
+    }
+
+    public static final class Builder {
+
+        private final URI endpoint;
+
+        private final Path path;
+
+        private boolean deduplicate;
+
+        private Durability durability = Durability.NONE;
+
+        @Nullable
+        private String owner = DEFAULT_OWNER;
+
+        @Nullable
+        private String group = DEFAULT_GROUP;
+
+        private String permissions = DEFAULT_PERMISSIONS;
+
+        private MetadataStore metadataStore = MetadataStore.EXTENDED_ATTRIBUTES;
+
+        private Builder(final URI endpoint, final Path path) {
+            this.endpoint = endpoint;
+            this.path = path;
+        }
+
+        public Builder deduplicate(final boolean deduplicate) {
+            this.deduplicate = deduplicate;
+            return this;
+        }
+
+        public Builder durability(final Durability durability) {
+            this.durability = durability;
+            return this;
+        }
+
+        /**
+         * @param owner owner of saved files and created directories, null or blank to keep the running user
+         * @return this builder
+         */
+        public Builder owner(@Nullable final String owner) {
+            this.owner = owner;
+            return this;
+        }
+
+        /**
+         * @param group group of saved files and created directories, null or blank to keep the owner's group
+         * @return this builder
+         */
+        public Builder group(@Nullable final String group) {
+            this.group = group;
+            return this;
+        }
+
+        public Builder permissions(final String permissions) {
+            this.permissions = permissions;
+            return this;
+        }
+
+        public Builder metadataStore(final MetadataStore metadataStore) {
+            this.metadataStore = metadataStore;
+            return this;
+        }
+
+        /**
+         * @return configuration
+         * @throws IllegalArgumentException if the permission string is invalid
+         */
+        public LocalStorageConfigurationPropertiesImpl build() {
+            return new LocalStorageConfigurationPropertiesImpl(this.endpoint, this.path, this.deduplicate,
+                this.durability, this.owner, this.group, this.permissions, this.metadataStore);
+        }
+
     }
 
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2024-2025 Rahim Alizada
+ * Copyright (c) 2024-2026 Rahim Alizada
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,9 +17,29 @@
 package com.jyvee.spring.webstorage.configuration;
 
 import java.net.URI;
+import java.time.Duration;
 
 public interface S3StorageConfigurationProperties extends StorageConfigurationProperties {
 
+    int DEFAULT_MAX_ATTEMPTS = 3;
+
+    Duration DEFAULT_RETRY_BASE_DELAY = Duration.ofMillis(100);
+
+    Duration DEFAULT_RETRY_MAX_DELAY = Duration.ofSeconds(5);
+
+    int DEFAULT_RETRY_BUDGET = 500;
+
+    /** S3 documents sustaining at least 3,500 PUT/COPY/POST/DELETE requests per second per prefix */
+    int DEFAULT_MAX_REQUEST_RATE = 3500;
+
+    int DEFAULT_MAX_HEDGE_PERCENT = 5;
+
+    Duration DEFAULT_BULKHEAD_MAX_WAIT = Duration.ofMillis(500);
+
+    Duration DEFAULT_CIRCUIT_BREAKER_SLOW_CALL_DURATION = Duration.ofSeconds(30);
+
+    Duration DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION = Duration.ofSeconds(30);
+
     URI getUri();
 
     URI getServiceEndpoint();
@@ -32,4 +52,125 @@ public interface S3StorageConfigurationProperties extends StorageConfigurationPr
 
     String getSecret();
 
+    /**
+     * Maximum number of attempts per S3 request, including the first one
+     *
+     * @return maximum number of attempts
+     */
+    default int getMaxAttempts() {
+        return DEFAULT_MAX_ATTEMPTS;
+    }
+
+    /**
+     * Base delay of the exponential backoff between retries
+     *
+     * @return base retry delay
+     */
+    default Duration getRetryBaseDelay() {
+        return DEFAULT_RETRY_BASE_DELAY;
+    }
+
+    /**
+     * Upper bound of the exponential backoff between retries
+     *
+     * @return maximum retry delay
+     */
+    default Duration getRetryMaxDelay() {
+        return DEFAULT_RETRY_MAX_DELAY;
+    }
+
+    /**
+     * Retry budget (token bucket capacity) shared by all requests to this storage, 0 disables retries
+     *
+     * @return retry budget
+     */
+    default int getRetryBudget() {
+        return DEFAULT_RETRY_BUDGET;
+    }
+
+    /**
+     * Maximum request rate per key prefix in requests per second, the adaptive rate limiter lowers it while S3
+     * throttles requests, 0 disables rate limiting
+     *
+     * @return maximum request rate
+     */
+    default int getMaxRequestRate() {
+        return DEFAULT_MAX_REQUEST_RATE;
+    }
+
+    /**
+     * Delay after which a duplicate of a pending read (GET, list page) is sent, typically the observed p95 latency,
+     * zero disables hedging
+     *
+     * @return hedge delay
+     */
+    default Duration getHedgeDelay() {
+        return Duration.ZERO;
+    }
+
+    /**
+     * Maximum share of reads which may be hedged, in percent
+     *
+     * @return maximum hedge rate
+     */
+    default int getMaxHedgePercent() {
+        return DEFAULT_MAX_HEDGE_PERCENT;
+    }
+
+    /**
+     * Maximum number of concurrent requests to this storage, 0 disables the bulkhead, disabled by default
+     *
+     * @return maximum number of concurrent requests
+     */
+    default int getMaxConcurrentRequests() {
+        return 0;
+    }
+
+    /**
+     * Maximum time a request waits for a free slot when the maximum number of concurrent requests is reached
+     *
+     * @return maximum bulkhead wait time
+     */
+    default Duration getBulkheadMaxWait() {
+        return DEFAULT_BULKHEAD_MAX_WAIT;
+    }
+
+    /**
+     * Share of failed recent attempts, in percent, which opens the circuit breaker, 0 disables the failure rate check,
+     * disabled by default. Throttled attempts are left to the rate limiter and do not count as failures.
+     *
+     * @return failure rate threshold
+     */
+    default int getCircuitBreakerFailureRate() {
+        return 0;
+    }
+
+    /**
+     * Share of slow recent attempts, in percent, which opens the circuit breaker, 0 disables the slow call rate check,
+     * disabled by default
+     *
+     * @return slow call rate threshold
+     */
+    default int getCircuitBreakerSlowCallRate() {
+        return 0;
+    }
+
+    /**
+     * Duration above which an attempt counts as slow for the circuit breaker
+     *
+     * @return slow call duration
+     */
+    default Duration getCircuitBreakerSlowCallDuration() {
+        return DEFAULT_CIRCUIT_BREAKER_SLOW_CALL_DURATION;
+    }
+
+    /**
+     * Time the circuit breaker stays open before letting probe requests through
+     *
+     * @return open state duration
+     */
+    default Duration getCircuitBreakerOpenDuration() {
+        return DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION;
+    }
+
 }
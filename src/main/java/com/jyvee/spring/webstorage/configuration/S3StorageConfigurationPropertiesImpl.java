@@ -21,13 +21,16 @@ import lombok.Getter;
 import lombok.ToString;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.convert.DurationStyle;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Map;
+import java.util.Optional;
 
 @Getter
 @ToString
@@ -64,6 +67,54 @@ public class S3StorageConfigurationPropertiesImpl implements S3StorageConfigurat
     /** Storage ID */
     private final String storageId;
 
+    /** Maximum number of attempts per S3 request, optional 'maxAttempts' parameter */
+    private final int maxAttempts;
+
+    /** Base delay of the exponential backoff between retries, optional 'retryBaseDelay' parameter */
+    private final Duration retryBaseDelay;
+
+    /** Upper bound of the exponential backoff between retries, optional 'retryMaxDelay' parameter */
+    private final Duration retryMaxDelay;
+
+    /** Retry budget shared by all requests to this storage, optional 'retryBudget' parameter */
+    private final int retryBudget;
+
+    /** Maximum request rate per key prefix in requests per second, optional 'maxRequestRate' parameter */
+    private final int maxRequestRate;
+
+    /** Delay after which a pending read is hedged, optional 'hedgeDelay' parameter, disabled by default */
+    private final Duration hedgeDelay;
+
+    /** Maximum share of reads which may be hedged in percent, optional 'maxHedgePercent' parameter */
+    private final int maxHedgePercent;
+
+    /** Maximum number of concurrent requests, optional 'maxConcurrentRequests' parameter, disabled by default */
+    private final int maxConcurrentRequests;
+
+    /** Maximum wait time for a free concurrent request slot, optional 'bulkheadMaxWait' parameter */
+    private final Duration bulkheadMaxWait;
+
+    /**
+     * Failure rate in percent opening the circuit breaker, optional 'circuitBreakerFailureRate' parameter, disabled by
+     * default
+     */
+    private final int circuitBreakerFailureRate;
+
+    /**
+     * Slow call rate in percent opening the circuit breaker, optional 'circuitBreakerSlowCallRate' parameter, disabled
+     * by default
+     */
+    private final int circuitBreakerSlowCallRate;
+
+    /** Duration of a slow call, optional 'circuitBreakerSlowCallDuration' parameter */
+    private final Duration circuitBreakerSlowCallDuration;
+
+    /** Open state duration of the circuit breaker, optional 'circuitBreakerOpenDuration' parameter */
+    private final Duration circuitBreakerOpenDuration;
+
+    /** Return existing identical files instead of uploading them again, optional 'deduplicate' parameter */
+    private final boolean deduplicationEnabled;
+
     public S3StorageConfigurationPropertiesImpl(@NotNull final URI uri) {
 
         this.uri = uri;
@@ -90,6 +141,49 @@ public class S3StorageConfigurationPropertiesImpl implements S3StorageConfigurat
             .path("/")
             .path(this.bucket)
             .toUriString();
+
+        this.maxAttempts = getOptionalParameter(queryParamsMap, "maxAttempts")
+            .map(value -> parseInt("maxAttempts", value, 1))
+            .orElse(DEFAULT_MAX_ATTEMPTS);
+        this.retryBaseDelay = getOptionalParameter(queryParamsMap, "retryBaseDelay")
+            .map(value -> parseDuration("retryBaseDelay", value))
+            .orElse(DEFAULT_RETRY_BASE_DELAY);
+        this.retryMaxDelay = getOptionalParameter(queryParamsMap, "retryMaxDelay")
+            .map(value -> parseDuration("retryMaxDelay", value))
+            .orElse(DEFAULT_RETRY_MAX_DELAY);
+        this.retryBudget = getOptionalParameter(queryParamsMap, "retryBudget")
+            .map(value -> parseInt("retryBudget", value, 0))
+            .orElse(DEFAULT_RETRY_BUDGET);
+        this.maxRequestRate = getOptionalParameter(queryParamsMap, "maxRequestRate")
+            .map(value -> parseInt("maxRequestRate", value, 0))
+            .orElse(DEFAULT_MAX_REQUEST_RATE);
+        this.hedgeDelay = getOptionalParameter(queryParamsMap, "hedgeDelay")
+            .map(value -> parseDuration("hedgeDelay", value))
+            .orElse(Duration.ZERO);
+        this.maxHedgePercent = getOptionalParameter(queryParamsMap, "maxHedgePercent")
+            .map(value -> parseInt("maxHedgePercent", value, 0))
+            .orElse(DEFAULT_MAX_HEDGE_PERCENT);
+        this.maxConcurrentRequests = getOptionalParameter(queryParamsMap, "maxConcurrentRequests")
+            .map(value -> parseInt("maxConcurrentRequests", value, 0))
+            .orElse(0);
+        this.bulkheadMaxWait = getOptionalParameter(queryParamsMap, "bulkheadMaxWait")
+            .map(value -> parseDuration("bulkheadMaxWait", value))
+            .orElse(DEFAULT_BULKHEAD_MAX_WAIT);
+        this.circuitBreakerFailureRate = getOptionalParameter(queryParamsMap, "circuitBreakerFailureRate")
+            .map(value -> parseInt("circuitBreakerFailureRate", value, 0))
+            .orElse(0);
+        this.circuitBreakerSlowCallRate = getOptionalParameter(queryParamsMap, "circuitBreakerSlowCallRate")
+            .map(value -> parseInt("circuitBreakerSlowCallRate", value, 0))
+            .orElse(0);
+        this.circuitBreakerSlowCallDuration = getOptionalParameter(queryParamsMap, "circuitBreakerSlowCallDuration")
+            .map(value -> parseDuration("circuitBreakerSlowCallDuration", value))
+            .orElse(DEFAULT_CIRCUIT_BREAKER_SLOW_CALL_DURATION);
+        this.circuitBreakerOpenDuration = getOptionalParameter(queryParamsMap, "circuitBreakerOpenDuration")
+            .map(value -> parseDuration("circuitBreakerOpenDuration", value))
+            .orElse(DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION);
+        this.deduplicationEnabled = getOptionalParameter(queryParamsMap, "deduplicate")
+            .map(value -> parseBoolean("deduplicate", value))
+            .orElse(false);
     }
 
     private static String getParameter(final Map<String, String> queryParamsMap, final String parameterName) {
@@ -104,4 +198,50 @@ public class S3StorageConfigurationPropertiesImpl implements S3StorageConfigurat
         return decodedValue;
     }
 
+    private static Optional<String> getOptionalParameter(final Map<String, String> queryParamsMap,
+                                                         final String parameterName) {
+        return Optional
+            .ofNullable(queryParamsMap.get(parameterName))
+            .map(value -> URLDecoder.decode(value, StandardCharsets.UTF_8).strip())
+            .filter(value -> !value.isEmpty());
+    }
+
+    private static int parseInt(final String parameterName, final String value, final int minValue) {
+        final int parsed;
+        try {
+            parsed = Integer.parseInt(value);
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("Endpoint URI parameter '" + parameterName + "' should be a number", e);
+        }
+        if (parsed < minValue) {
+            throw new IllegalArgumentException(
+                "Endpoint URI parameter '" + parameterName + "' should not be less than " + minValue);
+        }
+        return parsed;
+    }
+
+    private static boolean parseBoolean(final String parameterName, final String value) {
+        if ("true".equalsIgnoreCase(value)) {
+            return true;
+        }
+        if ("false".equalsIgnoreCase(value)) {
+            return false;
+        }
+        throw new IllegalArgumentException("Endpoint URI parameter '" + parameterName + "' should be true or false");
+    }
+
+    private static Duration parseDuration(final String parameterName, final String value) {
+        final Duration parsed;
+        try {
+            parsed = DurationStyle.detectAndParse(value);
+        } catch (final IllegalArgumentException e) {
+            throw new IllegalArgumentException("Endpoint URI parameter '" + parameterName + "' should be a duration",
+                e);
+        }
+        if (parsed.isNegative()) {
+            throw new IllegalArgumentException("Endpoint URI parameter '" + parameterName + "' should not be negative");
+        }
+        return parsed;
+    }
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023-2025 Rahim Alizada
+ * Copyright (c) 2023-2026 Rahim Alizada
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -34,4 +34,14 @@ public interface StorageConfigurationProperties {
      */
     String getStorageId();
 
+    /**
+     * Whether saving a file through a repository returns the existing file instead of uploading it again when the
+     * storage path already holds identical content
+     *
+     * @return true if deduplication is enabled
+     */
+    default boolean isDeduplicationEnabled() {
+        return false;
+    }
+
 }
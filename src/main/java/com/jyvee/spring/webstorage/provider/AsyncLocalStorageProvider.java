@@ -0,0 +1,380 @@
+/*
+ * Copyright (c) 2026 Rahim Alizada
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jyvee.spring.webstorage.provider;
+
+import com.jyvee.spring.webstorage.configuration.LocalStorageConfigurationProperties;
+import lombok.Getter;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs the operations of a local storage provider off the request threads, so they are not blocked by large writes or
+ * slow disks. Saves write their content through an {@link AsynchronousFileChannel}, the I/O threads only create the
+ * temporary file beforehand, and the channel threads sync, set the attributes and rename it once written, keeping the
+ * guarantees of the decorated provider: atomic replacement, permissions, attributes and durability. The other
+ * operations, which have no asynchronous file system API, run on the I/O threads. Reads open the file on an I/O
+ * thread, then read it in chunks through an {@link AsynchronousFileChannel} on the channel threads.
+ * <p>
+ * Operations submitted while all I/O threads are busy and their queue is full fail at once with a
+ * {@link RejectedExecutionException}, pushing back on callers instead of queueing without limit. Admitted saves and
+ * reads are not rejected afterward, the channel threads queue their steps. The provider must be closed to stop its I/O
+ * threads, the idle channel threads stop on their own.
+ *
+ * @param <T> stored file type
+ */
+public class AsyncLocalStorageProvider<T>
+    implements AsyncStorageProvider<T, LocalStorageConfigurationProperties>, AutoCloseable {
+
+    private static final AtomicInteger POOL_COUNTER = new AtomicInteger();
+
+    /** Size of the chunks passed by {@link #read(String, Consumer)} */
+    private static final int READ_CHUNK_SIZE = 64 * 1024;
+
+    @Getter
+    private final LocalStorageProvider<T> delegate;
+
+    private final ThreadPoolExecutor executor;
+
+    /** Runs the reads and writes of the channels, their completion handlers and the steps following them */
+    private final ThreadPoolExecutor channelExecutor;
+
+    /**
+     * @param delegate      decorated provider
+     * @param threads       number of I/O threads, and of channel threads
+     * @param queueCapacity number of operations waiting for a thread, further operations are rejected
+     */
+    public AsyncLocalStorageProvider(final LocalStorageProvider<T> delegate, final int threads,
+                                     final int queueCapacity) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count should be positive");
+        }
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Queue capacity should be positive");
+        }
+        this.delegate = delegate;
+        final String poolName = "web-storage-io-" + POOL_COUNTER.incrementAndGet() + "-";
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), threadFactory(poolName));
+        this.channelExecutor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), threadFactory(poolName + "channel-"));
+        this.channelExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public LocalStorageConfigurationProperties getConfiguration() {
+        return this.delegate.getConfiguration();
+    }
+
+    @Override
+    public CompletableFuture<List<String>> list(final String path) {
+        return submit(() -> this.delegate.list(path));
+    }
+
+    @Override
+    public CompletableFuture<T> save(final String path, final String contentType, final byte[] payload,
+                                     final Map<String, String> metadata) {
+        return save(path, contentType, payload, metadata, PayloadDigests.of(payload));
+    }
+
+    @Override
+    public CompletableFuture<T> save(final String path, final String contentType, final byte[] payload,
+                                     final Map<String, String> metadata, final PayloadDigests digests) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        execute(result, () -> startSave(path, contentType, payload, metadata, digests, result));
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<T> load(final String path) {
+        return submit(() -> this.delegate.load(path));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> exists(final String path) {
+        return submit(() -> this.delegate.exists(path));
+    }
+
+    @Override
+    public CompletableFuture<Optional<T>> findIdentical(final String path, final PayloadDigests digests) {
+        return submit(() -> this.delegate.findIdentical(path, digests));
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(final Collection<String> paths) {
+        return submit(() -> {
+            this.delegate.delete(paths);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(final String path) {
+        return submit(() -> {
+            this.delegate.delete(path);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> copy(final String fromPath, final String toPath) {
+        return submit(() -> {
+            this.delegate.copy(fromPath, toPath);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> move(final String fromPath, final String toPath) {
+        return submit(() -> {
+            this.delegate.move(fromPath, toPath);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Long> read(final String path, final Consumer<ByteBuffer> consumer) {
+        final CompletableFuture<Long> result = new CompletableFuture<>();
+        final Path filePath = getConfiguration().getPath().resolve(StorageProviderUtil.sanitizePath(path));
+        execute(result, () -> startRead(filePath, consumer, result));
+        return result;
+    }
+
+    /** Stops accepting operations, those already submitted still complete */
+    @Override
+    public void close() {
+        this.executor.shutdown();
+    }
+
+    /** Creates the temporary file of a save on an I/O thread, then writes it through a channel */
+    private void startSave(final String path, final String contentType, final byte[] payload,
+                           final Map<String, String> metadata, final PayloadDigests digests,
+                           final CompletableFuture<T> result) {
+        final PendingSave save;
+        try {
+            save = PendingSave.begin(getConfiguration(), path);
+        } catch (final IOException | RuntimeException e) {
+            result.completeExceptionally(e);
+            return;
+        }
+        final AsynchronousFileChannel channel;
+        try {
+            channel = AsynchronousFileChannel.open(save.getTempPath(), Set.of(StandardOpenOption.WRITE),
+                this.channelExecutor);
+        } catch (final IOException | RuntimeException e) {
+            try {
+                save.close();
+            } catch (final IOException closeException) {
+                e.addSuppressed(closeException);
+            }
+            result.completeExceptionally(e);
+            return;
+        }
+        final CompletableFuture<Void> written = new CompletableFuture<>();
+        written.whenComplete(
+            (_, failure) -> finishSave(save, channel, failure, contentType, metadata, digests, result));
+        new WriteHandler(channel, written).write(ByteBuffer.wrap(payload));
+    }
+
+    /** Syncs the written temporary file of a save on a channel thread and replaces the file by it */
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    private void finishSave(final PendingSave save, final AsynchronousFileChannel channel,
+                            @Nullable final Throwable writeFailure, final String contentType,
+                            final Map<String, String> metadata, final PayloadDigests digests,
+                            final CompletableFuture<T> result) {
+        try (save) {
+            try (channel) {
+                if (writeFailure != null) {
+                    result.completeExceptionally(writeFailure);
+                    return;
+                }
+                StorageProviderUtil.syncFile(channel, getConfiguration());
+            }
+            result.complete(save.commit(this.delegate, contentType, metadata, digests));
+        } catch (final IOException | RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    /** Opens a read file on an I/O thread, then reads it through a channel */
+    private void startRead(final Path filePath, final Consumer<ByteBuffer> consumer,
+                           final CompletableFuture<Long> result) {
+        final AsynchronousFileChannel channel;
+        try {
+            // Directories are not files of the storage, see LocalStorageProvider#delete
+            if (!Files.isRegularFile(filePath)) {
+                throw new NoSuchFileException(filePath.toString());
+            }
+            channel = AsynchronousFileChannel.open(filePath, Set.of(StandardOpenOption.READ), this.channelExecutor);
+        } catch (final IOException | RuntimeException e) {
+            result.completeExceptionally(e);
+            return;
+        }
+        new ReadHandler(channel, consumer, result).read(ByteBuffer.allocate(READ_CHUNK_SIZE));
+    }
+
+    private <R> CompletableFuture<R> submit(final IOCallable<R> operation) {
+        final CompletableFuture<R> result = new CompletableFuture<>();
+        execute(result, () -> {
+            try {
+                result.complete(operation.call());
+            } catch (final IOException | RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    /** Runs a task on an I/O thread, or fails its result at once if the queue is full */
+    private void execute(final CompletableFuture<?> result, final Runnable task) {
+        try {
+            this.executor.execute(task);
+        } catch (final RejectedExecutionException e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    private static ThreadFactory threadFactory(final String namePrefix) {
+        final AtomicInteger threadCounter = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, namePrefix + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @FunctionalInterface
+    private interface IOCallable<R> {
+
+        R call() throws IOException;
+
+    }
+
+    /** Writes a buffer to a file from its start, then completes */
+    private record WriteHandler(AsynchronousFileChannel channel, CompletableFuture<Void> written)
+        implements CompletionHandler<Integer, ByteBuffer> {
+
+        private void write(final ByteBuffer buffer) {
+            if (!buffer.hasRemaining()) {
+                this.written.complete(null);
+                return;
+            }
+            try {
+                this.channel.write(buffer, buffer.position(), buffer, this);
+            } catch (final RuntimeException e) {
+                this.written.completeExceptionally(e);
+            }
+        }
+
+        @Override
+        public void completed(final Integer count, final ByteBuffer buffer) {
+            write(buffer);
+        }
+
+        @Override
+        public void failed(final Throwable exception, final ByteBuffer buffer) {
+            this.written.completeExceptionally(exception);
+        }
+
+    }
+
+    /** Reads a file in chunks until it ends, then closes it */
+    private static final class ReadHandler implements CompletionHandler<Integer, ByteBuffer> {
+
+        private final AsynchronousFileChannel channel;
+
+        private final Consumer<ByteBuffer> consumer;
+
+        private final CompletableFuture<Long> result;
+
+        private long position;
+
+        private ReadHandler(final AsynchronousFileChannel channel, final Consumer<ByteBuffer> consumer,
+                            final CompletableFuture<Long> result) {
+            this.channel = channel;
+            this.consumer = consumer;
+            this.result = result;
+        }
+
+        private void read(final ByteBuffer buffer) {
+            try {
+                this.channel.read(buffer.clear(), this.position, buffer, this);
+            } catch (final RuntimeException e) {
+                failed(e, buffer);
+            }
+        }
+
+        @Override
+        public void completed(final Integer count, final ByteBuffer buffer) {
+            if (count == -1) {
+                complete();
+                return;
+            }
+            this.position += count;
+            try {
+                this.consumer.accept(buffer.flip().asReadOnlyBuffer());
+            } catch (final RuntimeException e) {
+                failed(e, buffer);
+                return;
+            }
+            read(buffer);
+        }
+
+        @Override
+        public void failed(final Throwable exception, final ByteBuffer buffer) {
+            try {
+                this.channel.close();
+            } catch (final IOException e) {
+                exception.addSuppressed(e);
+            }
+            this.result.completeExceptionally(exception);
+        }
+
+        private void complete() {
+            try {
+                this.channel.close();
+            } catch (final IOException e) {
+                this.result.completeExceptionally(e);
+                return;
+            }
+            this.result.complete(this.position);
+        }
+
+    }
+
+}
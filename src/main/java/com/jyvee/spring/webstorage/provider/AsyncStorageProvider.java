@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2026 Rahim Alizada
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jyvee.spring.webstorage.provider;
+
+import com.jyvee.spring.webstorage.configuration.StorageConfigurationProperties;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Non-blocking counterpart of {@link StorageProvider}, every operation returns at once and completes its future when
+ * the storage is done. A failed operation completes its future exceptionally with the exception the synchronous
+ * operation would throw, like an {@link java.io.IOException}.
+ *
+ * @param <T> stored file type
+ * @param <S> storage configuration type
+ */
+public interface AsyncStorageProvider<T, S extends StorageConfigurationProperties> {
+
+    S getConfiguration();
+
+    CompletableFuture<List<String>> list(String path);
+
+    /**
+     * Saves a file, see {@link StorageProvider#save(String, String, byte[], Map)}
+     *
+     * @param path        file path
+     * @param contentType content type
+     * @param payload     file content, not to be modified until the future completes
+     * @param metadata    file metadata
+     * @return saved file
+     */
+    CompletableFuture<T> save(String path, String contentType, byte[] payload, Map<String, String> metadata);
+
+    CompletableFuture<T> save(String path, String contentType, byte[] payload, Map<String, String> metadata,
+                              PayloadDigests digests);
+
+    CompletableFuture<T> load(String path);
+
+    CompletableFuture<Boolean> exists(String path);
+
+    CompletableFuture<Optional<T>> findIdentical(String path, PayloadDigests digests);
+
+    CompletableFuture<Void> delete(Collection<String> paths);
+
+    CompletableFuture<Void> delete(String path);
+
+    CompletableFuture<Void> copy(String fromPath, String toPath);
+
+    CompletableFuture<Void> move(String fromPath, String toPath);
+
+    /**
+     * Reads the content of a stored file in chunks of bounded size, without holding the whole file in memory
+     *
+     * @param path     file path
+     * @param consumer receives the chunks in order, one at a time, a chunk is only valid until the consumer returns
+     * @return number of read bytes, completed with a {@link java.nio.file.NoSuchFileException} if the file does not
+     * exist, or with the exception thrown by the consumer
+     */
+    CompletableFuture<Long> read(String path, Consumer<ByteBuffer> consumer);
+
+}
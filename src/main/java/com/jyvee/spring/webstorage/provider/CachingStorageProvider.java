@@ -0,0 +1,331 @@
+/*
+ * Copyright (c) 2026 Rahim Alizada
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jyvee.spring.webstorage.provider;
+
+import com.jyvee.spring.webstorage.configuration.StorageConfigurationProperties;
+import lombok.Getter;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Storage provider decorator caching the results of {@link #load(String)} for a limited time. The cache holds at most
+ * {@code maxSize} entries and evicts a least recently used one when full, approximated by the CLOCK algorithm: a hit
+ * only marks its entry as referenced, without locking, and the eviction skips the referenced entries once. Saving,
+ * deleting, copying and moving files through this provider invalidates the affected entries, changes made by other
+ * providers or processes become visible once the entries expire.
+ * <p>
+ * Optionally, paths reported missing by {@link #exists(String)} are remembered for a short negative TTL, so repeated
+ * lookups of a missing file do not reach the storage every time.
+ *
+ * @param <T> stored file type
+ * @param <S> storage configuration type
+ */
+public class CachingStorageProvider<T, S extends StorageConfigurationProperties> implements StorageProvider<T, S> {
+
+    @Getter
+    private final StorageProvider<T, S> delegate;
+
+    private final int maxSize;
+
+    private final long ttlNanos;
+
+    private final long negativeTtlNanos;
+
+    private final LongSupplier nanoClock;
+
+    private final Map<String, CacheEntry<T>> entries = new ConcurrentHashMap<>();
+
+    /** Guards {@link #hand} */
+    private final Object evictionLock = new Object();
+
+    /** Position of the eviction in {@link #entries}, resumed by the next eviction */
+    @Nullable
+    private Iterator<Map.Entry<String, CacheEntry<T>>> hand;
+
+    /** Incremented by every write, so a load racing with it does not cache the outdated result */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    public CachingStorageProvider(final StorageProvider<T, S> delegate, final int maxSize, final Duration ttl) {
+        this(delegate, maxSize, ttl, Duration.ZERO);
+    }
+
+    /**
+     * @param delegate    decorated provider
+     * @param maxSize     maximum number of cached entries
+     * @param ttl         time after which loaded metadata is reloaded
+     * @param negativeTtl time a missing path is remembered by {@link #exists(String)}, zero disables negative caching
+     */
+    public CachingStorageProvider(final StorageProvider<T, S> delegate, final int maxSize, final Duration ttl,
+                                  final Duration negativeTtl) {
+        this(delegate, maxSize, ttl, negativeTtl, System::nanoTime);
+    }
+
+    CachingStorageProvider(final StorageProvider<T, S> delegate, final int maxSize, final Duration ttl,
+                           final Duration negativeTtl, final LongSupplier nanoClock) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Cache size should be positive");
+        }
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Cache TTL should be positive");
+        }
+        if (negativeTtl.isNegative()) {
+            throw new IllegalArgumentException("Cache negative TTL should not be negative");
+        }
+        this.delegate = delegate;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.negativeTtlNanos = negativeTtl.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public S getConfiguration() {
+        return this.delegate.getConfiguration();
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public T newInstance(final URI uri, final String storageId, final String path, final String contentType,
+                         final long size, final String checksum, final Map<String, String> metadata,
+                         final Instant timestamp) {
+        return this.delegate.newInstance(uri, storageId, path, contentType, size, checksum, metadata, timestamp);
+    }
+
+    @Override
+    public List<String> list(final String path) throws IOException {
+        return this.delegate.list(path);
+    }
+
+    @Override
+    public T save(final String path, final String contentType, final byte[] payload,
+                  final Map<String, String> metadata) throws IOException {
+        invalidate(path);
+        final T saved = this.delegate.save(path, contentType, payload, metadata);
+        invalidate(path);
+        return saved;
+    }
+
+    @Override
+    public T save(final String path, final String contentType, final byte[] payload,
+                  final Map<String, String> metadata, final PayloadDigests digests) throws IOException {
+        invalidate(path);
+        final T saved = this.delegate.save(path, contentType, payload, metadata, digests);
+        invalidate(path);
+        return saved;
+    }
+
+    @Override
+    public T load(final String path) throws IOException {
+        final String key = key(path);
+        final CacheEntry<T> entry = getEntry(key);
+        if (entry != null && entry.value != null) {
+            this.hits.increment();
+            return entry.value;
+        }
+        this.misses.increment();
+
+        final long invalidationsBefore = this.invalidations.get();
+        final T loaded = this.delegate.load(path);
+        putEntry(key, new CacheEntry<>(loaded, this.nanoClock.getAsLong() + this.ttlNanos), invalidationsBefore);
+        return loaded;
+    }
+
+    @Override
+    public boolean exists(final String path) throws IOException {
+        final String key = key(path);
+        final CacheEntry<T> entry = getEntry(key);
+        if (entry != null) {
+            this.hits.increment();
+            return entry.value != null;
+        }
+        this.misses.increment();
+
+        final long invalidationsBefore = this.invalidations.get();
+        final boolean exists = this.delegate.exists(path);
+        if (!exists && this.negativeTtlNanos > 0) {
+            putEntry(key, new CacheEntry<>(null, this.nanoClock.getAsLong() + this.negativeTtlNanos),
+                invalidationsBefore);
+        }
+        return exists;
+    }
+
+    @Override
+    public Optional<T> findIdentical(final String path, final PayloadDigests digests) throws IOException {
+        return this.delegate.findIdentical(path, digests);
+    }
+
+    @Override
+    public void delete(final Collection<String> paths) throws IOException {
+        try {
+            this.delegate.delete(paths);
+        } finally {
+            for (final String path : paths) {
+                invalidate(path);
+            }
+        }
+    }
+
+    @Override
+    public void delete(final String path) throws IOException {
+        try {
+            this.delegate.delete(path);
+        } finally {
+            invalidate(path);
+        }
+    }
+
+    @Override
+    public void copy(final String fromPath, final String toPath) throws IOException {
+        try {
+            this.delegate.copy(fromPath, toPath);
+        } finally {
+            invalidate(toPath);
+        }
+    }
+
+    @Override
+    public void move(final String fromPath, final String toPath) throws IOException {
+        try {
+            this.delegate.move(fromPath, toPath);
+        } finally {
+            invalidate(fromPath);
+            invalidate(toPath);
+        }
+    }
+
+    /** Drops all cached entries */
+    public void invalidateAll() {
+        this.invalidations.incrementAndGet();
+        this.entries.clear();
+    }
+
+    /** @return number of loads and existence checks served from the cache */
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    /** @return number of loads and existence checks passed to the decorated provider */
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    /** @return number of cached entries, including expired ones not evicted yet */
+    public int getSize() {
+        return this.entries.size();
+    }
+
+    @Nullable
+    private CacheEntry<T> getEntry(final String key) {
+        final CacheEntry<T> entry = this.entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt - this.nanoClock.getAsLong() <= 0) {
+            this.entries.remove(key, entry);
+            return null;
+        }
+        // Only written when not set yet, hot entries are read without contention
+        if (!entry.referenced) {
+            entry.referenced = true;
+        }
+        return entry;
+    }
+
+    private void putEntry(final String key, final CacheEntry<T> entry, final long invalidationsBefore) {
+        if (this.invalidations.get() != invalidationsBefore) {
+            return;
+        }
+        this.entries.put(key, entry);
+        // An invalidation between the check and the put has not seen the entry
+        if (this.invalidations.get() != invalidationsBefore) {
+            this.entries.remove(key, entry);
+            return;
+        }
+        if (this.entries.size() > this.maxSize) {
+            evict(key);
+        }
+    }
+
+    /** Evicts entries until the cache fits, except the entry just put */
+    private void evict(final String putKey) {
+        synchronized (this.evictionLock) {
+            while (this.entries.size() > this.maxSize) {
+                if (this.hand == null || !this.hand.hasNext()) {
+                    this.hand = this.entries.entrySet().iterator();
+                    if (!this.hand.hasNext()) {
+                        return;
+                    }
+                }
+                final Map.Entry<String, CacheEntry<T>> candidate = this.hand.next();
+                if (candidate.getKey().equals(putKey)) {
+                    continue;
+                }
+                if (candidate.getValue().referenced) {
+                    // Second chance, evicted on the next pass unless used again
+                    candidate.getValue().referenced = false;
+                } else {
+                    this.entries.remove(candidate.getKey(), candidate.getValue());
+                }
+            }
+        }
+    }
+
+    private void invalidate(final String path) {
+        this.invalidations.incrementAndGet();
+        this.entries.remove(key(path));
+    }
+
+    private String key(final String path) {
+        return getConfiguration().getStorageId() + '\n' + StorageProviderUtil.sanitizePath(path);
+    }
+
+    /** Cached metadata, or a missing path if the value is null */
+    private static final class CacheEntry<T> {
+
+        @Nullable
+        private final T value;
+
+        private final long expiresAt;
+
+        /** Set by hits, cleared by the eviction passing over the entry */
+        private volatile boolean referenced;
+
+        private CacheEntry(@Nullable final T value, final long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+    }
+
+}
@@ -24,7 +24,16 @@ public class DefaultStoragePathProvider implements StoragePathProvider {
 
     @Override
     public String getStoragePath(final Path basePath, final Path relativePath, final byte[] payload) {
-        final String checksum = StorageProviderUtil.md5(payload);
+        return getStoragePath(basePath, relativePath, StorageProviderUtil.md5(payload));
+    }
+
+    @Override
+    public String getStoragePath(final Path basePath, final Path relativePath, final byte[] payload,
+                                 final PayloadDigests digests) {
+        return getStoragePath(basePath, relativePath, digests.md5Hex());
+    }
+
+    private static String getStoragePath(final Path basePath, final Path relativePath, final String checksum) {
         final UriComponentsBuilder builder = UriComponentsBuilder.newInstance();
         basePath.iterator().forEachRemaining(path -> builder.path(path.toString()).path("/"));
         if (relativePath.getParent() != null) {
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026 Rahim Alizada
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jyvee.spring.webstorage.provider;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Binary encoding of the attributes of a local file, stored in a single extended attribute so a load reads them at
+ * once. The encoding is a version byte followed by the content type, the MD5 checksum, the number of metadata entries
+ * and the key and value of each entry. Numbers are unsigned variable length integers, strings are UTF-8 bytes
+ * preceded by their length.
+ */
+@SuppressWarnings({"checkstyle:MagicNumber", "MagicNumber"})
+final class FileAttributesCodec {
+
+    private static final byte VERSION = 1;
+
+    private FileAttributesCodec() {}
+
+    static ByteBuffer encode(final String contentType, final String md5, final Map<String, String> metadata) {
+        final byte[][] strings = new byte[2 + metadata.size() * 2][];
+        int index = 0;
+        strings[index++] = contentType.getBytes(StandardCharsets.UTF_8);
+        strings[index++] = md5.getBytes(StandardCharsets.UTF_8);
+        for (final Map.Entry<String, String> entry : metadata.entrySet()) {
+            strings[index++] = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            strings[index++] = entry.getValue().getBytes(StandardCharsets.UTF_8);
+        }
+
+        int size = 1 + varIntSize(metadata.size());
+        for (final byte[] string : strings) {
+            size += varIntSize(string.length) + string.length;
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put(VERSION);
+        putString(buffer, strings[0]);
+        putString(buffer, strings[1]);
+        putVarInt(buffer, metadata.size());
+        for (int i = 2; i < strings.length; i++) {
+            putString(buffer, strings[i]);
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * @param buffer encoded attributes
+     * @return decoded attributes
+     * @throws IOException if the attributes are malformed or of an unknown version
+     */
+    static FileAttributes decode(final ByteBuffer buffer) throws IOException {
+        try {
+            final byte version = buffer.get();
+            if (version != VERSION) {
+                throw new IOException("Unsupported file attributes version " + version);
+            }
+            final String contentType = getString(buffer);
+            final String md5 = getString(buffer);
+            final int count = getVarInt(buffer);
+            final Map<String, String> metadata = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+                metadata.put(getString(buffer), getString(buffer));
+            }
+            if (buffer.hasRemaining()) {
+                throw new IOException("Malformed file attributes");
+            }
+            return new FileAttributes(contentType, md5, metadata);
+        } catch (final BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Malformed file attributes", e);
+        }
+    }
+
+    private static int varIntSize(final int value) {
+        return (38 - Integer.numberOfLeadingZeros(value | 1)) / 7;
+    }
+
+    private static void putVarInt(final ByteBuffer buffer, final int value) {
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            buffer.put((byte) (remaining & 0x7F | 0x80));
+            remaining >>>= 7;
+        }
+        buffer.put((byte) remaining);
+    }
+
+    private static int getVarInt(final ByteBuffer buffer) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            final byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                if (value < 0) {
+                    break;
+                }
+                return value;
+            }
+        }
+        throw new IOException("Malformed file attributes");
+    }
+
+    private static void putString(final ByteBuffer buffer, final byte[] string) {
+        putVarInt(buffer, string.length);
+        buffer.put(string);
+    }
+
+    private static String getString(final ByteBuffer buffer) throws IOException {
+        final int length = getVarInt(buffer);
+        if (length > buffer.remaining()) {
+            throw new IOException("Malformed file attributes");
+        }
+        final byte[] string = new byte[length];
+        buffer.get(string);
+        return new String(string, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Attributes of a local file
+     *
+     * @param contentType content type
+     * @param md5         MD5 checksum in hex
+     * @param metadata    file metadata
+     */
+    record FileAttributes(String contentType, String md5, Map<String, String> metadata) {}
+
+}
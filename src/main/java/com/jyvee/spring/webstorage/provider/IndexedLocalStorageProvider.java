@@ -0,0 +1,474 @@
+/*
+ * Copyright (c) 2026 Rahim Alizada
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jyvee.spring.webstorage.provider;
+
+import com.jyvee.spring.webstorage.configuration.LocalStorageConfigurationProperties;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Local storage provider decorator serving {@link #list(String)} from an in-memory index of the stored files, in time
+ * proportional to the number of listed files instead of a scan of the directory tree. The index is built when the
+ * provider is created and kept up to date by the saves, deletes, copies and moves made through it. Optionally, a
+ * {@link WatchService} watching every storage directory also applies changes made by other processes, which become
+ * visible shortly after they happen. Without it, such changes are only seen by {@link #rebuild()}. Watching is off by
+ * default: every directory takes a watch, and when the system runs out of them, like inotify's
+ * {@code max_user_watches}, the provider stops watching and rebuilds the index every five minutes instead.
+ * <p>
+ * The index holds every file name in memory. The provider must be closed to stop watching.
+ *
+ * @param <T> stored file type
+ */
+@Slf4j
+public class IndexedLocalStorageProvider<T>
+    implements StorageProvider<T, LocalStorageConfigurationProperties>, AutoCloseable {
+
+    /** Interval of the index rebuilds once the storage directories can no longer be watched */
+    private static final Duration REBUILD_INTERVAL = Duration.ofMinutes(5);
+
+    @Getter
+    private final LocalStorageProvider<T> delegate;
+
+    private final Path basePath;
+
+    @Nullable
+    private final WatchService watchService;
+
+    /** Watches the storage, then rebuilds the index periodically if watching fails */
+    @Nullable
+    private final Thread watcher;
+
+    /** False once a directory could not be registered with the watch service */
+    private volatile boolean watching;
+
+    private volatile boolean closed;
+
+    private volatile PathIndex index = new PathIndex();
+
+    /** Index being built by {@link #rebuild()}, receiving the changes made meanwhile as well */
+    @Nullable
+    private volatile RebuiltIndex rebuiltIndex;
+
+    /** Serializes the rebuilds, which share {@link #rebuiltIndex} */
+    private final Object rebuildLock = new Object();
+
+    public IndexedLocalStorageProvider(final LocalStorageProvider<T> delegate) throws IOException {
+        this(delegate, false);
+    }
+
+    /**
+     * @param delegate decorated provider
+     * @param watch    true to watch the storage directories for changes made by other processes
+     * @throws IOException if the storage cannot be indexed or watched
+     */
+    public IndexedLocalStorageProvider(final LocalStorageProvider<T> delegate, final boolean watch)
+        throws IOException {
+        this.delegate = delegate;
+        this.basePath = delegate.getConfiguration().getPath();
+        final WatchService service = watch ? this.basePath.getFileSystem().newWatchService() : null;
+        this.watchService = service;
+        this.watching = service != null;
+        try {
+            rebuild();
+        } catch (final IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+        if (service != null) {
+            this.watcher = new Thread(() -> {
+                watch(service);
+                rebuildPeriodically();
+            }, "web-storage-index-" + this.basePath.getFileName());
+            this.watcher.setDaemon(true);
+            this.watcher.start();
+        } else {
+            this.watcher = null;
+        }
+    }
+
+    @Override
+    public LocalStorageConfigurationProperties getConfiguration() {
+        return this.delegate.getConfiguration();
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public T newInstance(final URI uri, final String storageId, final String path, final String contentType,
+                         final long size, final String checksum, final Map<String, String> metadata,
+                         final Instant timestamp) {
+        return this.delegate.newInstance(uri, storageId, path, contentType, size, checksum, metadata, timestamp);
+    }
+
+    @Override
+    public List<String> list(final String path) throws IOException {
+        final String sanitizedPath = StorageProviderUtil.sanitizePath(path);
+        if (!PathIndex.isIndexable(sanitizedPath)) {
+            return this.delegate.list(path);
+        }
+        return this.index.list(sanitizedPath);
+    }
+
+    @Override
+    public T save(final String path, final String contentType, final byte[] payload,
+                  final Map<String, String> metadata) throws IOException {
+        final T saved = this.delegate.save(path, contentType, payload, metadata);
+        added(path);
+        return saved;
+    }
+
+    @Override
+    public T save(final String path, final String contentType, final byte[] payload,
+                  final Map<String, String> metadata, final PayloadDigests digests) throws IOException {
+        final T saved = this.delegate.save(path, contentType, payload, metadata, digests);
+        added(path);
+        return saved;
+    }
+
+    @Override
+    public T load(final String path) throws IOException {
+        return this.delegate.load(path);
+    }
+
+    @Override
+    public boolean exists(final String path) throws IOException {
+        return this.delegate.exists(path);
+    }
+
+    @Override
+    public Optional<T> findIdentical(final String path, final PayloadDigests digests) throws IOException {
+        return this.delegate.findIdentical(path, digests);
+    }
+
+    @Override
+    public void delete(final Collection<String> paths) throws IOException {
+        try {
+            this.delegate.delete(paths);
+        } finally {
+            for (final String path : paths) {
+                refresh(path);
+            }
+        }
+    }
+
+    @Override
+    public void delete(final String path) throws IOException {
+        try {
+            this.delegate.delete(path);
+        } finally {
+            refresh(path);
+        }
+    }
+
+    @Override
+    public void copy(final String fromPath, final String toPath) throws IOException {
+        try {
+            this.delegate.copy(fromPath, toPath);
+        } finally {
+            refresh(toPath);
+        }
+    }
+
+    @Override
+    public void move(final String fromPath, final String toPath) throws IOException {
+        try {
+            this.delegate.move(fromPath, toPath);
+        } finally {
+            refresh(fromPath);
+            refresh(toPath);
+        }
+    }
+
+    /**
+     * Indexes the storage again, picking up changes made by other processes while not watched. Changes made through
+     * this provider or seen by the watcher meanwhile are kept. Concurrent rebuilds run one after the other.
+     *
+     * @throws IOException if the storage cannot be read
+     */
+    public void rebuild() throws IOException {
+        synchronized (this.rebuildLock) {
+            final RebuiltIndex rebuilt = new RebuiltIndex();
+            this.rebuiltIndex = rebuilt;
+            try {
+                scan(this.basePath, rebuilt::addScanned);
+                this.index = rebuilt.index;
+            } finally {
+                this.rebuiltIndex = null;
+            }
+        }
+    }
+
+    /** @return number of indexed files */
+    public int getSize() {
+        return this.index.size();
+    }
+
+    /** Stops watching the storage, the index is no longer updated by changes made by other processes */
+    @Override
+    public void close() throws IOException {
+        this.closed = true;
+        if (this.watchService != null) {
+            this.watchService.close();
+        }
+        if (this.watcher != null) {
+            this.watcher.interrupt();
+        }
+    }
+
+    private void added(final String path) {
+        addIndexed(StorageProviderUtil.sanitizePath(path));
+    }
+
+    /** Indexes a path as it is on disk, like a deleted path, which is a directory if the delete was ignored */
+    private void refresh(final String path) throws IOException {
+        final String sanitizedPath = StorageProviderUtil.sanitizePath(path);
+        if (!sanitizedPath.isEmpty() && PathIndex.isIndexable(sanitizedPath)) {
+            changed(this.basePath.resolve(sanitizedPath));
+        }
+    }
+
+    /** @param relativePath path relative to the storage directory, as found on disk */
+    private void addIndexed(final String relativePath) {
+        if (!relativePath.isEmpty() && PathIndex.isIndexable(relativePath)) {
+            // Read before the index, so a change racing with the end of a rebuild reaches the rebuilt index
+            final RebuiltIndex rebuilt = this.rebuiltIndex;
+            this.index.add(relativePath);
+            if (rebuilt != null) {
+                rebuilt.add(relativePath);
+            }
+        }
+    }
+
+    private void removeIndexed(final String relativePath) {
+        if (!relativePath.isEmpty() && PathIndex.isIndexable(relativePath)) {
+            final RebuiltIndex rebuilt = this.rebuiltIndex;
+            this.index.remove(relativePath);
+            if (rebuilt != null) {
+                rebuilt.remove(relativePath);
+            }
+        }
+    }
+
+    /**
+     * Indexes the files under a directory, registering every directory with the watcher before reading it. The files of
+     * a directory are passed together to the target once it is read, with the directory path relative to the storage.
+     */
+    private void scan(final Path start, final BiConsumer<String, List<String>> target) throws IOException {
+        if (!Files.isDirectory(start, LinkOption.NOFOLLOW_LINKS)) {
+            return;
+        }
+        final Deque<List<String>> names = new ArrayDeque<>();
+        Files.walkFileTree(start, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(final Path directory, final BasicFileAttributes attributes)
+                throws IOException {
+                register(directory);
+                names.push(new ArrayList<>());
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(final Path file, final BasicFileAttributes attributes) {
+                if (isStoredFile(file, attributes)) {
+                    names.element().add(file.getFileName().toString());
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(final Path directory, @Nullable final IOException e)
+                throws IOException {
+                target.accept(relativize(directory), names.pop());
+                return super.postVisitDirectory(directory, e);
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(final Path file, final IOException e) throws IOException {
+                // Removed while scanning
+                if (e instanceof NoSuchFileException) {
+                    return FileVisitResult.CONTINUE;
+                }
+                throw e;
+            }
+        });
+    }
+
+    private void register(final Path directory) throws IOException {
+        if (this.watchService == null || !this.watching) {
+            return;
+        }
+        try {
+            directory.register(this.watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (final NoSuchFileException e) {
+            throw e;
+        } catch (final IOException e) {
+            // Typically out of watches, the watcher stops and rebuilds the index periodically instead
+            this.watching = false;
+            log.warn("Local storage {} can no longer be watched, its index is rebuilt every {} instead: {}",
+                this.basePath, REBUILD_INTERVAL, e.toString());
+            this.watchService.close();
+        }
+    }
+
+    private void rebuildPeriodically() {
+        while (!this.closed) {
+            try {
+                Thread.sleep(REBUILD_INTERVAL);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                rebuild();
+            } catch (final IOException e) {
+                log.warn("Local storage index of {} may be outdated: {}", this.basePath, e.toString());
+            }
+        }
+    }
+
+    private void watch(final WatchService service) {
+        while (true) {
+            final WatchKey key;
+            try {
+                key = service.take();
+            } catch (final ClosedWatchServiceException e) {
+                return;
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            final Path directory = (Path) key.watchable();
+            try {
+                for (final WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        log.debug("Local storage index missed changes of {}, rebuilding it", this.basePath);
+                        rebuild();
+                    } else if (event.context() instanceof final Path name) {
+                        changed(directory.resolve(name));
+                    }
+                }
+            } catch (final ClosedWatchServiceException e) {
+                return;
+            } catch (final IOException e) {
+                log.warn("Local storage index of {} may be outdated: {}", this.basePath, e.toString());
+            }
+            if (!key.reset() && !directory.equals(this.basePath)) {
+                // The directory is gone, along with its files
+                removeIndexed(relativize(directory));
+            }
+        }
+    }
+
+    private void changed(final Path path) throws IOException {
+        final BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        } catch (final NoSuchFileException e) {
+            removeIndexed(relativize(path));
+            return;
+        }
+        if (attributes.isDirectory()) {
+            // Files may have been created before the directory was registered
+            final PathIndex scanned = new PathIndex();
+            scan(path, scanned::addAll);
+            scanned.list("").forEach(this::addIndexed);
+        } else if (isStoredFile(path, attributes)) {
+            addIndexed(relativize(path));
+        }
+    }
+
+    private String relativize(final Path path) {
+        return this.basePath.relativize(path).toString().replace('\\', '/');
+    }
+
+    private static boolean isStoredFile(final Path path, final BasicFileAttributes attributes) {
+        return attributes.isRegularFile() && !StorageProviderUtil.isTempFile(path)
+            && !StorageProviderUtil.isSidecarFile(path);
+    }
+
+    /**
+     * Index being built, along with the paths removed since the rebuild started. The scan may have read a directory
+     * before such a path was removed, its files are only indexed once the directory is read, so the removed paths are
+     * left out then instead of being indexed again.
+     */
+    private static final class RebuiltIndex {
+
+        private final PathIndex index = new PathIndex();
+
+        private final Set<String> removed = new HashSet<>();
+
+        synchronized void add(final String path) {
+            this.removed.remove(path);
+            this.index.add(path);
+        }
+
+        synchronized void remove(final String path) {
+            this.removed.add(path);
+            this.index.remove(path);
+        }
+
+        synchronized void addScanned(final String directory, final List<String> names) {
+            if (!this.removed.isEmpty()) {
+                names.removeIf(name -> isRemoved(directory.isEmpty() ? name : directory + "/" + name));
+            }
+            this.index.addAll(directory, names);
+        }
+
+        /** @return true if the path or one of its directories was removed */
+        private boolean isRemoved(final String path) {
+            String current = path;
+            while (!this.removed.contains(current)) {
+                final int separator = current.lastIndexOf('/');
+                if (separator < 0) {
+                    return false;
+                }
+                current = current.substring(0, separator);
+            }
+            return true;
+        }
+
+    }
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2026 Rahim Alizada
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jyvee.spring.webstorage.provider;
+
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Directories known to exist, so saving into an existing directory costs no file system lookup. Holds at most
+ * {@code maxSize} directories and drops an arbitrary one when full, a dropped directory is looked up again on its
+ * next use. Directories removed by other processes are only noticed when using them fails, see
+ * {@link #invalidate(Path)}.
+ */
+final class KnownDirectories {
+
+    private final int maxSize;
+
+    private final Set<Path> directories = ConcurrentHashMap.newKeySet();
+
+    KnownDirectories(final int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Cache size should be positive");
+        }
+        this.maxSize = maxSize;
+    }
+
+    boolean contains(final Path directory) {
+        return this.directories.contains(directory);
+    }
+
+    void add(final Path directory) {
+        if (this.directories.size() >= this.maxSize) {
+            final Iterator<Path> iterator = this.directories.iterator();
+            if (iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+        this.directories.add(directory);
+    }
+
+    /**
+     * Forgets a directory which turned out to be missing, along with its subdirectories
+     *
+     * @param directory missing directory
+     */
+    void invalidate(final Path directory) {
+        this.directories.removeIf(path -> path.startsWith(directory));
+    }
+
+    int size() {
+        return this.directories.size();
+    }
+
+}
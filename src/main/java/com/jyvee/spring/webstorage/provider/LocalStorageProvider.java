@@ -17,89 +17,192 @@
 package com.jyvee.spring.webstorage.provider;
 
 import com.jyvee.spring.webstorage.configuration.LocalStorageConfigurationProperties;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
+import java.nio.file.FileSystemException;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.nio.file.attribute.UserDefinedFileAttributeView;
 import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface LocalStorageProvider<T> extends StorageProvider<T, LocalStorageConfigurationProperties> {
 
+    /** Extended attribute holding the content type, checksum and metadata of a file, see {@link FileAttributesCodec} */
+    String ATTRIBUTES_ATTRIBUTE = "webStorage";
+
+    /** Checksum attribute of files saved before {@link #ATTRIBUTES_ATTRIBUTE}, still read */
     String MD5_ATTRIBUTE = "md5";
 
+    /** Content type attribute of files saved before {@link #ATTRIBUTES_ATTRIBUTE}, still read */
     String CONTENT_TYPE_ATTRIBUTE = "contentType";
 
+    /** Metadata attribute prefix of files saved before {@link #ATTRIBUTES_ATTRIBUTE}, still read */
     String METADATA_ATTRIBUTE_PREFIX = "metadata.";
 
     @Override
     default List<String> list(final String path) throws IOException {
-        final Path dirPath = getConfiguration().getPath().resolve(StorageProviderUtil.sanitizePath(path));
+        try (final Stream<String> stream = stream(path)) {
+            return stream.toList();
+        } catch (final UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Lists the files under a directory lazily, walking its subdirectories in parallel. Unlike {@link #list(String)},
+     * the files are not collected first and come in no particular order.
+     *
+     * @param path directory path
+     * @return file paths, the stream must be closed, a failure to read a directory is thrown as
+     * {@link UncheckedIOException}
+     */
+    default Stream<String> stream(final String path) {
+        final Path basePath = getConfiguration().getPath();
         return StorageProviderUtil
-            .listFiles(dirPath)
-            .stream()
-            .map(getConfiguration().getPath()::relativize)
+            .streamFiles(basePath.resolve(StorageProviderUtil.sanitizePath(path)))
+            .map(basePath::relativize)
             .map(Path::toString)
-            .map(pathStr -> pathStr.replace('\\', '/'))
-            .toList();
+            .map(pathStr -> pathStr.replace('\\', '/'));
     }
 
     @Override
     default T save(final String path, final String contentType, final byte[] payload,
                    final Map<String, String> metadata) throws IOException {
-        final String sanitizedPath = StorageProviderUtil.sanitizePath(path);
-        final Path filePath = getConfiguration().getPath().resolve(sanitizedPath);
+        return save(path, contentType, payload, metadata, PayloadDigests.of(payload));
+    }
 
-        final String md5 = StorageProviderUtil.md5(payload);
+    @Override
+    default T save(final String path, final String contentType, final byte[] payload,
+                   final Map<String, String> metadata, final PayloadDigests digests) throws IOException {
+        return save(path, contentType, metadata, digests, channel -> StorageProviderUtil.write(channel, payload));
+    }
 
-        StorageProviderUtil.createMissingDirectories(filePath.getParent(), "www-data", "www-data", "rwxr-xr-x");
-        Files.write(filePath, payload, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
-        StorageProviderUtil.setPermissions(filePath, "www-data", "www-data", "rwxr-xr-x");
-        final UserDefinedFileAttributeView view =
-            Files.getFileAttributeView(filePath, UserDefinedFileAttributeView.class);
-        view.write(CONTENT_TYPE_ATTRIBUTE, Charset.defaultCharset().encode(contentType));
-        view.write(MD5_ATTRIBUTE, Charset.defaultCharset().encode(md5));
-        for (final Map.Entry<String, String> entry : metadata.entrySet()) {
-            final String key = entry.getKey();
-            final String value = entry.getValue();
-            view.write(METADATA_ATTRIBUTE_PREFIX + key, Charset.defaultCharset().encode(value));
+    /**
+     * Saves a file from a channel, which is transferred to the file without copying it through the heap when the
+     * platform allows it, like from another file
+     *
+     * @param path        file path
+     * @param contentType content type of the file
+     * @param source      file content, not closed, exactly {@link PayloadDigests#getSize()} bytes are read
+     * @param metadata    file metadata
+     * @param digests     digests of the content
+     * @return saved file
+     * @throws IOException if the file cannot be saved, or the source has fewer bytes than digested
+     */
+    default T save(final String path, final String contentType, final ReadableByteChannel source,
+                   final Map<String, String> metadata, final PayloadDigests digests) throws IOException {
+        return save(path, contentType, metadata, digests,
+            channel -> StorageProviderUtil.transfer(channel, source, digests.getSize()));
+    }
+
+    private T save(final String path, final String contentType, final Map<String, String> metadata,
+                   final PayloadDigests digests, final StorageProviderUtil.ChannelWriter writer) throws IOException {
+        try (final PendingSave save = PendingSave.begin(getConfiguration(), path)) {
+            try (final FileChannel channel = FileChannel.open(save.getTempPath(), StandardOpenOption.WRITE)) {
+                writer.write(channel);
+                StorageProviderUtil.syncFile(channel, getConfiguration());
+            }
+            return save.commit(this, contentType, metadata, digests);
         }
-        final URI uri =
-            UriComponentsBuilder.fromUri(getConfiguration().getEndpoint()).pathSegment(sanitizedPath).build().toUri();
-        return newInstance(uri, getConfiguration().getStorageId(), sanitizedPath, contentType, payload.length, md5,
-            metadata, Files.getLastModifiedTime(filePath).toInstant());
     }
 
     @Override
     default T load(final String path) throws IOException {
         final String sanitizedPath = StorageProviderUtil.sanitizePath(path);
         final Path filePath = getConfiguration().getPath().resolve(sanitizedPath);
+        return load(sanitizedPath, filePath, readAttributes(filePath));
+    }
 
-        final UserDefinedFileAttributeView view =
-            Files.getFileAttributeView(filePath, UserDefinedFileAttributeView.class);
-        final String contentType = readAttribute(view, CONTENT_TYPE_ATTRIBUTE);
-        final String md5 = readAttribute(view, MD5_ATTRIBUTE);
-        final Map<String, String> metadata = new LinkedHashMap<>();
-        for (final String attribute : view.list()) {
-            if (!attribute.startsWith(METADATA_ATTRIBUTE_PREFIX)) {
-                continue;
+    /**
+     * Opens a stored file for streaming, like the body of a Spring MVC response, without loading it into the heap.
+     * A file replaced by a save meanwhile stays readable through an already opened stream.
+     *
+     * @param path file path
+     * @return file resource
+     * @throws NoSuchFileException if the file does not exist
+     */
+    default Resource getResource(final String path) throws IOException {
+        return new FileSystemResource(getFilePath(path));
+    }
+
+    /**
+     * Writes a stored file to a channel. For a socket or file channel the bytes are sent by the kernel, like with
+     * {@code sendfile}, without copying them through the heap.
+     *
+     * @param path   file path
+     * @param target blocking target channel, not closed
+     * @return number of written bytes
+     * @throws IOException if the file cannot be read or the channel cannot be written
+     */
+    default long transferTo(final String path, final WritableByteChannel target) throws IOException {
+        try (final FileChannel channel = FileChannel.open(getFilePath(path), StandardOpenOption.READ)) {
+            final long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, target);
             }
-            metadata.put(attribute.substring(METADATA_ATTRIBUTE_PREFIX.length()), readAttribute(view, attribute));
+            return size;
         }
+    }
 
-        final URI uri =
-            UriComponentsBuilder.fromUri(getConfiguration().getEndpoint()).pathSegment(sanitizedPath).build().toUri();
-        return newInstance(uri, getConfiguration().getStorageId(), sanitizedPath, contentType, Files.size(filePath),
-            md5, metadata, Files.getLastModifiedTime(filePath).toInstant());
+    /**
+     * Maps a stored file into memory for random access. The mapping stays valid after the file is replaced or
+     * deleted, and is released once the buffer is garbage collected.
+     *
+     * @param path file path
+     * @return read-only buffer of the file content
+     * @throws IOException if the file cannot be mapped
+     */
+    default MappedByteBuffer map(final String path) throws IOException {
+        try (final FileChannel channel = FileChannel.open(getFilePath(path), StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    @Override
+    default boolean exists(final String path) throws IOException {
+        final Path filePath = getConfiguration().getPath().resolve(StorageProviderUtil.sanitizePath(path));
+        // Directories are not files of the storage, see delete
+        return Files.isRegularFile(filePath);
+    }
+
+    @Override
+    default Optional<T> findIdentical(final String path, final PayloadDigests digests) throws IOException {
+        final Path filePath = getConfiguration().getPath().resolve(StorageProviderUtil.sanitizePath(path));
+        if (!Files.isRegularFile(filePath) || Files.size(filePath) != digests.getSize()) {
+            return Optional.empty();
+        }
+        final FileAttributesCodec.FileAttributes attributes;
+        try {
+            attributes = readAttributes(filePath);
+        } catch (final FileSystemException e) {
+            // Files without checksum cannot be identical
+            return Optional.empty();
+        }
+        if (!attributes.md5().equals(digests.md5Hex())) {
+            return Optional.empty();
+        }
+        return Optional.of(load(StorageProviderUtil.sanitizePath(path), filePath, attributes));
     }
 
     @Override
@@ -117,6 +220,9 @@ public interface LocalStorageProvider<T> extends StorageProvider<T, LocalStorage
             return;
         }
         Files.deleteIfExists(filePath);
+        if (isSidecarStore()) {
+            Files.deleteIfExists(StorageProviderUtil.getSidecarPath(filePath));
+        }
     }
 
     @Override
@@ -124,6 +230,9 @@ public interface LocalStorageProvider<T> extends StorageProvider<T, LocalStorage
         final Path fromFilePath = getConfiguration().getPath().resolve(StorageProviderUtil.sanitizePath(fromPath));
         final Path toFilePath = getConfiguration().getPath().resolve(StorageProviderUtil.sanitizePath(toPath));
         Files.copy(fromFilePath, toFilePath, StandardCopyOption.COPY_ATTRIBUTES, StandardCopyOption.REPLACE_EXISTING);
+        if (isSidecarStore()) {
+            transferSidecar(fromFilePath, toFilePath, false);
+        }
     }
 
     @Override
@@ -131,6 +240,86 @@ public interface LocalStorageProvider<T> extends StorageProvider<T, LocalStorage
         final Path fromFilePath = getConfiguration().getPath().resolve(StorageProviderUtil.sanitizePath(fromPath));
         final Path toFilePath = getConfiguration().getPath().resolve(StorageProviderUtil.sanitizePath(toPath));
         Files.move(fromFilePath, toFilePath, StandardCopyOption.REPLACE_EXISTING);
+        if (isSidecarStore()) {
+            transferSidecar(fromFilePath, toFilePath, true);
+        }
+    }
+
+    private Path getFilePath(final String path) throws NoSuchFileException {
+        final Path filePath = getConfiguration().getPath().resolve(StorageProviderUtil.sanitizePath(path));
+        // Directories are not files of the storage, see delete
+        if (!Files.isRegularFile(filePath)) {
+            throw new NoSuchFileException(filePath.toString());
+        }
+        return filePath;
+    }
+
+    private T load(final String sanitizedPath, final Path filePath,
+                   final FileAttributesCodec.FileAttributes attributes) throws IOException {
+        final BasicFileAttributes fileAttributes = Files.readAttributes(filePath, BasicFileAttributes.class);
+        final URI uri =
+            UriComponentsBuilder.fromUri(getConfiguration().getEndpoint()).pathSegment(sanitizedPath).build().toUri();
+        return newInstance(uri, getConfiguration().getStorageId(), sanitizedPath, attributes.contentType(),
+            fileAttributes.size(), attributes.md5(), attributes.metadata(),
+            fileAttributes.lastModifiedTime().toInstant());
+    }
+
+    private FileAttributesCodec.FileAttributes readAttributes(final Path filePath) throws IOException {
+        if (isSidecarStore()) {
+            try {
+                return FileAttributesCodec.decode(
+                    ByteBuffer.wrap(Files.readAllBytes(StorageProviderUtil.getSidecarPath(filePath))));
+            } catch (final NoSuchFileException e) {
+                // Saved with extended attributes, or missing
+                if (Files.getFileAttributeView(filePath, UserDefinedFileAttributeView.class) == null) {
+                    throw e;
+                }
+            }
+        }
+        final UserDefinedFileAttributeView view = StorageProviderUtil.getAttributeView(filePath);
+        final ByteBuffer buffer;
+        try {
+            buffer = ByteBuffer.allocate(view.size(ATTRIBUTES_ATTRIBUTE));
+        } catch (final FileSystemException e) {
+            // Saved before all attributes were stored at once, a missing file fails the legacy read as well
+            return readLegacyAttributes(view);
+        }
+        view.read(ATTRIBUTES_ATTRIBUTE, buffer);
+        return FileAttributesCodec.decode(buffer.flip());
+    }
+
+    private boolean isSidecarStore() {
+        return getConfiguration().getMetadataStore() == LocalStorageConfigurationProperties.MetadataStore.SIDECAR_FILES;
+    }
+
+    private static void transferSidecar(final Path fromFilePath, final Path toFilePath, final boolean move)
+        throws IOException {
+        final Path fromSidecarPath = StorageProviderUtil.getSidecarPath(fromFilePath);
+        final Path toSidecarPath = StorageProviderUtil.getSidecarPath(toFilePath);
+        try {
+            if (move) {
+                Files.move(fromSidecarPath, toSidecarPath, StandardCopyOption.REPLACE_EXISTING);
+            } else {
+                Files.copy(fromSidecarPath, toSidecarPath, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (final NoSuchFileException e) {
+            // The file was saved with extended attributes, which came along, the previous sidecar would hide them
+            Files.deleteIfExists(toSidecarPath);
+        }
+    }
+
+    private static FileAttributesCodec.FileAttributes readLegacyAttributes(final UserDefinedFileAttributeView view)
+        throws IOException {
+        final String contentType = readAttribute(view, CONTENT_TYPE_ATTRIBUTE);
+        final String md5 = readAttribute(view, MD5_ATTRIBUTE);
+        final Map<String, String> metadata = new LinkedHashMap<>();
+        for (final String attribute : view.list()) {
+            if (!attribute.startsWith(METADATA_ATTRIBUTE_PREFIX)) {
+                continue;
+            }
+            metadata.put(attribute.substring(METADATA_ATTRIBUTE_PREFIX.length()), readAttribute(view, attribute));
+        }
+        return new FileAttributesCodec.FileAttributes(contentType, md5, metadata);
     }
 
     private static String readAttribute(final UserDefinedFileAttributeView view, final String attribute)
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2026 Rahim Alizada
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jyvee.spring.webstorage.provider;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+
+/**
+ * Storage path provider naming files by the 128-bit MurmurHash3 (x64 variant) of their content instead of MD5. The
+ * paths have the same layout as the ones of {@link DefaultStoragePathProvider}, only the hash differs, so the two
+ * providers must not be swapped on an existing storage. The hash is not cryptographic: it spreads and deduplicates
+ * files as well as MD5 does, but colliding payloads can be crafted.
+ */
+@SuppressWarnings({"checkstyle:MagicNumber", "MagicNumber"})
+public class Murmur3StoragePathProvider implements StoragePathProvider {
+
+    private static final long C1 = 0x87c37b91114253d5L;
+
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    private static final VarHandle LONG_LE =
+        MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /** The digests are left untouched, so none of the cryptographic hashes is computed for the path */
+    @Override
+    public String getStoragePath(final Path basePath, final Path relativePath, final byte[] payload,
+                                 final PayloadDigests digests) {
+        return getStoragePath(basePath, relativePath, payload);
+    }
+
+    @Override
+    public String getStoragePath(final Path basePath, final Path relativePath, final byte[] payload) {
+        final StringBuilder builder = new StringBuilder(128);
+        appendDirectories(builder, basePath);
+        if (relativePath.getParent() != null) {
+            appendDirectories(builder, relativePath.getParent());
+        }
+        if (!builder.isEmpty()) {
+            // Same as UriComponentsBuilder, which drops the trailing slash before appending path segments
+            builder.setLength(builder.length() - 1);
+        }
+
+        final char[] hash = hashHex(payload);
+        return builder
+            .append('/')
+            .append(hash[0])
+            .append('/')
+            .append(hash[1])
+            .append('/')
+            .append(hash)
+            .append('/')
+            .append(relativePath.getFileName())
+            .toString();
+    }
+
+    /**
+     * Hashes the content
+     *
+     * @param payload hashed content
+     * @return 32 lowercase hex digits of the hash, in the byte order of the reference implementation
+     */
+    static char[] hashHex(final byte[] payload) {
+        final int length = payload.length;
+        long h1 = 0;
+        long h2 = 0;
+
+        final int blocksEnd = length & ~15;
+        for (int offset = 0; offset < blocksEnd; offset += 16) {
+            long k1 = (long) LONG_LE.get(payload, offset);
+            long k2 = (long) LONG_LE.get(payload, offset + 8);
+
+            k1 *= C1;
+            k1 = Long.rotateLeft(k1, 31);
+            k1 *= C2;
+            h1 ^= k1;
+            h1 = Long.rotateLeft(h1, 27);
+            h1 += h2;
+            h1 = h1 * 5 + 0x52dce729;
+
+            k2 *= C2;
+            k2 = Long.rotateLeft(k2, 33);
+            k2 *= C1;
+            h2 ^= k2;
+            h2 = Long.rotateLeft(h2, 31);
+            h2 += h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+
+        long k1 = 0;
+        long k2 = 0;
+        final int tail = length & 15;
+        for (int i = tail - 1; i >= 8; i--) {
+            k2 ^= (payload[blocksEnd + i] & 0xffL) << ((i - 8) * 8);
+        }
+        for (int i = Math.min(tail, 8) - 1; i >= 0; i--) {
+            k1 ^= (payload[blocksEnd + i] & 0xffL) << (i * 8);
+        }
+        if (tail > 8) {
+            k2 *= C2;
+            k2 = Long.rotateLeft(k2, 33);
+            k2 *= C1;
+            h2 ^= k2;
+        }
+        if (tail > 0) {
+            k1 *= C1;
+            k1 = Long.rotateLeft(k1, 31);
+            k1 *= C2;
+            h1 ^= k1;
+        }
+
+        h1 ^= length;
+        h2 ^= length;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix(h1);
+        h2 = fmix(h2);
+        h1 += h2;
+        h2 += h1;
+
+        final char[] hex = new char[32];
+        writeLittleEndianHex(hex, 0, h1);
+        writeLittleEndianHex(hex, 16, h2);
+        return hex;
+    }
+
+    private static long fmix(final long value) {
+        long k = value;
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+
+    private static void writeLittleEndianHex(final char[] hex, final int offset, final long value) {
+        for (int i = 0; i < 8; i++) {
+            hex[offset + i * 2] = HEX[(int) (value >>> (i * 8 + 4)) & 0x0f];
+            hex[offset + i * 2 + 1] = HEX[(int) (value >>> (i * 8)) & 0x0f];
+        }
+    }
+
+    private static void appendDirectories(final StringBuilder builder, final Path directory) {
+        for (final Path name : directory) {
+            // Every name is followed by a slash and repeated slashes are merged, an empty path is a single empty name
+            if (!name.toString().isEmpty() || builder.isEmpty() || builder.charAt(builder.length() - 1) != '/') {
+                builder.append(name).append('/');
+            }
+        }
+    }
+
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2026 Rahim Alizada
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jyvee.spring.webstorage.provider;
+
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Finds the files under a directory with a fork-join pool running one task per directory, so the wide fan-out of a
+ * storage, like the {@code x/y} directories of {@link DefaultStoragePathProvider}, is read by several threads at once.
+ * All walks share one pool of at most {@link #DEFAULT_PARALLELISM} running threads.
+ * Files are handed to the stream in small batches through a bounded queue as they are found: the walk pauses while the
+ * consumer is behind and stops when the stream is closed, the whole listing is never held in memory. Files come in no
+ * particular order and symbolic links are not followed, like {@link Files#find}.
+ */
+final class ParallelFileWalker extends Spliterators.AbstractSpliterator<Path> {
+
+    private static final int DEFAULT_PARALLELISM = Math.min(32, 2 * Runtime.getRuntime().availableProcessors());
+
+    /** Maximum number of queued batches */
+    private static final int QUEUE_CAPACITY = 64;
+
+    /** Maximum number of files per batch, files are queued in batches to spare a handoff per file */
+    private static final int BATCH_SIZE = 256;
+
+    /** Queued after the last batch, compared by identity */
+    private static final List<Path> END = List.of();
+
+    /** Maximum number of threads, including the spares started while threads wait for a lagging consumer */
+    private static final int MAX_POOL_SIZE = 4 * DEFAULT_PARALLELISM;
+
+    private static final ForkJoinPool POOL =
+        new ForkJoinPool(DEFAULT_PARALLELISM, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, false, 0,
+            MAX_POOL_SIZE, 1, _ -> true, 60, TimeUnit.SECONDS);
+
+    private final BiPredicate<Path, BasicFileAttributes> matcher;
+
+    private final BlockingQueue<List<Path>> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+    private List<Path> batch = List.of();
+
+    private int batchIndex;
+
+    private final AtomicReference<@Nullable IOException> failure = new AtomicReference<>();
+
+    private volatile boolean closed;
+
+    private boolean ended;
+
+    private ParallelFileWalker(final BiPredicate<Path, BasicFileAttributes> matcher) {
+        super(Long.MAX_VALUE, Spliterator.DISTINCT | Spliterator.NONNULL);
+        this.matcher = matcher;
+    }
+
+    /**
+     * Finds files lazily, the returned stream must be closed to stop the walk if it is not fully consumed
+     *
+     * @param start   start directory, a missing directory has no files and a file is found itself if it matches
+     * @param matcher filter of the found files, directories are always walked
+     * @return found files, a failure to read a directory is thrown as {@link UncheckedIOException} by the stream
+     */
+    static Stream<Path> find(final Path start, final BiPredicate<Path, BasicFileAttributes> matcher) {
+        final ParallelFileWalker walker = new ParallelFileWalker(matcher);
+        POOL.execute(walker.new WalkTask(start));
+        return StreamSupport.stream(walker, false).onClose(walker::close);
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super Path> action) {
+        while (this.batchIndex == this.batch.size()) {
+            if (this.ended) {
+                return false;
+            }
+            nextBatch();
+        }
+        action.accept(this.batch.get(this.batchIndex++));
+        return true;
+    }
+
+    private void nextBatch() {
+        try {
+            this.batch = this.queue.take();
+            this.batchIndex = 0;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new IllegalStateException("File walk interrupted", e);
+        }
+        if (this.batch == END) {
+            this.ended = true;
+            final IOException exception = this.failure.get();
+            if (exception != null) {
+                throw new UncheckedIOException(exception);
+            }
+        }
+    }
+
+    /** Stops the walk, the pending tasks of the shared pool return as soon as they run */
+    private void close() {
+        this.closed = true;
+    }
+
+    /**
+     * Queues a batch, waiting for room unless the stream is closed. The wait is managed, so the pool may start a spare
+     * thread for the other walks meanwhile.
+     */
+    private void put(final List<Path> paths) throws InterruptedException {
+        ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+
+            @Override
+            public boolean block() throws InterruptedException {
+                return ParallelFileWalker.this.closed
+                    || ParallelFileWalker.this.queue.offer(paths, 100, TimeUnit.MILLISECONDS);
+            }
+
+            @Override
+            public boolean isReleasable() {
+                return ParallelFileWalker.this.closed || ParallelFileWalker.this.queue.offer(paths);
+            }
+
+        });
+    }
+
+    private final class WalkTask extends RecursiveAction {
+
+        private final Path start;
+
+        private WalkTask(final Path start) {
+            this.start = start;
+        }
+
+        @Override
+        protected void compute() {
+            try {
+                final BasicFileAttributes attributes =
+                    Files.readAttributes(this.start, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                if (attributes.isDirectory()) {
+                    new DirectoryTask(this.start).invoke();
+                } else if (ParallelFileWalker.this.matcher.test(this.start, attributes)) {
+                    put(List.of(this.start));
+                }
+            } catch (final NoSuchFileException ignored) {
+                // A missing start directory has no files
+            } catch (final IOException e) {
+                ParallelFileWalker.this.failure.compareAndSet(null, e);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (final RuntimeException e) {
+                ParallelFileWalker.this.failure.compareAndSet(null, new IOException(e));
+            } finally {
+                try {
+                    put(END);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+    }
+
+    private final class DirectoryTask extends RecursiveAction {
+
+        private final Path directory;
+
+        private DirectoryTask(final Path directory) {
+            this.directory = directory;
+        }
+
+        @Override
+        protected void compute() {
+            if (ParallelFileWalker.this.closed) {
+                return;
+            }
+            final List<DirectoryTask> subdirectories = new ArrayList<>();
+            List<Path> files = new ArrayList<>();
+            try (final DirectoryStream<Path> entries = Files.newDirectoryStream(this.directory)) {
+                for (final Path entry : entries) {
+                    if (ParallelFileWalker.this.closed || ParallelFileWalker.this.failure.get() != null) {
+                        break;
+                    }
+                    final BasicFileAttributes attributes;
+                    try {
+                        attributes = Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                    } catch (final NoSuchFileException ignored) {
+                        // Removed while walking, the rest of the directory is still walked
+                        continue;
+                    }
+                    if (attributes.isDirectory()) {
+                        final DirectoryTask subdirectory = new DirectoryTask(entry);
+                        subdirectory.fork();
+                        subdirectories.add(subdirectory);
+                    } else if (ParallelFileWalker.this.matcher.test(entry, attributes)) {
+                        files.add(entry);
+                        if (files.size() == BATCH_SIZE) {
+                            put(files);
+                            files = new ArrayList<>();
+                        }
+                    }
+                }
+                if (!files.isEmpty()) {
+                    put(files);
+                }
+            } catch (final NoSuchFileException ignored) {
+                // Removed while walking
+            } catch (final IOException e) {
+                ParallelFileWalker.this.failure.compareAndSet(null, e);
+            } catch (final DirectoryIteratorException e) {
+                ParallelFileWalker.this.failure.compareAndSet(null, e.getCause());
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            subdirectories.forEach(DirectoryTask::join);
+        }
+
+    }
+
+}
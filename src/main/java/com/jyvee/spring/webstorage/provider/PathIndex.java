@@ -0,0 +1,390 @@
+/*
+ * Copyright (c) 2026 Rahim Alizada
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jyvee.spring.webstorage.provider;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Set of file paths stored as a radix tree of path segments, so listing a directory visits only the directories
+ * leading to its files. Directories hold the sorted names of their files rather than a node per file, a chain of
+ * directories without files, like the {@code x/y} directories of {@link DefaultStoragePathProvider}, is a single edge
+ * labeled with the whole chain, and directories left without files are dropped. The index therefore holds every file
+ * name once, in arrays rather than hash tables, and no empty subtree is ever walked.
+ * Paths are relative, separated by {@code /}, without empty, {@code .} or {@code ..} segments.
+ */
+final class PathIndex {
+
+    private static final String[] NO_NAMES = {};
+
+    private static final Node[] NO_NODES = {};
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Node root = new Node();
+
+    private int size;
+
+    /**
+     * @param path path to check
+     * @return true if the path can be indexed, other paths are neither added nor listed
+     */
+    static boolean isIndexable(final String path) {
+        if (path.isEmpty()) {
+            return true;
+        }
+        for (final String segment : path.split("/", -1)) {
+            if (segment.isEmpty() || ".".equals(segment) || "..".equals(segment)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void add(final String path) {
+        final String[] segments = path.split("/");
+        this.lock.writeLock().lock();
+        try {
+            final Node node = directory(segments, segments.length - 1);
+            final String name = segments[segments.length - 1];
+            final int index = Arrays.binarySearch(node.files, name);
+            if (index < 0) {
+                node.files = insert(node.files, -index - 1, name);
+                this.size++;
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the files of a directory at once, merging them into the sorted file names of the directory in one pass
+     *
+     * @param directory directory path, empty for the root directory
+     * @param names     file names
+     */
+    void addAll(final String directory, final Collection<String> names) {
+        if (names.isEmpty()) {
+            return;
+        }
+        final String[] sorted = names.toArray(NO_NAMES);
+        Arrays.sort(sorted);
+        final String[] segments = directory.isEmpty() ? NO_NAMES : directory.split("/");
+        this.lock.writeLock().lock();
+        try {
+            final Node node = directory(segments, segments.length);
+            final String[] merged = new String[node.files.length + sorted.length];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < node.files.length || j < sorted.length) {
+                final int order = i == node.files.length ? 1
+                    : j == sorted.length ? -1 : node.files[i].compareTo(sorted[j]);
+                final String name = order <= 0 ? node.files[i++] : sorted[j++];
+                if (order == 0) {
+                    j++;
+                }
+                if (count == 0 || !merged[count - 1].equals(name)) {
+                    merged[count++] = name;
+                }
+            }
+            this.size += count - node.files.length;
+            node.files = count == merged.length ? merged : Arrays.copyOf(merged, count);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a file, or a directory with all its files
+     *
+     * @param path file or directory path
+     */
+    void remove(final String path) {
+        final String[] segments = path.split("/");
+        this.lock.writeLock().lock();
+        try {
+            remove(this.root, segments, 0);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Lists the files under a directory like {@link LocalStorageProvider#list(String)}
+     *
+     * @param path directory path, empty for all files, or a file path which lists the file itself
+     * @return file paths, empty if the path is unknown
+     */
+    List<String> list(final String path) {
+        final List<String> paths = new ArrayList<>();
+        this.lock.readLock().lock();
+        try {
+            if (path.isEmpty()) {
+                collect(this.root, new StringBuilder(), paths);
+                return paths;
+            }
+            final String[] segments = path.split("/");
+            final StringBuilder prefix = new StringBuilder();
+            Node node = this.root;
+            int from = 0;
+            while (segments.length - from > 1) {
+                final int index = node.indexOf(segments[from]);
+                if (index < 0) {
+                    return paths;
+                }
+                final String label = node.labels[index];
+                final int matched = matchedSegments(label, segments, from);
+                prefix.append(label).append('/');
+                if (from + matched == segments.length) {
+                    // The listed directory is within the edge, all its files are under the child
+                    collect(node.directories[index], prefix, paths);
+                    return paths;
+                }
+                if (matched < segmentCount(label)) {
+                    return paths;
+                }
+                node = node.directories[index];
+                from += matched;
+            }
+            final String name = segments[from];
+            if (Arrays.binarySearch(node.files, name) >= 0) {
+                paths.add(path);
+            }
+            final int index = node.indexOf(name);
+            if (index >= 0) {
+                collect(node.directories[index], prefix.append(node.labels[index]).append('/'), paths);
+            }
+            return paths;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        this.lock.readLock().lock();
+        try {
+            return this.size;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /** @return directory node of the first segments, created along with its parents if missing */
+    private Node directory(final String[] segments, final int end) {
+        Node node = this.root;
+        int from = 0;
+        while (from < end) {
+            final int index = node.indexOf(segments[from]);
+            if (index < 0) {
+                final Node directory = new Node();
+                node.insert(-index - 1, String.join("/", Arrays.asList(segments).subList(from, end)), directory);
+                return directory;
+            }
+            final String label = node.labels[index];
+            final int matched = Math.min(matchedSegments(label, segments, from), end - from);
+            if (matched < segmentCount(label)) {
+                // Splits the edge where the path leaves it
+                final int split = segmentEnd(label, matched);
+                final Node directory = new Node();
+                directory.labels = new String[] {label.substring(split + 1)};
+                directory.directories = new Node[] {node.directories[index]};
+                node.labels[index] = label.substring(0, split);
+                node.directories[index] = directory;
+            }
+            node = node.directories[index];
+            from += matched;
+        }
+        return node;
+    }
+
+    private void remove(final Node node, final String[] segments, final int from) {
+        final String name = segments[from];
+        final int index = node.indexOf(name);
+        if (segments.length - from == 1) {
+            final int file = Arrays.binarySearch(node.files, name);
+            if (file >= 0) {
+                node.files = delete(node.files, file);
+                this.size--;
+            }
+            if (index >= 0) {
+                this.size -= node.directories[index].count();
+                node.delete(index);
+            }
+            return;
+        }
+        if (index < 0) {
+            return;
+        }
+        final String label = node.labels[index];
+        final int matched = matchedSegments(label, segments, from);
+        if (from + matched == segments.length) {
+            // The removed directory is within the edge, all its files are under the child
+            this.size -= node.directories[index].count();
+            node.delete(index);
+        } else if (matched == segmentCount(label)) {
+            final Node directory = node.directories[index];
+            remove(directory, segments, from + matched);
+            if (directory.files.length == 0 && directory.labels.length == 0) {
+                node.delete(index);
+            } else if (directory.files.length == 0 && directory.labels.length == 1) {
+                // Merges the directory left without files into a single edge with its only subdirectory
+                node.labels[index] = label + '/' + directory.labels[0];
+                node.directories[index] = directory.directories[0];
+            }
+        }
+    }
+
+    private static void collect(final Node node, final StringBuilder prefix, final List<String> paths) {
+        final int length = prefix.length();
+        for (final String file : node.files) {
+            paths.add(prefix.append(file).toString());
+            prefix.setLength(length);
+        }
+        for (int i = 0; i < node.labels.length; i++) {
+            collect(node.directories[i], prefix.append(node.labels[i]).append('/'), paths);
+            prefix.setLength(length);
+        }
+    }
+
+    /** @return number of leading segments of an edge label equal to the segments from the given one */
+    private static int matchedSegments(final String label, final String[] segments, final int from) {
+        int matched = 0;
+        int offset = 0;
+        for (int i = from; i < segments.length && offset <= label.length(); i++) {
+            final String segment = segments[i];
+            final int end = offset + segment.length();
+            if (!label.startsWith(segment, offset) || end < label.length() && label.charAt(end) != '/') {
+                break;
+            }
+            matched++;
+            offset = end + 1;
+        }
+        return matched;
+    }
+
+    private static int segmentCount(final String label) {
+        int count = 1;
+        for (int i = 0; i < label.length(); i++) {
+            if (label.charAt(i) == '/') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /** @return index of the separator after the given number of segments of an edge label, or its length */
+    private static int segmentEnd(final String label, final int segments) {
+        int end = -1;
+        for (int i = 0; i < segments; i++) {
+            end = label.indexOf('/', end + 1);
+            if (end < 0) {
+                return label.length();
+            }
+        }
+        return end;
+    }
+
+    private static String[] insert(final String[] names, final int index, final String name) {
+        final String[] inserted = new String[names.length + 1];
+        System.arraycopy(names, 0, inserted, 0, index);
+        inserted[index] = name;
+        System.arraycopy(names, index, inserted, index + 1, names.length - index);
+        return inserted;
+    }
+
+    private static String[] delete(final String[] names, final int index) {
+        final String[] deleted = new String[names.length - 1];
+        System.arraycopy(names, 0, deleted, 0, index);
+        System.arraycopy(names, index + 1, deleted, index, deleted.length - index);
+        return deleted;
+    }
+
+    /**
+     * Directory holding the sorted names of its files and its subdirectories, which are sorted by the first segment of
+     * their edge labels. An edge label holds one segment, or several for a chain of directories without files.
+     */
+    private static final class Node {
+
+        private String[] files = NO_NAMES;
+
+        private String[] labels = NO_NAMES;
+
+        private Node[] directories = NO_NODES;
+
+        /** @return index of the subdirectory whose label starts with the segment, or (-(insertion point) - 1) */
+        private int indexOf(final String segment) {
+            int low = 0;
+            int high = this.labels.length - 1;
+            while (low <= high) {
+                final int middle = (low + high) >>> 1;
+                final int order = compareFirstSegment(this.labels[middle], segment);
+                if (order < 0) {
+                    low = middle + 1;
+                } else if (order > 0) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -(low + 1);
+        }
+
+        private void insert(final int index, final String label, final Node directory) {
+            this.labels = PathIndex.insert(this.labels, index, label);
+            final Node[] inserted = new Node[this.directories.length + 1];
+            System.arraycopy(this.directories, 0, inserted, 0, index);
+            inserted[index] = directory;
+            System.arraycopy(this.directories, index, inserted, index + 1, this.directories.length - index);
+            this.directories = inserted;
+        }
+
+        private void delete(final int index) {
+            this.labels = PathIndex.delete(this.labels, index);
+            final Node[] deleted = new Node[this.directories.length - 1];
+            System.arraycopy(this.directories, 0, deleted, 0, index);
+            System.arraycopy(this.directories, index + 1, deleted, index, deleted.length - index);
+            this.directories = deleted;
+        }
+
+        private int count() {
+            int count = this.files.length;
+            for (final Node directory : this.directories) {
+                count += directory.count();
+            }
+            return count;
+        }
+
+        private static int compareFirstSegment(final String label, final String segment) {
+            final int end = segmentEnd(label, 1);
+            final int length = Math.min(end, segment.length());
+            for (int i = 0; i < length; i++) {
+                final int order = label.charAt(i) - segment.charAt(i);
+                if (order != 0) {
+                    return order;
+                }
+            }
+            return end - segment.length();
+        }
+
+    }
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2026 Rahim Alizada
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jyvee.spring.webstorage.provider;
+
+import lombok.Getter;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * MD5 and SHA-256 digests of a payload. The MD5 names the storage path and the local checksum, the SHA-256 signs S3
+ * uploads and the Base64 MD5 is sent as Content-MD5, so one instance is created per saved file and passed along
+ * instead of hashing the payload once per consumer. A digest is computed on first use, a local save never pays for
+ * the SHA-256 and a path built from another hash for neither, while {@link #computeAll()} computes both in a single
+ * pass for consumers needing both.
+ */
+public final class PayloadDigests {
+
+    /** Both digests are updated with one chunk at a time, so the second one reads it from the CPU cache */
+    private static final int CHUNK_SIZE = 16 * 1024;
+
+    @Getter
+    private final long size;
+
+    /** Digested content, null if the digests were computed from a stream */
+    private final byte @Nullable [] payload;
+
+    private volatile byte @Nullable [] md5;
+
+    private volatile byte @Nullable [] sha256;
+
+    private PayloadDigests(final long size, final byte @Nullable [] payload, final byte @Nullable [] md5,
+                           final byte @Nullable [] sha256) {
+        this.size = size;
+        this.payload = payload;
+        this.md5 = md5;
+        this.sha256 = sha256;
+    }
+
+    /**
+     * Digests a payload on demand
+     *
+     * @param payload payload, kept for the digests computed later and not to be modified
+     * @return payload digests
+     */
+    public static PayloadDigests of(final byte[] payload) {
+        return new PayloadDigests(payload.length, payload, null, null);
+    }
+
+    /**
+     * Digests a stream until its end, without closing it. The stream is read once, so both digests are computed.
+     *
+     * @param inputStream payload stream
+     * @return payload digests
+     * @throws IOException if the stream cannot be read
+     */
+    public static PayloadDigests of(final InputStream inputStream) throws IOException {
+        final MessageDigest md5Digest = newDigest("MD5");
+        final MessageDigest sha256Digest = newDigest("SHA-256");
+        final byte[] buffer = new byte[CHUNK_SIZE];
+        long size = 0;
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            md5Digest.update(buffer, 0, read);
+            sha256Digest.update(buffer, 0, read);
+            size += read;
+        }
+        return new PayloadDigests(size, null, md5Digest.digest(), sha256Digest.digest());
+    }
+
+    /**
+     * Computes the digests not computed yet in a single pass over the payload
+     *
+     * @return this instance
+     */
+    public PayloadDigests computeAll() {
+        compute(true, true);
+        return this;
+    }
+
+    /** @return lowercase hex MD5, the checksum of stored files */
+    public String md5Hex() {
+        return HexFormat.of().formatHex(md5());
+    }
+
+    /** @return Base64 MD5, the value of the Content-MD5 header */
+    public String md5Base64() {
+        return Base64.getEncoder().encodeToString(md5());
+    }
+
+    /** @return lowercase hex SHA-256, the payload hash of AWS SigV4 */
+    public String sha256Hex() {
+        if (this.sha256 == null) {
+            compute(false, true);
+        }
+        return HexFormat.of().formatHex(this.sha256);
+    }
+
+    private byte[] md5() {
+        if (this.md5 == null) {
+            compute(true, false);
+        }
+        return this.md5;
+    }
+
+    /** Computes the requested digests which are still missing, reading the payload once for all of them */
+    private synchronized void compute(final boolean md5, final boolean sha256) {
+        final MessageDigest md5Digest = md5 && this.md5 == null ? newDigest("MD5") : null;
+        final MessageDigest sha256Digest = sha256 && this.sha256 == null ? newDigest("SHA-256") : null;
+        if ((md5Digest == null && sha256Digest == null) || this.payload == null) {
+            return;
+        }
+        for (int offset = 0; offset < this.payload.length; offset += CHUNK_SIZE) {
+            final int length = Math.min(CHUNK_SIZE, this.payload.length - offset);
+            if (md5Digest != null) {
+                md5Digest.update(this.payload, offset, length);
+            }
+            if (sha256Digest != null) {
+                sha256Digest.update(this.payload, offset, length);
+            }
+        }
+        if (md5Digest != null) {
+            this.md5 = md5Digest.digest();
+        }
+        if (sha256Digest != null) {
+            this.sha256 = sha256Digest.digest();
+        }
+    }
+
+    private static MessageDigest newDigest(final String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (final NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2026 Rahim Alizada
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jyvee.spring.webstorage.provider;
+
+import com.jyvee.spring.webstorage.configuration.LocalStorageConfigurationProperties;
+import lombok.Getter;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Save of a local file in steps, so its content can be written through a blocking or an asynchronous channel. The
+ * content goes to a hidden temporary file next to the file, which replaces the file once complete with its attributes,
+ * so readers never see it partial. Closing deletes the temporary file unless it was committed.
+ */
+final class PendingSave implements AutoCloseable {
+
+    private final LocalStorageConfigurationProperties configuration;
+
+    private final String sanitizedPath;
+
+    private final Path filePath;
+
+    /** Temporary file to write the content to */
+    @Getter
+    private final Path tempPath;
+
+    private final List<Path> createdDirectories;
+
+    private PendingSave(final LocalStorageConfigurationProperties configuration, final String sanitizedPath,
+                        final Path filePath, final Path tempPath, final List<Path> createdDirectories) {
+        this.configuration = configuration;
+        this.sanitizedPath = sanitizedPath;
+        this.filePath = filePath;
+        this.tempPath = tempPath;
+        this.createdDirectories = createdDirectories;
+    }
+
+    /**
+     * Creates the missing directories of a file and its temporary file
+     *
+     * @param configuration storage configuration
+     * @param path          file path
+     * @return save waiting for the content of the temporary file
+     * @throws IOException if a directory or the temporary file cannot be created
+     */
+    static PendingSave begin(final LocalStorageConfigurationProperties configuration, final String path)
+        throws IOException {
+        final String sanitizedPath = StorageProviderUtil.sanitizePath(path);
+        final Path filePath = configuration.getPath().resolve(sanitizedPath);
+        List<Path> createdDirectories = StorageProviderUtil.createMissingDirectories(configuration.getPath(),
+            filePath.getParent(), configuration.getOwner(), configuration.getGroup(), configuration.getPermissions());
+        Path tempPath;
+        try {
+            tempPath = StorageProviderUtil.createTempFile(filePath);
+        } catch (final NoSuchFileException e) {
+            // The directory was known to exist, but has been removed since
+            StorageProviderUtil.invalidateDirectory(configuration.getPath(), filePath.getParent());
+            createdDirectories = StorageProviderUtil.createMissingDirectories(configuration.getPath(),
+                filePath.getParent(), configuration.getOwner(), configuration.getGroup(),
+                configuration.getPermissions());
+            tempPath = StorageProviderUtil.createTempFile(filePath);
+        }
+        return new PendingSave(configuration, sanitizedPath, filePath, tempPath, createdDirectories);
+    }
+
+    /**
+     * Replaces the file by the written and synced temporary file, along with the attributes
+     *
+     * @param provider    provider creating the saved file
+     * @param contentType content type of the file
+     * @param metadata    file metadata
+     * @param digests     digests of the content
+     * @param <T>         stored file type
+     * @return saved file
+     * @throws IOException if the file cannot be replaced
+     */
+    <T> T commit(final LocalStorageProvider<T> provider, final String contentType, final Map<String, String> metadata,
+                 final PayloadDigests digests) throws IOException {
+        final String md5 = digests.md5Hex();
+        StorageProviderUtil.setPermissions(this.tempPath, this.configuration.getOwner(), this.configuration.getGroup(),
+            this.configuration.getPermissions());
+        final ByteBuffer attributes = FileAttributesCodec.encode(contentType, md5, metadata);
+        if (this.configuration.getMetadataStore()
+            == LocalStorageConfigurationProperties.MetadataStore.SIDECAR_FILES) {
+            // Two files cannot be replaced at once, the attributes may briefly describe the previous content
+            saveSidecar(attributes);
+        } else {
+            StorageProviderUtil
+                .getAttributeView(this.tempPath)
+                .write(LocalStorageProvider.ATTRIBUTES_ATTRIBUTE, attributes);
+        }
+        StorageProviderUtil.replaceAtomically(this.tempPath, this.filePath);
+        // The rename, and the entries of created directories, are durable once their parent directories are synced
+        final Set<Path> modifiedDirectories = new LinkedHashSet<>();
+        modifiedDirectories.add(this.filePath.getParent());
+        this.createdDirectories.stream().map(Path::getParent).forEach(modifiedDirectories::add);
+        StorageProviderUtil.syncDirectories(modifiedDirectories, this.configuration);
+        final URI uri = UriComponentsBuilder
+            .fromUri(this.configuration.getEndpoint())
+            .pathSegment(this.sanitizedPath)
+            .build()
+            .toUri();
+        return provider.newInstance(uri, this.configuration.getStorageId(), this.sanitizedPath, contentType,
+            digests.getSize(), md5, metadata, Files.getLastModifiedTime(this.filePath).toInstant());
+    }
+
+    @Override
+    public void close() throws IOException {
+        Files.deleteIfExists(this.tempPath);
+    }
+
+    private void saveSidecar(final ByteBuffer attributes) throws IOException {
+        final Path sidecarPath = StorageProviderUtil.getSidecarPath(this.filePath);
+        final Path sidecarTempPath = StorageProviderUtil.createTempFile(sidecarPath);
+        try {
+            try (final FileChannel channel = FileChannel.open(sidecarTempPath, StandardOpenOption.WRITE)) {
+                while (attributes.hasRemaining()) {
+                    channel.write(attributes);
+                }
+                StorageProviderUtil.syncFile(channel, this.configuration);
+            }
+            StorageProviderUtil.setPermissions(sidecarTempPath, this.configuration.getOwner(),
+                this.configuration.getGroup(), this.configuration.getPermissions());
+            StorageProviderUtil.replaceAtomically(sidecarTempPath, sidecarPath);
+        } finally {
+            Files.deleteIfExists(sidecarTempPath);
+        }
+    }
+
+}
@@ -21,6 +21,7 @@ import com.jyvee.spring.webstorage.provider.s3.S3CopyClient;
 import com.jyvee.spring.webstorage.provider.s3.S3DeleteClient;
 import com.jyvee.spring.webstorage.provider.s3.S3GetClient;
 import com.jyvee.spring.webstorage.provider.s3.S3GetResponse;
+import com.jyvee.spring.webstorage.provider.s3.S3HeadClient;
 import com.jyvee.spring.webstorage.provider.s3.S3ListClient;
 import com.jyvee.spring.webstorage.provider.s3.S3PutClient;
 import com.jyvee.spring.webstorage.provider.s3.S3PutResponse;
@@ -35,6 +36,7 @@ import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 public interface S3StorageProvider<T> extends StorageProvider<T, S3StorageConfigurationProperties> {
@@ -42,6 +44,12 @@ public interface S3StorageProvider<T> extends StorageProvider<T, S3StorageConfig
     @Override
     default T save(final String path, final String contentType, final byte[] payload,
                    final Map<String, String> metadata) throws IOException {
+        return save(path, contentType, payload, metadata, PayloadDigests.of(payload));
+    }
+
+    @Override
+    default T save(final String path, final String contentType, final byte[] payload,
+                   final Map<String, String> metadata, final PayloadDigests digests) throws IOException {
         final String sanitizedPath = StorageProviderUtil.sanitizePath(path);
 
         final Map<String, String> sanitizedMetadata = metadata
@@ -51,9 +59,11 @@ public interface S3StorageProvider<T> extends StorageProvider<T, S3StorageConfig
                 entry -> URLEncoder.encode(entry.getValue(), StandardCharsets.UTF_8), (_, second) -> second,
                 LinkedHashMap::new));
 
+        // The upload needs both digests, compute the missing ones in one pass
+        digests.computeAll();
         final S3PutResponse putResponse =
             new S3PutClient(HttpClientProvider.get().getHttpClient(), getConfiguration()).put(sanitizedPath,
-                contentType, payload, sanitizedMetadata);
+                contentType, payload, sanitizedMetadata, digests.sha256Hex(), digests.md5Base64());
 
         final URI uri = UriComponentsBuilder
             .fromUri(getConfiguration().getEndpoint())
@@ -77,16 +87,26 @@ public interface S3StorageProvider<T> extends StorageProvider<T, S3StorageConfig
         final String sanitizedPath = StorageProviderUtil.sanitizePath(path);
         final S3GetResponse getResponse =
             new S3GetClient(HttpClientProvider.get().getHttpClient(), getConfiguration()).get(sanitizedPath);
+        return newInstance(sanitizedPath, getResponse);
+    }
 
-        final URI uri = UriComponentsBuilder
-            .fromUri(getConfiguration().getEndpoint())
-            .path("/")
-            .path(sanitizedPath)
-            .build()
-            .toUri();
-        return newInstance(uri, getConfiguration().getStorageId(), sanitizedPath, getResponse.contentType(),
-            getResponse.contentLength(), stripEtag(getResponse.eTag()), getResponse.metadata(),
-            getResponse.lastModified());
+    @Override
+    default boolean exists(final String path) throws IOException {
+        final String sanitizedPath = StorageProviderUtil.sanitizePath(path);
+        return new S3HeadClient(HttpClientProvider.get().getHttpClient(), getConfiguration())
+            .head(sanitizedPath)
+            .isPresent();
+    }
+
+    @Override
+    default Optional<T> findIdentical(final String path, final PayloadDigests digests) throws IOException {
+        final String sanitizedPath = StorageProviderUtil.sanitizePath(path);
+        // The ETag of a single part upload is the MD5 of the object, multipart ETags never match
+        final String md5 = digests.md5Hex();
+        return new S3HeadClient(HttpClientProvider.get().getHttpClient(), getConfiguration())
+            .head(sanitizedPath)
+            .filter(headResponse -> md5.equalsIgnoreCase(stripEtag(headResponse.eTag())))
+            .map(headResponse -> newInstance(sanitizedPath, headResponse));
     }
 
     @Override
@@ -118,6 +138,18 @@ public interface S3StorageProvider<T> extends StorageProvider<T, S3StorageConfig
             sanitizedToPath);
     }
 
+    private T newInstance(final String sanitizedPath, final S3GetResponse getResponse) {
+        final URI uri = UriComponentsBuilder
+            .fromUri(getConfiguration().getEndpoint())
+            .path("/")
+            .path(sanitizedPath)
+            .build()
+            .toUri();
+        return newInstance(uri, getConfiguration().getStorageId(), sanitizedPath, getResponse.contentType(),
+            getResponse.contentLength(), stripEtag(getResponse.eTag()), getResponse.metadata(),
+            getResponse.lastModified());
+    }
+
     private static String stripEtag(final String eTag) {
         if (eTag.startsWith("\"") && eTag.endsWith("\"")) {
             return eTag.substring(1, eTag.length() - 1);
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023-2025 Rahim Alizada
+ * Copyright (c) 2023-2026 Rahim Alizada
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,4 +23,18 @@ public interface StoragePathProvider {
 
     String getStoragePath(Path basePath, Path relativePath, byte[] payload);
 
+    /**
+     * Same as {@link #getStoragePath(Path, Path, byte[])}, for callers which have already digested the payload
+     *
+     * @param basePath     base path of the file type
+     * @param relativePath requested file path
+     * @param payload      file content
+     * @param digests      digests of the payload
+     * @return storage path
+     */
+    default String getStoragePath(final Path basePath, final Path relativePath, final byte[] payload,
+                                  final PayloadDigests digests) {
+        return getStoragePath(basePath, relativePath, payload);
+    }
+
 }
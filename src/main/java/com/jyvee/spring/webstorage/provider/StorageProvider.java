@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023-2025 Rahim Alizada
+ * Copyright (c) 2023-2026 Rahim Alizada
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,8 +22,10 @@ import java.io.IOException;
 import java.net.URI;
 import java.time.Instant;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 public interface StorageProvider<T, S extends StorageConfigurationProperties> {
 
@@ -37,8 +39,60 @@ public interface StorageProvider<T, S extends StorageConfigurationProperties> {
 
     T save(String path, String contentType, byte[] payload, Map<String, String> metadata) throws IOException;
 
+    /**
+     * Same as {@link #save(String, String, byte[], Map)}, reusing digests the caller has already computed
+     *
+     * @param path        file path
+     * @param contentType content type
+     * @param payload     file content
+     * @param metadata    file metadata
+     * @param digests     digests of the payload
+     * @return saved file
+     * @throws IOException if the file cannot be saved
+     */
+    default T save(final String path, final String contentType, final byte[] payload,
+                   final Map<String, String> metadata, final PayloadDigests digests) throws IOException {
+        return save(path, contentType, payload, metadata);
+    }
+
     T load(String path) throws IOException;
 
+    /**
+     * Checks whether a file exists, without loading its metadata
+     *
+     * @param path file path
+     * @return true if the file exists
+     * @throws IOException if the check fails
+     */
+    boolean exists(String path) throws IOException;
+
+    /**
+     * Checks whether files exist
+     *
+     * @param paths file paths
+     * @return existence of every requested path, in the iteration order of the paths
+     * @throws IOException if any of the checks fails
+     */
+    default Map<String, Boolean> existsAll(final Collection<String> paths) throws IOException {
+        final Map<String, Boolean> result = new LinkedHashMap<>();
+        for (final String path : paths) {
+            if (!result.containsKey(path)) {
+                result.put(path, exists(path));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Loads a file only if it holds exactly the given content, compared by MD5 checksum
+     *
+     * @param path    file path
+     * @param digests digests of the expected content
+     * @return existing file, empty if the file does not exist or its content differs
+     * @throws IOException if the file cannot be checked
+     */
+    Optional<T> findIdentical(String path, PayloadDigests digests) throws IOException;
+
     void delete(Collection<String> paths) throws IOException;
 
     void delete(String path) throws IOException;
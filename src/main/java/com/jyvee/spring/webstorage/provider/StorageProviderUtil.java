@@ -16,31 +16,71 @@
 
 package com.jyvee.spring.webstorage.provider;
 
+import com.jyvee.spring.webstorage.configuration.LocalStorageConfigurationProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+
+import java.io.EOFException;
 import java.io.IOException;
-import java.math.BigInteger;
-import java.nio.file.FileSystem;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.FileSystemException;
-import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileOwnerAttributeView;
 import java.nio.file.attribute.GroupPrincipal;
 import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.nio.file.attribute.PosixFilePermission;
 import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserDefinedFileAttributeView;
 import java.nio.file.attribute.UserPrincipal;
-import java.nio.file.attribute.UserPrincipalNotFoundException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.SequencedCollection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
+@Slf4j
 final class StorageProviderUtil {
 
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    private static final String SIDECAR_FILE_SUFFIX = ".attributes";
+
     private static final Pattern HTTP_SAFE_PATH_PATTERN = Pattern.compile("[^a-zA-Z0-9\\\\._/]");
 
+    /** Looked up principals by name, empty if not found, the lookup may query a remote directory like LDAP */
+    private static final Map<String, Optional<UserPrincipal>> OWNERS = new ConcurrentHashMap<>();
+
+    private static final Map<String, Optional<GroupPrincipal>> GROUPS = new ConcurrentHashMap<>();
+
+    private static final Map<String, Set<PosixFilePermission>> PERMISSIONS = new ConcurrentHashMap<>();
+
+    private static final int KNOWN_DIRECTORIES_SIZE = 4096;
+
+    /** Directories known to exist by storage directory, so storages do not evict each other's */
+    private static final Map<Path, KnownDirectories> KNOWN_DIRECTORIES = new ConcurrentHashMap<>();
+
+    /** Owners the process is not allowed to give files to */
+    private static final Set<UserPrincipal> DENIED_OWNERS = ConcurrentHashMap.newKeySet();
+
     private StorageProviderUtil() {}
 
     static String sanitizePath(final String path) {
@@ -59,26 +99,188 @@ final class StorageProviderUtil {
         return HTTP_SAFE_PATH_PATTERN.matcher(path).replaceAll("_");
     }
 
-    static List<Path> listFiles(final Path path) throws IOException {
-        try (final Stream<Path> stream = Files.find(path, Integer.MAX_VALUE,
-            (filePath, fileAttr) -> fileAttr.isRegularFile())) {
+    static List<Path> listFiles(final Path path) {
+        try (final Stream<Path> stream = streamFiles(path)) {
             return stream.toList();
-        } catch (final NoSuchFileException e) {
-            return List.of();
         }
     }
 
-    static void setPermissions(final Path path, final String ownerName, final String groupName,
-                               final String permissionString) throws IOException {
-        try (final FileSystem fileSystem = FileSystems.getDefault()) {
-            final UserPrincipal userPrincipal =
-                fileSystem.getUserPrincipalLookupService().lookupPrincipalByName(ownerName);
-            final GroupPrincipal group =
-                fileSystem.getUserPrincipalLookupService().lookupPrincipalByGroupName(groupName);
-            Files.setOwner(path, userPrincipal);
-            Files.getFileAttributeView(path, PosixFileAttributeView.class).setGroup(group);
-            Files.setPosixFilePermissions(path, PosixFilePermissions.fromString(permissionString));
-        } catch (final UserPrincipalNotFoundException | UnsupportedOperationException | FileSystemException ignored) {
+    /**
+     * Finds the files of a storage directory in parallel, see {@link ParallelFileWalker}
+     *
+     * @param path directory
+     * @return stored files, without temporary and sidecar files, to be closed
+     */
+    static Stream<Path> streamFiles(final Path path) {
+        return ParallelFileWalker.find(path,
+            (filePath, fileAttr) -> fileAttr.isRegularFile() && !isTempFile(filePath) && !isSidecarFile(filePath));
+    }
+
+    /**
+     * Creates a hidden temporary file next to a file, so it can be renamed to the file atomically
+     *
+     * @param filePath final file path
+     * @return temporary file path
+     * @throws IOException if the file cannot be created
+     */
+    static Path createTempFile(final Path filePath) throws IOException {
+        return Files.createTempFile(filePath.getParent(), "." + filePath.getFileName() + ".", TEMP_FILE_SUFFIX);
+    }
+
+    static boolean isTempFile(final Path path) {
+        final String fileName = path.getFileName().toString();
+        return fileName.startsWith(".") && fileName.endsWith(TEMP_FILE_SUFFIX);
+    }
+
+    /**
+     * @param filePath file path
+     * @return path of the hidden file holding the attributes of a file, see
+     * {@link com.jyvee.spring.webstorage.configuration.LocalStorageConfigurationProperties.MetadataStore#SIDECAR_FILES}
+     */
+    static Path getSidecarPath(final Path filePath) {
+        return filePath.resolveSibling("." + filePath.getFileName() + SIDECAR_FILE_SUFFIX);
+    }
+
+    static boolean isSidecarFile(final Path path) {
+        final String fileName = path.getFileName().toString();
+        return fileName.startsWith(".") && fileName.endsWith(SIDECAR_FILE_SUFFIX);
+    }
+
+    /**
+     * Replaces a file by a temporary file, readers see either the previous or the new content, never a partial one
+     *
+     * @param tempPath temporary file, see {@link #createTempFile(Path)}
+     * @param filePath replaced file
+     * @throws IOException if the file cannot be replaced
+     */
+    static void replaceAtomically(final Path tempPath, final Path filePath) throws IOException {
+        try {
+            Files.move(tempPath, filePath, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final AtomicMoveNotSupportedException e) {
+            Files.move(tempPath, filePath, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    static void write(final FileChannel channel, final byte[] payload) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap(payload);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Transfers bytes from a channel without copying them through the heap when the platform allows it
+     *
+     * @param channel target file channel, written from its start
+     * @param source  source channel
+     * @param size    number of transferred bytes
+     * @throws IOException if the source has fewer bytes
+     */
+    static void transfer(final FileChannel channel, final ReadableByteChannel source, final long size)
+        throws IOException {
+        long position = 0;
+        while (position < size) {
+            final long transferred = channel.transferFrom(source, position, size - position);
+            if (transferred <= 0) {
+                // transferFrom also returns zero for a non-blocking source without available bytes
+                final ByteBuffer probe = ByteBuffer.allocate(1);
+                if (source.read(probe) == -1) {
+                    throw new EOFException("Source ended after " + position + " of " + size + " bytes");
+                }
+                probe.flip();
+                channel.write(probe, position);
+                position++;
+                continue;
+            }
+            position += transferred;
+        }
+    }
+
+    /**
+     * Sets the owner, group and permissions of a file, reading its attributes once and changing only those which
+     * differ, so a file created by the configured owner costs no ownership change. Principals are looked up once per
+     * name, a missing principal or a denied change leaves the corresponding attribute as is. Attributes which cannot
+     * be read or changed are logged and do not fail the save.
+     *
+     * @param path             file or directory
+     * @param ownerName        owner name, null to keep the owner
+     * @param groupName        group name, null to keep the group
+     * @param permissionString POSIX permissions, like {@code rwxr-xr-x}, ignored on file systems without them
+     */
+    static void setPermissions(final Path path, @Nullable final String ownerName, @Nullable final String groupName,
+                               final String permissionString) {
+        try {
+            setAttributes(path, ownerName, groupName, permissionString);
+        } catch (final IOException | UnsupportedOperationException e) {
+            log.warn("Could not set the owner, group and permissions of {}: {}", path, e.toString());
+        }
+    }
+
+    private static void setAttributes(final Path path, @Nullable final String ownerName,
+                                      @Nullable final String groupName, final String permissionString)
+        throws IOException {
+        final PosixFileAttributeView posixView = Files.getFileAttributeView(path, PosixFileAttributeView.class);
+        final UserPrincipal owner = ownerName == null ? null : lookupOwner(path, ownerName);
+        if (posixView == null) {
+            final FileOwnerAttributeView ownerView = Files.getFileAttributeView(path, FileOwnerAttributeView.class);
+            if (owner != null && ownerView != null && !owner.equals(ownerView.getOwner())) {
+                setOwner(ownerView, owner);
+            }
+            return;
+        }
+        final PosixFileAttributes attributes = posixView.readAttributes();
+        if (owner != null && !owner.equals(attributes.owner())) {
+            setOwner(posixView, owner);
+        }
+        final GroupPrincipal group = groupName == null ? null : lookupGroup(path, groupName);
+        if (group != null && !group.equals(attributes.group())) {
+            try {
+                posixView.setGroup(group);
+            } catch (final FileSystemException ignored) {
+            }
+        }
+        final Set<PosixFilePermission> permissions =
+            PERMISSIONS.computeIfAbsent(permissionString, PosixFilePermissions::fromString);
+        if (!permissions.equals(attributes.permissions())) {
+            try {
+                posixView.setPermissions(permissions);
+            } catch (final FileSystemException ignored) {
+            }
+        }
+    }
+
+    private static @Nullable UserPrincipal lookupOwner(final Path path, final String ownerName) {
+        return OWNERS.computeIfAbsent(ownerName, _ -> {
+            try {
+                return Optional.of(
+                    path.getFileSystem().getUserPrincipalLookupService().lookupPrincipalByName(ownerName));
+            } catch (final IOException | UnsupportedOperationException e) {
+                return Optional.empty();
+            }
+        }).orElse(null);
+    }
+
+    private static @Nullable GroupPrincipal lookupGroup(final Path path, final String groupName) {
+        return GROUPS.computeIfAbsent(groupName, _ -> {
+            try {
+                return Optional.of(
+                    path.getFileSystem().getUserPrincipalLookupService().lookupPrincipalByGroupName(groupName));
+            } catch (final IOException | UnsupportedOperationException e) {
+                return Optional.empty();
+            }
+        }).orElse(null);
+    }
+
+    private static void setOwner(final FileOwnerAttributeView view, final UserPrincipal owner) throws IOException {
+        if (DENIED_OWNERS.contains(owner)) {
+            return;
+        }
+        try {
+            view.setOwner(owner);
+        } catch (final NoSuchFileException ignored) {
+        } catch (final FileSystemException e) {
+            // Only a privileged process may give its files away, which does not change while it runs
+            DENIED_OWNERS.add(owner);
         }
     }
 
@@ -93,30 +295,187 @@ final class StorageProviderUtil {
         return missingDirectories.reversed();
     }
 
-    static void createMissingDirectories(final Path directoryPath, final String owner, final String group,
-                                         final String permissionString) throws IOException {
-        for (final Path directory : StorageProviderUtil.getMissingDirectories(directoryPath)) {
-            Files.createDirectory(directory);
+    /**
+     * Creates a directory and its missing parents. The parents already created or found are remembered, they are shared
+     * by the next files, like the {@code x/y} directories of {@link DefaultStoragePathProvider}, so a directory whose
+     * parent is known costs a single creation attempt. The directory itself is only remembered if it already existed,
+     * a directory created per file would evict the shared ones. Call {@link #invalidateDirectory(Path, Path)} if a
+     * remembered directory turns out to be missing. Directories created concurrently by another save are used as they
+     * are.
+     *
+     * @param basePath         storage directory
+     * @param directoryPath    directory
+     * @param owner            owner of the created directories, null to keep the owner
+     * @param group            group of the created directories, null to keep the group
+     * @param permissionString POSIX permissions of the created directories
+     * @return directories created by this call, from the topmost one
+     * @throws IOException if a directory cannot be created
+     */
+    static List<Path> createMissingDirectories(final Path basePath, final Path directoryPath,
+                                               @Nullable final String owner, @Nullable final String group,
+                                               final String permissionString) throws IOException {
+        final KnownDirectories knownDirectories = getKnownDirectories(basePath);
+        if (knownDirectories.contains(directoryPath)) {
+            return List.of();
+        }
+        final Path parentPath = directoryPath.getParent();
+        if (parentPath != null && knownDirectories.contains(parentPath)) {
+            boolean created = true;
+            try {
+                Files.createDirectory(directoryPath);
+            } catch (final FileAlreadyExistsException e) {
+                if (!Files.isDirectory(directoryPath)) {
+                    throw e;
+                }
+                created = false;
+            } catch (final NoSuchFileException e) {
+                // The parent was known to exist, but has been removed since
+                knownDirectories.invalidate(parentPath);
+                return createMissingDirectories(knownDirectories, basePath, directoryPath, owner, group,
+                    permissionString);
+            }
+            if (!created) {
+                knownDirectories.add(directoryPath);
+                return List.of();
+            }
+            StorageProviderUtil.setPermissions(directoryPath, owner, group, permissionString);
+            return List.of(directoryPath);
+        }
+        return createMissingDirectories(knownDirectories, basePath, directoryPath, owner, group, permissionString);
+    }
+
+    private static List<Path> createMissingDirectories(final KnownDirectories knownDirectories, final Path basePath,
+                                                       final Path directoryPath, @Nullable final String owner,
+                                                       @Nullable final String group, final String permissionString)
+        throws IOException {
+        final List<Path> missingDirectories = StorageProviderUtil.getMissingDirectories(directoryPath);
+        final List<Path> createdDirectories = new ArrayList<>(missingDirectories.size());
+        for (final Path directory : missingDirectories) {
+            try {
+                Files.createDirectory(directory);
+            } catch (final FileAlreadyExistsException e) {
+                if (!Files.isDirectory(directory)) {
+                    throw e;
+                }
+                continue;
+            }
             StorageProviderUtil.setPermissions(directory, owner, group, permissionString);
+            createdDirectories.add(directory);
+        }
+        for (Path ancestor = directoryPath.getParent();
+             ancestor != null && ancestor.startsWith(basePath) && !knownDirectories.contains(ancestor);
+             ancestor = ancestor.getParent()) {
+            knownDirectories.add(ancestor);
+        }
+        if (!createdDirectories.contains(directoryPath)) {
+            knownDirectories.add(directoryPath);
+        }
+        return createdDirectories;
+    }
+
+    /**
+     * Forgets a directory remembered by {@link #createMissingDirectories}, so it is looked up and created again
+     *
+     * @param basePath      storage directory
+     * @param directoryPath directory found missing
+     */
+    static void invalidateDirectory(final Path basePath, final Path directoryPath) {
+        getKnownDirectories(basePath).invalidate(directoryPath);
+    }
+
+    /**
+     * @param basePath storage directory
+     * @return directories of the storage known to exist
+     */
+    static KnownDirectories getKnownDirectories(final Path basePath) {
+        return KNOWN_DIRECTORIES.computeIfAbsent(basePath, _ -> new KnownDirectories(KNOWN_DIRECTORIES_SIZE));
+    }
+
+    /**
+     * Forces a written file to disk according to the durability mode
+     *
+     * @param channel       file channel
+     * @param configuration storage configuration
+     * @throws IOException if the file cannot be synced
+     */
+    static void syncFile(final FileChannel channel, final LocalStorageConfigurationProperties configuration)
+        throws IOException {
+        switch (configuration.getDurability()) {
+            case NONE -> {
+            }
+            case FSYNC -> channel.force(true);
+        }
+    }
+
+    /**
+     * Forces a file written through an asynchronous channel to disk according to the durability mode
+     *
+     * @param channel       file channel
+     * @param configuration storage configuration
+     * @throws IOException if the file cannot be synced
+     */
+    static void syncFile(final AsynchronousFileChannel channel,
+                         final LocalStorageConfigurationProperties configuration) throws IOException {
+        switch (configuration.getDurability()) {
+            case NONE -> {
+            }
+            case FSYNC -> channel.force(true);
         }
     }
 
-    @SuppressWarnings({"checkstyle:MagicNumber", "MagicNumber"})
+    /**
+     * Forces directory entries, like a renamed or created file, to disk according to the durability mode
+     *
+     * @param directories   directories
+     * @param configuration storage configuration
+     * @throws IOException if a directory cannot be synced
+     */
+    static void syncDirectories(final Collection<Path> directories,
+                                final LocalStorageConfigurationProperties configuration) throws IOException {
+        for (final Path directory : directories) {
+            switch (configuration.getDurability()) {
+                case NONE -> {
+                }
+                case FSYNC -> syncDirectory(directory);
+            }
+        }
+    }
+
+    private static void syncDirectory(final Path directory) throws IOException {
+        try (final FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (final AccessDeniedException ignored) {
+            // Directories cannot be opened on Windows, where renames are durable without a sync
+        }
+    }
+
+    /**
+     * @param filePath file path
+     * @return view of the user extended attributes of a file
+     * @throws IOException if the file system does not support them
+     */
+    static UserDefinedFileAttributeView getAttributeView(final Path filePath) throws IOException {
+        final UserDefinedFileAttributeView view =
+            Files.getFileAttributeView(filePath, UserDefinedFileAttributeView.class);
+        if (view == null) {
+            throw new IOException("User extended attributes are not supported, use the sidecar metadata store");
+        }
+        return view;
+    }
+
     static String md5(final byte[] payload) {
-        final byte[] bytes;
         try {
-            bytes = MessageDigest.getInstance("MD5").digest(payload);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(payload));
         } catch (final NoSuchAlgorithmException e) {
             throw new RuntimeException(e);
         }
-        final BigInteger bigInt = new BigInteger(1, bytes);
-        String hexString = bigInt.toString(16);
-        // Now we need to zero pad it if you actually want the full 32 chars.
-        while (hexString.length() < 32) {
-            // noinspection StringConcatenationInLoop
-            hexString = "0" + hexString;
-        }
-        return hexString;
+    }
+
+    @FunctionalInterface
+    interface ChannelWriter {
+
+        void write(FileChannel channel) throws IOException;
+
     }
 
 }
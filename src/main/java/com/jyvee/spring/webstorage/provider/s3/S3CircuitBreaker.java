@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2026 Rahim Alizada
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jyvee.spring.webstorage.provider.s3;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker of one storage. While closed it keeps the outcomes of the last {@link #WINDOW_SIZE} attempts and
+ * opens once the share of failed or slow ones reaches its threshold. While open every attempt is rejected without
+ * touching the network. After the open duration a few probe attempts are let through: if they all succeed the breaker
+ * closes, otherwise it opens again.
+ */
+final class S3CircuitBreaker {
+
+    enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    static final int WINDOW_SIZE = 50;
+
+    /** The rates are not evaluated before the window holds this many outcomes */
+    static final int MIN_CALLS = 20;
+
+    static final int HALF_OPEN_PROBES = 5;
+
+    private static final byte FAILED = 1;
+
+    private static final byte SLOW = 2;
+
+    private final int failureRateThreshold;
+
+    private final int slowCallRateThreshold;
+
+    private final long slowCallNanos;
+
+    private final long openNanos;
+
+    private final LongSupplier nanoClock;
+
+    private final byte[] outcomes = new byte[WINDOW_SIZE];
+
+    private int index;
+
+    private int calls;
+
+    private int failedCalls;
+
+    private int slowCalls;
+
+    private State state = State.CLOSED;
+
+    private long openedAt;
+
+    private int probesStarted;
+
+    private int probesSucceeded;
+
+    S3CircuitBreaker(final int failureRateThreshold, final int slowCallRateThreshold, final long slowCallNanos,
+                     final long openNanos) {
+        this(failureRateThreshold, slowCallRateThreshold, slowCallNanos, openNanos, System::nanoTime);
+    }
+
+    S3CircuitBreaker(final int failureRateThreshold, final int slowCallRateThreshold, final long slowCallNanos,
+                     final long openNanos, final LongSupplier nanoClock) {
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallNanos = slowCallNanos;
+        this.openNanos = openNanos;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Asks for a permission to send an attempt, every granted permission has to be followed by
+     * {@link #onResult(boolean, long)} or {@link #onIgnored()}.
+     *
+     * @return true if the attempt may be sent
+     */
+    synchronized boolean tryAcquire() {
+        if (this.state == State.OPEN) {
+            if (this.nanoClock.getAsLong() - this.openedAt < this.openNanos) {
+                return false;
+            }
+            this.state = State.HALF_OPEN;
+            this.probesStarted = 0;
+            this.probesSucceeded = 0;
+        }
+        if (this.state == State.HALF_OPEN) {
+            if (this.probesStarted >= HALF_OPEN_PROBES) {
+                return false;
+            }
+            this.probesStarted++;
+        }
+        return true;
+    }
+
+    /**
+     * Records the outcome of a permitted attempt.
+     *
+     * @param failed        true if the attempt failed without a response or with a server error
+     * @param durationNanos duration of the attempt
+     * @return true if the outcome has opened the breaker
+     */
+    synchronized boolean onResult(final boolean failed, final long durationNanos) {
+        final boolean slow = this.slowCallRateThreshold > 0 && durationNanos >= this.slowCallNanos;
+        return switch (this.state) {
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (failed || slow) {
+                    open();
+                    yield true;
+                }
+                if (++this.probesSucceeded >= HALF_OPEN_PROBES) {
+                    close();
+                }
+                yield false;
+            }
+            case CLOSED -> {
+                record(failed, slow);
+                if (this.calls >= MIN_CALLS && (isAboveThreshold(this.failedCalls, this.failureRateThreshold)
+                                                || isAboveThreshold(this.slowCalls, this.slowCallRateThreshold))) {
+                    open();
+                    yield true;
+                }
+                yield false;
+            }
+        };
+    }
+
+    /** Returns the permission of an attempt which has not completed, e.g. because the thread was interrupted */
+    synchronized void onIgnored() {
+        if (this.state == State.HALF_OPEN && this.probesStarted > this.probesSucceeded) {
+            this.probesStarted--;
+        }
+    }
+
+    synchronized State getState() {
+        return this.state;
+    }
+
+    private void record(final boolean failed, final boolean slow) {
+        final byte outcome = (byte) ((failed ? FAILED : 0) | (slow ? SLOW : 0));
+        if (this.calls == WINDOW_SIZE) {
+            final byte evicted = this.outcomes[this.index];
+            this.failedCalls -= evicted & FAILED;
+            this.slowCalls -= (evicted & SLOW) >> 1;
+        } else {
+            this.calls++;
+        }
+        this.outcomes[this.index] = outcome;
+        this.failedCalls += outcome & FAILED;
+        this.slowCalls += (outcome & SLOW) >> 1;
+        this.index = (this.index + 1) % WINDOW_SIZE;
+    }
+
+    private boolean isAboveThreshold(final int count, final int thresholdPercent) {
+        return thresholdPercent > 0 && count * 100 >= thresholdPercent * this.calls;
+    }
+
+    private void open() {
+        this.state = State.OPEN;
+        this.openedAt = this.nanoClock.getAsLong();
+    }
+
+    private void close() {
+        this.state = State.CLOSED;
+        this.index = 0;
+        this.calls = 0;
+        this.failedCalls = 0;
+        this.slowCalls = 0;
+    }
+
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2026 Rahim Alizada
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jyvee.spring.webstorage.provider.s3;
+
+import com.jyvee.spring.webstorage.configuration.S3StorageConfigurationProperties;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Request counters of the raw S3 clients, aggregated per storage.
+ */
+public final class S3ClientMetrics {
+
+    private final LongAdder requests = new LongAdder();
+
+    private final LongAdder attempts = new LongAdder();
+
+    private final LongAdder retries = new LongAdder();
+
+    private final LongAdder retriesExhausted = new LongAdder();
+
+    private final LongAdder retryBudgetExhausted = new LongAdder();
+
+    private final LongAdder rateLimited = new LongAdder();
+
+    private final LongAdder rateLimitedNanos = new LongAdder();
+
+    private final LongAdder rateDecreases = new LongAdder();
+
+    private final LongAdder hedges = new LongAdder();
+
+    private final LongAdder hedgeWins = new LongAdder();
+
+    private final LongAdder bulkheadRejected = new LongAdder();
+
+    private final LongAdder circuitBreakerRejected = new LongAdder();
+
+    private final LongAdder circuitBreakerOpened = new LongAdder();
+
+    S3ClientMetrics() {}
+
+    /**
+     * Returns the metrics of the storage described by the configuration.
+     *
+     * @param configuration S3 storage configuration
+     * @return metrics shared by all clients using this configuration instance
+     */
+    public static S3ClientMetrics of(final S3StorageConfigurationProperties configuration) {
+        return S3RequestExecutor.get(configuration).getMetrics();
+    }
+
+    /** @return number of logical requests, regardless of how many attempts each took */
+    public long getRequests() {
+        return this.requests.sum();
+    }
+
+    /** @return number of HTTP requests sent, including retries */
+    public long getAttempts() {
+        return this.attempts.sum();
+    }
+
+    /** @return number of retried attempts */
+    public long getRetries() {
+        return this.retries.sum();
+    }
+
+    /** @return number of requests that failed after using up all attempts */
+    public long getRetriesExhausted() {
+        return this.retriesExhausted.sum();
+    }
+
+    /** @return number of retries skipped because the retry budget was empty */
+    public long getRetryBudgetExhausted() {
+        return this.retryBudgetExhausted.sum();
+    }
+
+    /** @return number of attempts delayed by the adaptive rate limiter */
+    public long getRateLimited() {
+        return this.rateLimited.sum();
+    }
+
+    /** @return total time attempts have been delayed by the adaptive rate limiter, in milliseconds */
+    public long getRateLimitedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this.rateLimitedNanos.sum());
+    }
+
+    /** @return number of times throttling responses lowered the request rate of a key prefix */
+    public long getRateDecreases() {
+        return this.rateDecreases.sum();
+    }
+
+    /** @return number of hedged requests sent because the original one took longer than the hedge delay */
+    public long getHedges() {
+        return this.hedges.sum();
+    }
+
+    /** @return number of hedged requests whose response arrived before the original one */
+    public long getHedgeWins() {
+        return this.hedgeWins.sum();
+    }
+
+    /** @return number of requests rejected because the maximum number of concurrent requests was reached */
+    public long getBulkheadRejected() {
+        return this.bulkheadRejected.sum();
+    }
+
+    /** @return number of attempts rejected without being sent because the circuit breaker was open */
+    public long getCircuitBreakerRejected() {
+        return this.circuitBreakerRejected.sum();
+    }
+
+    /** @return number of times the circuit breaker has opened */
+    public long getCircuitBreakerOpened() {
+        return this.circuitBreakerOpened.sum();
+    }
+
+    void recordRequest() {
+        this.requests.increment();
+    }
+
+    void recordAttempt() {
+        this.attempts.increment();
+    }
+
+    void recordRetry() {
+        this.retries.increment();
+    }
+
+    void recordRetriesExhausted() {
+        this.retriesExhausted.increment();
+    }
+
+    void recordRetryBudgetExhausted() {
+        this.retryBudgetExhausted.increment();
+    }
+
+    void recordRateLimited(final long delayNanos) {
+        this.rateLimited.increment();
+        this.rateLimitedNanos.add(delayNanos);
+    }
+
+    void recordRateDecrease() {
+        this.rateDecreases.increment();
+    }
+
+    void recordHedge() {
+        this.hedges.increment();
+    }
+
+    void recordHedgeWin() {
+        this.hedgeWins.increment();
+    }
+
+    void recordBulkheadRejected() {
+        this.bulkheadRejected.increment();
+    }
+
+    void recordCircuitBreakerRejected() {
+        this.circuitBreakerRejected.increment();
+    }
+
+    void recordCircuitBreakerOpened() {
+        this.circuitBreakerOpened.increment();
+    }
+
+}
@@ -29,7 +29,6 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 
 /**
@@ -50,10 +49,27 @@ public class S3CopyClient {
      *
      * @param fromKey source S3 key (already sanitized)
      * @param toKey   destination S3 key (already sanitized)
-     * @throws IOException if the copy fails or the HTTP response status is not 2xx
+     * @throws IOException if the copy fails or the HTTP response status is not 2xx once retries are exhausted
      */
-    @SuppressWarnings("UastIncorrectHttpHeaderInspection")
     public void copy(final String fromKey, final String toKey) throws IOException {
+        try {
+            final HttpResponse<String> response = S3RequestExecutor
+                .get(this.configuration)
+                .send(this.httpClient, S3Operation.COPY, toKey, () -> buildRequest(fromKey, toKey));
+            if (response.statusCode() < HttpStatus.OK.value()
+                || response.statusCode() >= HttpStatus.MULTIPLE_CHOICES.value()) {
+                throw new IOException("S3 copy failed with status " + response.statusCode() + ": " + response.body());
+            }
+            ensureNoCopyError(response.body());
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("S3 COPY interrupted", ex);
+        }
+
+    }
+
+    @SuppressWarnings("UastIncorrectHttpHeaderInspection")
+    private HttpRequest buildRequest(final String fromKey, final String toKey) {
         final Instant now = Instant.now();
         final String amzDate = S3ClientUtils.amzDate(now);
         final String dateStamp = S3ClientUtils.dateStamp(now);
@@ -76,7 +92,7 @@ public class S3CopyClient {
             S3ClientUtils.buildAuthorizationHeader(this.configuration, amzDate, dateStamp, signedHeaders,
                 canonicalRequest);
 
-        final HttpRequest request = HttpRequest
+        return HttpRequest
             .newBuilder(URI.create(
                 S3ClientUtils.stripTrailingSlash(this.configuration.getServiceEndpoint().toString()) + canonicalUri))
             .header("x-amz-acl", OBJECT_ACL)
@@ -86,20 +102,6 @@ public class S3CopyClient {
             .header("Authorization", authorization)
             .PUT(HttpRequest.BodyPublishers.noBody())
             .build();
-
-        try {
-            final HttpResponse<String> response =
-                this.httpClient.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
-            if (response.statusCode() < HttpStatus.OK.value()
-                || response.statusCode() >= HttpStatus.MULTIPLE_CHOICES.value()) {
-                throw new IOException("S3 copy failed with status " + response.statusCode() + ": " + response.body());
-            }
-            ensureNoCopyError(response.body());
-        } catch (final InterruptedException ex) {
-            Thread.currentThread().interrupt();
-            throw new IOException("S3 COPY interrupted", ex);
-        }
-
     }
 
     private static void ensureNoCopyError(@Nullable final String body) throws IOException {
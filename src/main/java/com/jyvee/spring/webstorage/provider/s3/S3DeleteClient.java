@@ -49,9 +49,9 @@ public class S3DeleteClient {
      * Deletes objects from S3 using Multi-Object Delete ({@code POST ?delete}).
      *
      * @param keys the S3 keys to delete
-     * @throws IOException if the request fails, the HTTP status is not 2xx, or S3 reports delete errors
+     * @throws IOException if the request fails, the HTTP status is not 2xx once retries are exhausted, or S3 reports
+     *                     delete errors
      */
-    @SuppressWarnings("UastIncorrectHttpHeaderInspection")
     public void delete(final Collection<String> keys) throws IOException {
         if (keys.isEmpty()) {
             return;
@@ -59,15 +59,32 @@ public class S3DeleteClient {
 
         final String body = buildDeleteBody(keys);
         final byte[] payload = body.getBytes(StandardCharsets.UTF_8);
+        final String contentMd5 = S3ClientUtils.md5Base64(payload);
+        final String payloadHash = S3ClientUtils.sha256Hex(payload);
+
+        try {
+            final HttpResponse<String> response = S3RequestExecutor
+                .get(this.configuration)
+                .send(this.httpClient, S3Operation.DELETE, "", () -> buildRequest(payload, contentMd5, payloadHash));
+            if (response.statusCode() < HttpStatus.OK.value()
+                || response.statusCode() >= HttpStatus.MULTIPLE_CHOICES.value()) {
+                throw new IOException("S3 delete failed with status " + response.statusCode() + ": " + response.body());
+            }
+            ensureNoDeleteErrors(response.body());
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("S3 DELETE interrupted", ex);
+        }
+    }
 
+    @SuppressWarnings("UastIncorrectHttpHeaderInspection")
+    private HttpRequest buildRequest(final byte[] payload, final String contentMd5, final String payloadHash) {
         final Instant now = Instant.now();
         final String amzDate = S3ClientUtils.amzDate(now);
         final String dateStamp = S3ClientUtils.dateStamp(now);
         final String canonicalUri = "/" + S3ClientUtils.encodePath(this.configuration.getBucket());
         final String canonicalQuery = "delete=";
         final String contentType = "application/xml";
-        final String contentMd5 = S3ClientUtils.md5Base64(payload);
-        final String payloadHash = S3ClientUtils.sha256Hex(payload);
         final String host = this.configuration.getServiceEndpoint().getHost();
         final String signedHeaders = "content-md5;content-type;host;x-amz-content-sha256;x-amz-date";
         final String canonicalHeaders =
@@ -81,7 +98,7 @@ public class S3DeleteClient {
             S3ClientUtils.buildAuthorizationHeader(this.configuration, amzDate, dateStamp, signedHeaders,
                 canonicalRequest);
 
-        final HttpRequest request = HttpRequest
+        return HttpRequest
             .newBuilder(URI.create(
                 S3ClientUtils.stripTrailingSlash(this.configuration.getServiceEndpoint().toString()) + canonicalUri
                 + "?delete="))
@@ -92,19 +109,6 @@ public class S3DeleteClient {
             .header("Authorization", authorization)
             .POST(HttpRequest.BodyPublishers.ofByteArray(payload))
             .build();
-
-        try {
-            final HttpResponse<String> response =
-                this.httpClient.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
-            if (response.statusCode() < HttpStatus.OK.value()
-                || response.statusCode() >= HttpStatus.MULTIPLE_CHOICES.value()) {
-                throw new IOException("S3 delete failed with status " + response.statusCode() + ": " + response.body());
-            }
-            ensureNoDeleteErrors(response.body());
-        } catch (final InterruptedException ex) {
-            Thread.currentThread().interrupt();
-            throw new IOException("S3 DELETE interrupted", ex);
-        }
     }
 
     @SuppressWarnings("HttpUrlsUsage")
@@ -55,10 +55,32 @@ public class S3GetClient {
      *
      * @param path the S3 object path (already sanitized)
      * @return S3GetResponse (includes metadata used in put)
-     * @throws IOException if the request fails or the HTTP response status is not 2xx
+     * @throws IOException if the request fails or the HTTP response status is not 2xx once retries are exhausted
      */
-    @SuppressWarnings("UastIncorrectHttpHeaderInspection")
     public S3GetResponse get(final String path) throws IOException {
+        try {
+            final HttpResponse<String> response = S3RequestExecutor
+                .get(this.configuration)
+                .send(this.httpClient, S3Operation.GET, path, () -> buildRequest(path));
+
+            if (response.statusCode() < HttpStatus.OK.value()
+                || response.statusCode() >= HttpStatus.MULTIPLE_CHOICES.value()) {
+                throw new IOException("S3 get failed with status " + response.statusCode() + ": " + response.body());
+            }
+
+            final HttpHeaders headers = response.headers();
+            return new S3GetResponse(headers.firstValue("ETag").orElse(""),
+                headers.firstValue("Content-Type").orElse("application/octet-stream"),
+                headers.firstValueAsLong("Content-Length").orElse(0L), extractMetadata(headers),
+                parseLastModified(headers.firstValue("Last-Modified").orElseThrow()));
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("S3 GET interrupted for path: " + path, ex);
+        }
+    }
+
+    @SuppressWarnings("UastIncorrectHttpHeaderInspection")
+    private HttpRequest buildRequest(final String path) {
         final Instant now = Instant.now();
         final String amzDate = S3ClientUtils.amzDate(now);
         final String dateStamp = S3ClientUtils.dateStamp(now);
@@ -78,7 +100,7 @@ public class S3GetClient {
             S3ClientUtils.buildAuthorizationHeader(this.configuration, amzDate, dateStamp, signedHeaders,
                 canonicalRequest);
 
-        final HttpRequest request = HttpRequest
+        return HttpRequest
             .newBuilder(URI.create(
                 S3ClientUtils.stripTrailingSlash(this.configuration.getServiceEndpoint().toString()) + canonicalUri))
             .header("x-amz-content-sha256", payloadHash)
@@ -86,28 +108,9 @@ public class S3GetClient {
             .header("Authorization", authorization)
             .GET()
             .build();
-
-        try {
-            final HttpResponse<String> response =
-                this.httpClient.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
-
-            if (response.statusCode() < HttpStatus.OK.value()
-                || response.statusCode() >= HttpStatus.MULTIPLE_CHOICES.value()) {
-                throw new IOException("S3 get failed with status " + response.statusCode() + ": " + response.body());
-            }
-
-            final HttpHeaders headers = response.headers();
-            return new S3GetResponse(headers.firstValue("ETag").orElse(""),
-                headers.firstValue("Content-Type").orElse("application/octet-stream"),
-                headers.firstValueAsLong("Content-Length").orElse(0L), extractMetadata(headers),
-                parseLastModified(headers.firstValue("Last-Modified").orElseThrow()));
-        } catch (final InterruptedException ex) {
-            Thread.currentThread().interrupt();
-            throw new IOException("S3 GET interrupted for path: " + path, ex);
-        }
     }
 
-    private static Instant parseLastModified(final String value) {
+    static Instant parseLastModified(final String value) {
         try {
             return ZonedDateTime.parse(value, RFC_1123).toInstant();
         } catch (final DateTimeParseException ex) {
@@ -115,7 +118,7 @@ public class S3GetClient {
         }
     }
 
-    private static Map<String, String> extractMetadata(final HttpHeaders headers) {
+    static Map<String, String> extractMetadata(final HttpHeaders headers) {
         final Map<String, String> metadata = new LinkedHashMap<>();
         for (final Map.Entry<String, List<String>> entry : headers.map().entrySet()) {
             final String name = entry.getKey().toLowerCase(Locale.ENGLISH);
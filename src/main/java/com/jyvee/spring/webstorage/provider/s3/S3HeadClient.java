@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2026 Rahim Alizada
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jyvee.spring.webstorage.provider.s3;
+
+import com.jyvee.spring.webstorage.configuration.S3StorageConfigurationProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Fetches object metadata from S3-compatible storage using raw HTTP HEAD request, without transferring the object.
+ * No external dependencies are used - only the Java standard library.
+ */
+@RequiredArgsConstructor
+public class S3HeadClient {
+
+    private final HttpClient httpClient;
+
+    private final S3StorageConfigurationProperties configuration;
+
+    /**
+     * Fetches object metadata from S3 using a raw HTTP HEAD.
+     *
+     * @param path the S3 object path (already sanitized)
+     * @return S3GetResponse (includes metadata used in put), empty if the object does not exist
+     * @throws IOException if the request fails or the HTTP response status is neither 2xx nor 404 once retries are
+     *                     exhausted; S3 answers 403 instead of 404 when the credentials may not list the bucket
+     */
+    public Optional<S3GetResponse> head(final String path) throws IOException {
+        try {
+            final HttpResponse<String> response = S3RequestExecutor
+                .get(this.configuration)
+                .send(this.httpClient, S3Operation.HEAD, path, () -> buildRequest(path));
+
+            if (response.statusCode() == HttpStatus.NOT_FOUND.value()) {
+                return Optional.empty();
+            }
+            if (response.statusCode() < HttpStatus.OK.value()
+                || response.statusCode() >= HttpStatus.MULTIPLE_CHOICES.value()) {
+                throw new IOException("S3 head failed with status " + response.statusCode());
+            }
+
+            final HttpHeaders headers = response.headers();
+            return Optional.of(new S3GetResponse(headers.firstValue("ETag").orElse(""),
+                headers.firstValue("Content-Type").orElse("application/octet-stream"),
+                headers.firstValueAsLong("Content-Length").orElse(0L), S3GetClient.extractMetadata(headers),
+                S3GetClient.parseLastModified(headers.firstValue("Last-Modified").orElseThrow())));
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("S3 HEAD interrupted for path: " + path, ex);
+        }
+    }
+
+    @SuppressWarnings("UastIncorrectHttpHeaderInspection")
+    private HttpRequest buildRequest(final String path) {
+        final Instant now = Instant.now();
+        final String amzDate = S3ClientUtils.amzDate(now);
+        final String dateStamp = S3ClientUtils.dateStamp(now);
+        final URI endpoint = this.configuration.getServiceEndpoint();
+        final String host = endpoint.getHost();
+        final String canonicalUri =
+            "/" + S3ClientUtils.encodePath(this.configuration.getBucket()) + "/" + S3ClientUtils.encodePath(
+                S3ClientUtils.stripLeadingSlash(path));
+        final String payloadHash = S3ClientUtils.sha256Hex(new byte[0]);
+        final String signedHeaders = "host;x-amz-content-sha256;x-amz-date";
+        final String canonicalHeaders =
+            "host:" + host + "\n" + "x-amz-content-sha256:" + payloadHash + "\n" + "x-amz-date:" + amzDate + "\n";
+        final String canonicalRequest =
+            "HEAD\n" + canonicalUri + "\n" + "\n" + canonicalHeaders + "\n" + signedHeaders + "\n" + payloadHash;
+
+        final String authorization =
+            S3ClientUtils.buildAuthorizationHeader(this.configuration, amzDate, dateStamp, signedHeaders,
+                canonicalRequest);
+
+        return HttpRequest
+            .newBuilder(URI.create(
+                S3ClientUtils.stripTrailingSlash(this.configuration.getServiceEndpoint().toString()) + canonicalUri))
+            .header("x-amz-content-sha256", payloadHash)
+            .header("x-amz-date", amzDate)
+            .header("Authorization", authorization)
+            .method("HEAD", HttpRequest.BodyPublishers.noBody())
+            .build();
+    }
+
+}
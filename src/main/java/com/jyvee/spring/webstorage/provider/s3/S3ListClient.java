@@ -30,7 +30,6 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
@@ -86,14 +85,8 @@ public class S3ListClient {
         return keys;
     }
 
-    @SuppressWarnings("UastIncorrectHttpHeaderInspection")
     private ListResponse fetchPage(@Nullable final String prefix, final int maxKeys,
                                    @Nullable final String continuationToken) throws IOException {
-        final Instant now = Instant.now();
-        final String amzDate = S3ClientUtils.amzDate(now);
-        final String dateStamp = S3ClientUtils.dateStamp(now);
-
-        final String canonicalUri = "/" + S3ClientUtils.encodePath(this.configuration.getBucket());
         final Map<String, String> queryParams = new LinkedHashMap<>();
         queryParams.put("list-type", "2");
         queryParams.put("max-keys", Integer.toString(maxKeys));
@@ -103,8 +96,31 @@ public class S3ListClient {
         if (continuationToken != null && !continuationToken.isBlank()) {
             queryParams.put("continuation-token", continuationToken);
         }
-
         final String canonicalQuery = S3ClientUtils.canonicalQuery(queryParams);
+
+        try {
+            final HttpResponse<String> response = S3RequestExecutor
+                .get(this.configuration)
+                .send(this.httpClient, S3Operation.LIST, prefix == null ? "" : prefix,
+                    () -> buildRequest(canonicalQuery));
+            if (response.statusCode() < HttpStatus.OK.value()
+                || response.statusCode() >= HttpStatus.MULTIPLE_CHOICES.value()) {
+                throw new IOException("S3 list failed with status " + response.statusCode() + ": " + response.body());
+            }
+            return parseListResponse(response.body());
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("S3 LIST interrupted", ex);
+        }
+    }
+
+    @SuppressWarnings("UastIncorrectHttpHeaderInspection")
+    private HttpRequest buildRequest(final String canonicalQuery) {
+        final Instant now = Instant.now();
+        final String amzDate = S3ClientUtils.amzDate(now);
+        final String dateStamp = S3ClientUtils.dateStamp(now);
+
+        final String canonicalUri = "/" + S3ClientUtils.encodePath(this.configuration.getBucket());
         final String payloadHash = S3ClientUtils.sha256Hex(new byte[0]);
         final String signedHeaders = "host;x-amz-content-sha256;x-amz-date";
         final String host = this.configuration.getServiceEndpoint().getHost();
@@ -121,26 +137,13 @@ public class S3ListClient {
         final String requestUri =
             S3ClientUtils.stripTrailingSlash(this.configuration.getServiceEndpoint().toString()) + canonicalUri + (
                 canonicalQuery.isEmpty() ? "" : "?" + canonicalQuery);
-        final HttpRequest request = HttpRequest
+        return HttpRequest
             .newBuilder(URI.create(requestUri))
             .header("x-amz-content-sha256", payloadHash)
             .header("x-amz-date", amzDate)
             .header("Authorization", authorization)
             .GET()
             .build();
-
-        try {
-            final HttpResponse<String> response =
-                this.httpClient.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
-            if (response.statusCode() < HttpStatus.OK.value()
-                || response.statusCode() >= HttpStatus.MULTIPLE_CHOICES.value()) {
-                throw new IOException("S3 list failed with status " + response.statusCode() + ": " + response.body());
-            }
-            return parseListResponse(response.body());
-        } catch (final InterruptedException ex) {
-            Thread.currentThread().interrupt();
-            throw new IOException("S3 LIST interrupted", ex);
-        }
     }
 
     private static ListResponse parseListResponse(final String body) throws IOException {
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2026 Rahim Alizada
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jyvee.spring.webstorage.provider.s3;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/** S3 request kinds issued by the raw clients, with the properties relevant to retrying and hedging them. */
+@Getter
+@RequiredArgsConstructor
+enum S3Operation {
+
+    PUT("PUT", true, false),
+    GET("GET", true, true),
+    HEAD("HEAD", true, true),
+    LIST("LIST", true, true),
+    DELETE("DELETE", true, false),
+    COPY("COPY", true, false);
+
+    private final String label;
+
+    /** Repeating the request leaves the bucket in the same state, so it may be re-sent after a lost response */
+    private final boolean idempotent;
+
+    /** Read-only request whose duplicate may be sent while the original is still pending */
+    private final boolean hedgeable;
+
+}
@@ -26,7 +26,6 @@ import java.net.http.HttpClient;
 import java.net.http.HttpHeaders;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.Locale;
 import java.util.Map;
@@ -52,11 +51,53 @@ public class S3PutClient {
      * @param payload            raw bytes to upload
      * @param urlEncodedMetadata metadata with URL-encoded values; stored as {@code x-amz-meta-} headers
      * @return S3PutResponse
-     * @throws IOException if the upload fails or the HTTP response status is not 200
+     * @throws IOException if the upload fails or the HTTP response status is not 2xx once retries are exhausted
      */
-    @SuppressWarnings("UastIncorrectHttpHeaderInspection")
     public S3PutResponse put(final String path, final String contentType, final byte[] payload,
                              final Map<String, String> urlEncodedMetadata) throws IOException {
+        return put(path, contentType, payload, urlEncodedMetadata, S3ClientUtils.sha256Hex(payload),
+            S3ClientUtils.md5Base64(payload));
+    }
+
+    /**
+     * Uploads bytes to S3 using digests the caller has already computed. S3 rejects the upload if the payload does
+     * not match the Content-MD5.
+     *
+     * @param path               the S3 object path (already sanitized)
+     * @param contentType        MIME type of the payload
+     * @param payload            raw bytes to upload
+     * @param urlEncodedMetadata metadata with URL-encoded values; stored as {@code x-amz-meta-} headers
+     * @param payloadHash        lowercase hex SHA-256 of the payload
+     * @param contentMd5         Base64 MD5 of the payload
+     * @return S3PutResponse
+     * @throws IOException if the upload fails or the HTTP response status is not 2xx once retries are exhausted
+     */
+    public S3PutResponse put(final String path, final String contentType, final byte[] payload,
+                             final Map<String, String> urlEncodedMetadata, final String payloadHash,
+                             final String contentMd5) throws IOException {
+        try {
+            final HttpResponse<String> response = S3RequestExecutor
+                .get(this.configuration)
+                .send(this.httpClient, S3Operation.PUT, path,
+                    () -> buildRequest(path, contentType, payload, payloadHash, contentMd5, urlEncodedMetadata));
+
+            if (response.statusCode() < HttpStatus.OK.value()
+                || response.statusCode() >= HttpStatus.MULTIPLE_CHOICES.value()) {
+                throw new IOException("S3 put failed with status " + response.statusCode() + ": " + response.body());
+            }
+
+            final HttpHeaders headers = response.headers();
+            return new S3PutResponse(headers.firstValue("ETag").orElse(""));
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("S3 PUT interrupted for path: " + path, e);
+        }
+    }
+
+    @SuppressWarnings("UastIncorrectHttpHeaderInspection")
+    private HttpRequest buildRequest(final String path, final String contentType, final byte[] payload,
+                                     final String payloadHash, final String contentMd5,
+                                     final Map<String, String> urlEncodedMetadata) {
         final Instant now = Instant.now();
         final String amzDate = S3ClientUtils.amzDate(now);
         final String dateStamp = S3ClientUtils.dateStamp(now);
@@ -65,11 +106,14 @@ public class S3PutClient {
         final String canonicalUri =
             "/" + S3ClientUtils.encodePath(this.configuration.getBucket()) + "/" + S3ClientUtils.encodePath(
                 S3ClientUtils.stripLeadingSlash(path));
-        final String payloadHash = S3ClientUtils.sha256Hex(payload);
-        final String signedHeaders = "content-type;host;x-amz-acl;x-amz-content-sha256;x-amz-date";
+        final String signedHeaders = "content-md5;content-type;host;x-amz-acl;x-amz-content-sha256;x-amz-date";
         final String canonicalHeaders =
-            "content-type:" + contentType + "\n" + "host:" + host + "\n" + "x-amz-acl:" + OBJECT_ACL + "\n"
-            + "x-amz-content-sha256:" + payloadHash + "\n" + "x-amz-date:" + amzDate + "\n";
+            "content-md5:" + contentMd5 + "\n"
+            + "content-type:" + contentType + "\n"
+            + "host:" + host + "\n"
+            + "x-amz-acl:" + OBJECT_ACL + "\n"
+            + "x-amz-content-sha256:" + payloadHash + "\n"
+            + "x-amz-date:" + amzDate + "\n";
         final String canonicalRequest =
             "PUT\n" + canonicalUri + "\n" + "\n" + canonicalHeaders + "\n" + signedHeaders + "\n" + payloadHash;
 
@@ -80,6 +124,7 @@ public class S3PutClient {
         final HttpRequest.Builder requestBuilder = HttpRequest
             .newBuilder(URI.create(
                 S3ClientUtils.stripTrailingSlash(this.configuration.getServiceEndpoint().toString()) + canonicalUri))
+            .header("Content-MD5", contentMd5)
             .header("Content-Type", contentType)
             .header("x-amz-acl", OBJECT_ACL)
             .header("x-amz-content-sha256", payloadHash)
@@ -90,23 +135,7 @@ public class S3PutClient {
             requestBuilder.header("x-amz-meta-" + entry.getKey().toLowerCase(Locale.ENGLISH), entry.getValue());
         }
 
-        final HttpRequest httpRequest = requestBuilder.PUT(HttpRequest.BodyPublishers.ofByteArray(payload)).build();
-
-        try {
-            final HttpResponse<String> response =
-                this.httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
-
-            if (response.statusCode() < HttpStatus.OK.value()
-                || response.statusCode() >= HttpStatus.MULTIPLE_CHOICES.value()) {
-                throw new IOException("S3 put failed with status " + response.statusCode() + ": " + response.body());
-            }
-
-            final HttpHeaders headers = response.headers();
-            return new S3PutResponse(headers.firstValue("ETag").orElse(""));
-        } catch (final InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new IOException("S3 PUT interrupted for path: " + path, e);
-        }
+        return requestBuilder.PUT(HttpRequest.BodyPublishers.ofByteArray(payload)).build();
     }
 
 }
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2026 Rahim Alizada
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jyvee.spring.webstorage.provider.s3;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Adaptive (AIMD) token bucket limiting the request rate to one key prefix of a bucket. The rate is halved when S3
+ * signals throttling and grows back linearly while requests succeed, so sustained load settles just below the rate
+ * the endpoint accepts instead of oscillating between bursts and SlowDown storms.
+ */
+final class S3RateLimiter {
+
+    static final double MIN_RATE = 1;
+
+    static final double DECREASE_FACTOR = 0.5;
+
+    /** Share of the maximum rate added back per increase step */
+    static final double INCREASE_STEP = 0.01;
+
+    private static final long INCREASE_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /** Throttled responses of requests sent before the last decrease do not decrease the rate again */
+    private static final long DECREASE_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    /** Unused for that long, a lowered rate is outdated, S3 has scaled the prefix or the load has moved */
+    private static final long STALE_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    private final double maxRate;
+
+    private final LongSupplier nanoClock;
+
+    private double rate;
+
+    private double tokens;
+
+    private long lastRefill;
+
+    private long lastIncrease;
+
+    private long lastDecrease;
+
+    private long lastUse;
+
+    S3RateLimiter(final double maxRate) {
+        this(maxRate, System::nanoTime);
+    }
+
+    S3RateLimiter(final double maxRate, final LongSupplier nanoClock) {
+        this.maxRate = Math.max(MIN_RATE, maxRate);
+        this.nanoClock = nanoClock;
+        this.rate = this.maxRate;
+        this.tokens = this.maxRate;
+        final long now = nanoClock.getAsLong();
+        this.lastRefill = now;
+        this.lastIncrease = now;
+        this.lastDecrease = now - DECREASE_INTERVAL_NANOS;
+        this.lastUse = now;
+    }
+
+    /**
+     * Takes a permit, borrowing it from the future when the bucket is empty.
+     *
+     * @return nanoseconds the caller should wait before sending the request, 0 if it may be sent right away
+     */
+    synchronized long reserve() {
+        refill();
+        this.lastUse = this.lastRefill;
+        this.tokens -= 1;
+        return this.tokens >= 0 ? 0 : (long) Math.ceil(-this.tokens / this.rate * NANOS_PER_SECOND);
+    }
+
+    /**
+     * Takes a permit only if one is available right away, used for optional requests such as hedges.
+     *
+     * @return true if the permit has been taken
+     */
+    synchronized boolean tryAcquire() {
+        refill();
+        this.lastUse = this.lastRefill;
+        if (this.tokens < 1) {
+            return false;
+        }
+        this.tokens -= 1;
+        return true;
+    }
+
+    /** Grows the rate back towards the maximum after a request which was not throttled */
+    synchronized void onSuccess() {
+        if (this.rate >= this.maxRate) {
+            return;
+        }
+        final long now = this.nanoClock.getAsLong();
+        if (now - this.lastIncrease >= INCREASE_INTERVAL_NANOS) {
+            refill();
+            this.rate = Math.min(this.maxRate, this.rate + Math.max(MIN_RATE, this.maxRate * INCREASE_STEP));
+            this.lastIncrease = now;
+        }
+    }
+
+    /**
+     * Cuts the rate after S3 throttled a request.
+     *
+     * @return true if the rate has been decreased, false if a recent decrease already accounted for the throttling
+     */
+    synchronized boolean onThrottle() {
+        final long now = this.nanoClock.getAsLong();
+        if (now - this.lastDecrease < DECREASE_INTERVAL_NANOS) {
+            return false;
+        }
+        refill();
+        this.rate = Math.max(MIN_RATE, this.rate * DECREASE_FACTOR);
+        // Drop the burst allowance so the new rate takes effect immediately
+        this.tokens = Math.min(this.tokens, 0);
+        this.lastDecrease = now;
+        this.lastIncrease = now;
+        return true;
+    }
+
+    synchronized double getRate() {
+        return this.rate;
+    }
+
+    /**
+     * @return true if the limiter can be dropped: its bucket is full at the maximum rate, so it behaves like a new
+     *     one, or it has not been used for a long time
+     */
+    synchronized boolean isExpired() {
+        refill();
+        return this.rate >= this.maxRate && this.tokens >= this.rate
+               || this.nanoClock.getAsLong() - this.lastUse >= STALE_NANOS;
+    }
+
+    private void refill() {
+        final long now = this.nanoClock.getAsLong();
+        final long elapsed = now - this.lastRefill;
+        if (elapsed > 0) {
+            // The burst allowance is one second worth of requests at the current rate
+            this.tokens = Math.min(this.rate, this.tokens + elapsed / NANOS_PER_SECOND * this.rate);
+            this.lastRefill = now;
+        }
+    }
+
+}
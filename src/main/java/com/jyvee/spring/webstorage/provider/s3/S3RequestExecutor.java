@@ -0,0 +1,463 @@
+/*
+ * Copyright (c) 2026 Rahim Alizada
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jyvee.spring.webstorage.provider.s3;
+
+import com.jyvee.spring.webstorage.configuration.S3StorageConfigurationProperties;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpStatus;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Sends S3 requests on behalf of the raw clients, retrying throttled and failed attempts with exponential backoff and
+ * full jitter. One instance is shared by all clients of the same configuration, so the retry budget and the metrics
+ * are per storage, and is dropped once the configuration is no longer referenced. Every attempt also passes through
+ * the adaptive rate limiter of the key prefix it targets, which slows down when S3 starts throttling. Read attempts
+ * may be hedged: when the response does not arrive within the hedge delay, a duplicate request is sent and whichever
+ * usable response comes first is used.
+ * <p>
+ * To keep an unhealthy endpoint from blocking every request thread, an optional bulkhead caps the number of attempts in
+ * flight per storage, a request waiting to retry gives its permit back, and an optional circuit breaker fails attempts
+ * fast while the recent error or slow call rate is too high. Throttled attempts do not count towards the error rate,
+ * the rate limiter backs off from them instead.
+ */
+@Slf4j
+final class S3RequestExecutor {
+
+    /**
+     * Executors by configuration, weakly referenced so an executor goes away with its configuration. Keyed on the
+     * configuration itself rather than the storage ID, two configurations of the same storage may differ in their
+     * retry, rate limiting or circuit breaker settings.
+     */
+    private static final Map<S3StorageConfigurationProperties, S3RequestExecutor> EXECUTORS =
+        Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static final int MAX_BACKOFF_SHIFT = 30;
+
+    private static final HttpResponse.BodyHandler<String> BODY_HANDLER =
+        HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8);
+
+    /** Hedge budget units, every hedgeable request earns the configured percentage of one hedge */
+    private static final int HEDGE_COST = 100;
+
+    private static final int MAX_HEDGE_BURST = 10;
+
+    private static final long RATE_LIMITER_EXPIRY_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final int maxAttempts;
+
+    private final long baseDelayMillis;
+
+    private final long maxDelayMillis;
+
+    private final S3RetryBudget retryBudget;
+
+    private final int maxRequestRate;
+
+    /** Rate limiters by key prefix, the expired ones are dropped every minute so the map follows the active prefixes */
+    private final ConcurrentMap<String, S3RateLimiter> rateLimiters = new ConcurrentHashMap<>();
+
+    private final AtomicLong lastRateLimiterExpiry = new AtomicLong(System.nanoTime());
+
+    private final long hedgeDelayNanos;
+
+    private final int hedgeCredit;
+
+    private final S3RetryBudget hedgeBudget = new S3RetryBudget(HEDGE_COST * MAX_HEDGE_BURST);
+
+    @Nullable
+    private final Semaphore bulkhead;
+
+    private final long bulkheadMaxWaitNanos;
+
+    @Nullable
+    private final S3CircuitBreaker circuitBreaker;
+
+    @Getter
+    private final S3ClientMetrics metrics = new S3ClientMetrics();
+
+    S3RequestExecutor(final S3StorageConfigurationProperties configuration) {
+        this.maxAttempts = Math.max(1, configuration.getMaxAttempts());
+        this.baseDelayMillis = configuration.getRetryBaseDelay().toMillis();
+        this.maxDelayMillis = configuration.getRetryMaxDelay().toMillis();
+        this.retryBudget = new S3RetryBudget(configuration.getRetryBudget());
+        this.maxRequestRate = configuration.getMaxRequestRate();
+        this.hedgeDelayNanos = configuration.getHedgeDelay().toNanos();
+        this.hedgeCredit = Math.min(HEDGE_COST, configuration.getMaxHedgePercent());
+        this.bulkhead = configuration.getMaxConcurrentRequests() > 0
+            ? new Semaphore(configuration.getMaxConcurrentRequests())
+            : null;
+        this.bulkheadMaxWaitNanos = configuration.getBulkheadMaxWait().toNanos();
+        this.circuitBreaker = configuration.getCircuitBreakerFailureRate() > 0
+                              || configuration.getCircuitBreakerSlowCallRate() > 0
+            ? new S3CircuitBreaker(configuration.getCircuitBreakerFailureRate(),
+                configuration.getCircuitBreakerSlowCallRate(),
+                configuration.getCircuitBreakerSlowCallDuration().toNanos(),
+                configuration.getCircuitBreakerOpenDuration().toNanos())
+            : null;
+    }
+
+    static S3RequestExecutor get(final S3StorageConfigurationProperties configuration) {
+        return EXECUTORS.computeIfAbsent(configuration, S3RequestExecutor::new);
+    }
+
+    /**
+     * Sends a request, retrying it while the failure is transient and attempts and retry budget remain.
+     *
+     * @param httpClient     HTTP client
+     * @param operation      kind of the request
+     * @param path           object key or prefix the request targets, selects the rate limiter
+     * @param requestBuilder builds and signs a new request for every attempt, since the signature covers x-amz-date
+     * @return the last received response, which may still have a non-2xx status
+     * @throws IOException          if the last attempt failed without a response, or the bulkhead or the circuit
+     *                              breaker rejected the request
+     * @throws InterruptedException if interrupted while sending or waiting to retry
+     */
+    HttpResponse<String> send(final HttpClient httpClient, final S3Operation operation, final String path,
+                              final Supplier<HttpRequest> requestBuilder) throws IOException, InterruptedException {
+        this.metrics.recordRequest();
+        final S3RateLimiter rateLimiter = getRateLimiter(path);
+        int attempt = 1;
+        while (true) {
+            acquireCircuitBreaker(operation);
+            throttle(rateLimiter);
+            acquireBulkhead(operation);
+            this.metrics.recordAttempt();
+            final long start = System.nanoTime();
+            final HttpResponse<String> response;
+            try {
+                response = sendAttempt(httpClient, operation, rateLimiter, requestBuilder);
+            } catch (final IOException ex) {
+                recordOutcome(true, start);
+                if (!operation.isIdempotent() || !canRetry(attempt, retryCost(ex))) {
+                    throw ex;
+                }
+                backoff(operation, attempt, ex.toString());
+                attempt++;
+                continue;
+            } catch (final InterruptedException | RuntimeException ex) {
+                if (this.circuitBreaker != null) {
+                    this.circuitBreaker.onIgnored();
+                }
+                throw ex;
+            }
+            if (isThrottledStatus(response.statusCode())) {
+                // Throttling is the rate limiter's job, counting it as a failure would let a burst open the circuit
+                if (this.circuitBreaker != null) {
+                    this.circuitBreaker.onIgnored();
+                }
+                if (rateLimiter != null && rateLimiter.onThrottle()) {
+                    this.metrics.recordRateDecrease();
+                    log.debug("S3 throttled requests to prefix '{}', request rate lowered to {}/s", prefixOf(path),
+                        rateLimiter.getRate());
+                }
+            } else {
+                recordOutcome(isServerFailure(response.statusCode()), start);
+                if (rateLimiter != null) {
+                    rateLimiter.onSuccess();
+                }
+            }
+
+            if (!isRetryableStatus(operation, response.statusCode())) {
+                if (attempt == 1) {
+                    this.retryBudget.release(S3RetryBudget.SUCCESS_REFUND);
+                } else if (isSuccessful(response.statusCode())) {
+                    this.retryBudget.release(S3RetryBudget.RETRY_COST);
+                }
+                return response;
+            }
+            if (!canRetry(attempt, S3RetryBudget.RETRY_COST)) {
+                return response;
+            }
+            backoff(operation, attempt, "status " + response.statusCode());
+            attempt++;
+        }
+    }
+
+    /** Sends one attempt, holding a bulkhead permit only while it is in flight */
+    private HttpResponse<String> sendAttempt(final HttpClient httpClient, final S3Operation operation,
+                                             @Nullable final S3RateLimiter rateLimiter,
+                                             final Supplier<HttpRequest> requestBuilder)
+        throws IOException, InterruptedException {
+        try {
+            return isHedgingEnabled(operation)
+                ? sendHedged(httpClient, rateLimiter, requestBuilder)
+                : httpClient.send(requestBuilder.get(), BODY_HANDLER);
+        } finally {
+            if (this.bulkhead != null) {
+                this.bulkhead.release();
+            }
+        }
+    }
+
+    private void acquireBulkhead(final S3Operation operation) throws IOException, InterruptedException {
+        if (this.bulkhead == null) {
+            return;
+        }
+        boolean acquired = false;
+        try {
+            acquired = this.bulkhead.tryAcquire(this.bulkheadMaxWaitNanos, TimeUnit.NANOSECONDS);
+        } finally {
+            if (!acquired && this.circuitBreaker != null) {
+                // The attempt is not sent, its circuit breaker permission goes back unused
+                this.circuitBreaker.onIgnored();
+            }
+        }
+        if (!acquired) {
+            this.metrics.recordBulkheadRejected();
+            throw new IOException(
+                "S3 " + operation.getLabel() + " rejected: too many concurrent requests to the storage");
+        }
+    }
+
+    private void acquireCircuitBreaker(final S3Operation operation) throws IOException {
+        if (this.circuitBreaker != null && !this.circuitBreaker.tryAcquire()) {
+            this.metrics.recordCircuitBreakerRejected();
+            throw new IOException("S3 " + operation.getLabel() + " rejected: circuit breaker is open");
+        }
+    }
+
+    private void recordOutcome(final boolean failed, final long start) {
+        if (this.circuitBreaker != null && this.circuitBreaker.onResult(failed, System.nanoTime() - start)) {
+            this.metrics.recordCircuitBreakerOpened();
+            log.warn("S3 circuit breaker opened, requests to the storage fail fast for a while");
+        }
+    }
+
+    @Nullable
+    S3CircuitBreaker.State getCircuitBreakerState() {
+        return this.circuitBreaker == null ? null : this.circuitBreaker.getState();
+    }
+
+    private boolean isHedgingEnabled(final S3Operation operation) {
+        return operation.isHedgeable() && this.hedgeDelayNanos > 0 && this.hedgeCredit > 0;
+    }
+
+    /**
+     * Sends a request and, if it is still pending after the hedge delay and the hedge rate allows it, a duplicate
+     * one. The first response that is not worth retrying wins and the other exchange is cancelled. A throttled or
+     * failed attempt waits for the other one, it is only returned if both fail.
+     */
+    private HttpResponse<String> sendHedged(final HttpClient httpClient, @Nullable final S3RateLimiter rateLimiter,
+                                            final Supplier<HttpRequest> requestBuilder)
+        throws IOException, InterruptedException {
+        this.hedgeBudget.release(this.hedgeCredit);
+        final CompletableFuture<HttpResponse<String>> primary =
+            httpClient.sendAsync(requestBuilder.get(), BODY_HANDLER);
+        CompletableFuture<HttpResponse<String>> hedge = null;
+        try {
+            try {
+                return primary.get(this.hedgeDelayNanos, TimeUnit.NANOSECONDS);
+            } catch (final TimeoutException _) {
+                // Slow response, hedge below
+            }
+            if ((rateLimiter != null && !rateLimiter.tryAcquire()) || !this.hedgeBudget.tryAcquire(HEDGE_COST)) {
+                return primary.get();
+            }
+            this.metrics.recordHedge();
+            hedge = httpClient.sendAsync(requestBuilder.get(), BODY_HANDLER);
+            final HttpResponse<String> response = firstSuccessful(primary, hedge).get();
+            if (hedge.isDone() && !hedge.isCompletedExceptionally() && hedge.getNow(null) == response) {
+                this.metrics.recordHedgeWin();
+            }
+            return response;
+        } catch (final ExecutionException ex) {
+            if (ex.getCause() instanceof final IOException cause) {
+                throw cause;
+            }
+            throw new IOException("S3 request failed", ex.getCause());
+        } finally {
+            primary.cancel(true);
+            if (hedge != null) {
+                hedge.cancel(true);
+            }
+        }
+    }
+
+    private static <B> CompletableFuture<HttpResponse<B>> firstSuccessful(
+        final CompletableFuture<HttpResponse<B>> first, final CompletableFuture<HttpResponse<B>> second) {
+        final CompletableFuture<HttpResponse<B>> result = new CompletableFuture<>();
+        final BiConsumer<HttpResponse<B>, Throwable> completion = (response, ex) -> {
+            if (ex == null && isFinalStatus(response.statusCode())) {
+                result.complete(response);
+            } else if (first.isDone() && second.isDone()) {
+                // The other attempt may be final but not seen yet, otherwise the retries handle the response, or the
+                // failure if both attempts failed
+                final HttpResponse<B> firstResponse = responseOf(first);
+                final HttpResponse<B> secondResponse = responseOf(second);
+                final HttpResponse<B> fallback = secondResponse != null
+                                                 && (firstResponse == null
+                                                     || isFinalStatus(secondResponse.statusCode()))
+                    ? secondResponse
+                    : firstResponse;
+                if (fallback != null) {
+                    result.complete(fallback);
+                } else {
+                    result.completeExceptionally(ex);
+                }
+            }
+        };
+        first.whenComplete(completion);
+        second.whenComplete(completion);
+        return result;
+    }
+
+    /** @return response of a completed attempt, null if the attempt failed */
+    @Nullable
+    private static <B> HttpResponse<B> responseOf(final CompletableFuture<HttpResponse<B>> attempt) {
+        return attempt.isCompletedExceptionally() ? null : attempt.join();
+    }
+
+    /**
+     * Computes the full jitter delay before the given retry: a random value between zero and the exponentially
+     * growing, capped backoff.
+     *
+     * @param attempt number of the attempt that has just failed, starting from 1
+     * @return delay before the next attempt
+     */
+    Duration backoffDelay(final int attempt) {
+        final int shift = Math.min(attempt - 1, MAX_BACKOFF_SHIFT);
+        final long exponential = this.baseDelayMillis << shift;
+        final long cap = exponential < 0 || exponential > this.maxDelayMillis ? this.maxDelayMillis : exponential;
+        return Duration.ofMillis(cap <= 0 ? 0 : ThreadLocalRandom.current().nextLong(cap + 1));
+    }
+
+    /**
+     * Returns the rate limiter of the key prefix, S3 scales its request rate limits per prefix.
+     *
+     * @param path object key or prefix
+     * @return shared rate limiter, null if rate limiting is disabled
+     */
+    @Nullable
+    S3RateLimiter getRateLimiter(final String path) {
+        if (this.maxRequestRate <= 0) {
+            return null;
+        }
+        final long now = System.nanoTime();
+        final long lastExpiry = this.lastRateLimiterExpiry.get();
+        if (now - lastExpiry >= RATE_LIMITER_EXPIRY_INTERVAL_NANOS
+            && this.lastRateLimiterExpiry.compareAndSet(lastExpiry, now)) {
+            expireRateLimiters();
+        }
+        return this.rateLimiters.computeIfAbsent(prefixOf(path), _ -> new S3RateLimiter(this.maxRequestRate));
+    }
+
+    /** Drops the rate limiters which behave like new ones or have not been used for a long time */
+    void expireRateLimiters() {
+        this.rateLimiters.values().removeIf(S3RateLimiter::isExpired);
+    }
+
+    /**
+     * Returns the first segment of the key, keys without a directory share the bucket level limiter.
+     *
+     * @param path object key or prefix
+     * @return key prefix
+     */
+    static String prefixOf(final String path) {
+        final String key = S3ClientUtils.stripLeadingSlash(path);
+        final int slashIndex = key.indexOf('/');
+        return slashIndex < 0 ? "" : key.substring(0, slashIndex);
+    }
+
+    static boolean isRetryableStatus(final S3Operation operation, final int statusCode) {
+        if (isThrottledStatus(statusCode)) {
+            return true;
+        }
+        // The request may have been processed, so only repeat it if that is harmless
+        return operation.isIdempotent() && (statusCode == HttpStatus.INTERNAL_SERVER_ERROR.value()
+                                            || statusCode == HttpStatus.BAD_GATEWAY.value()
+                                            || statusCode == HttpStatus.GATEWAY_TIMEOUT.value());
+    }
+
+    private static boolean isThrottledStatus(final int statusCode) {
+        // SlowDown / Too Many Requests: the request was rejected before being processed
+        return statusCode == HttpStatus.SERVICE_UNAVAILABLE.value()
+               || statusCode == HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    private void throttle(@Nullable final S3RateLimiter rateLimiter) throws InterruptedException {
+        if (rateLimiter == null) {
+            return;
+        }
+        final long delayNanos = rateLimiter.reserve();
+        if (delayNanos > 0) {
+            this.metrics.recordRateLimited(delayNanos);
+            TimeUnit.NANOSECONDS.sleep(delayNanos);
+        }
+    }
+
+    private boolean canRetry(final int attempt, final int cost) {
+        if (attempt >= this.maxAttempts) {
+            this.metrics.recordRetriesExhausted();
+            return false;
+        }
+        if (!this.retryBudget.tryAcquire(cost)) {
+            this.metrics.recordRetryBudgetExhausted();
+            return false;
+        }
+        return true;
+    }
+
+    private void backoff(final S3Operation operation, final int attempt, final String reason)
+        throws InterruptedException {
+        final Duration delay = backoffDelay(attempt);
+        log.debug("Retrying S3 {} (attempt {} of {}) in {} ms after {}", operation.getLabel(), attempt + 1,
+            this.maxAttempts, delay.toMillis(), reason);
+        this.metrics.recordRetry();
+        Thread.sleep(delay);
+    }
+
+    private static int retryCost(final IOException ex) {
+        return ex instanceof HttpTimeoutException ? S3RetryBudget.TIMEOUT_RETRY_COST : S3RetryBudget.RETRY_COST;
+    }
+
+    /** @return true if the response is successful, a redirect or a client error other than throttling */
+    private static boolean isFinalStatus(final int statusCode) {
+        return !isThrottledStatus(statusCode) && !isServerFailure(statusCode);
+    }
+
+    private static boolean isServerFailure(final int statusCode) {
+        return statusCode >= HttpStatus.INTERNAL_SERVER_ERROR.value() && !isThrottledStatus(statusCode);
+    }
+
+    private static boolean isSuccessful(final int statusCode) {
+        return statusCode >= HttpStatus.OK.value() && statusCode < HttpStatus.MULTIPLE_CHOICES.value();
+    }
+
+}
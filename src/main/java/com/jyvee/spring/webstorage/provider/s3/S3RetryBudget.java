@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2026 Rahim Alizada
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jyvee.spring.webstorage.provider.s3;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Token bucket limiting the share of extra requests per storage. Every retry withdraws tokens and every successful
+ * request returns some, so a sustained outage quickly stops retrying instead of multiplying the load. A separate
+ * instance caps the share of hedged requests the same way.
+ */
+final class S3RetryBudget {
+
+    static final int RETRY_COST = 5;
+
+    static final int TIMEOUT_RETRY_COST = 10;
+
+    static final int SUCCESS_REFUND = 1;
+
+    private final int capacity;
+
+    private final AtomicInteger tokens;
+
+    S3RetryBudget(final int capacity) {
+        this.capacity = capacity;
+        this.tokens = new AtomicInteger(capacity);
+    }
+
+    boolean tryAcquire(final int cost) {
+        while (true) {
+            final int current = this.tokens.get();
+            if (current < cost) {
+                return false;
+            }
+            if (this.tokens.compareAndSet(current, current - cost)) {
+                return true;
+            }
+        }
+    }
+
+    void release(final int amount) {
+        this.tokens.accumulateAndGet(amount, (current, added) -> Math.min(this.capacity, current + added));
+    }
+
+    int available() {
+        return this.tokens.get();
+    }
+
+}
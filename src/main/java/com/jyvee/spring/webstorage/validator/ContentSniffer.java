@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2026 Rahim Alizada
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jyvee.spring.webstorage.validator;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Detects the content type of a payload from its leading bytes. The known signatures are compiled once into a trie,
+ * so a lookup reads each leading byte once regardless of the number of signatures.
+ */
+@SuppressWarnings({"checkstyle:MagicNumber", "MagicNumber"})
+final class ContentSniffer {
+
+    /** Wildcard byte of a signature */
+    private static final int ANY = -1;
+
+    private static final List<Signature> SIGNATURES = List.of(
+        new Signature("FF D8 FF", "image/jpeg", Set.of("image/jpeg", "image/jpg", "image/pjpeg")),
+        new Signature("89 50 4E 47 0D 0A 1A 0A", "image/png", Set.of("image/png")),
+        new Signature("47 49 46 38 37 61", "image/gif", Set.of("image/gif")),
+        new Signature("47 49 46 38 39 61", "image/gif", Set.of("image/gif")),
+        new Signature("52 49 46 46 ?? ?? ?? ?? 57 45 42 50", "image/webp", Set.of("image/webp")),
+        new Signature("52 49 46 46 ?? ?? ?? ?? 57 41 56 45", "audio/wav", Set.of("audio/wav", "audio/x-wav")),
+        new Signature("49 49 2A 00", "image/tiff", Set.of("image/tiff")),
+        new Signature("4D 4D 00 2A", "image/tiff", Set.of("image/tiff")),
+        new Signature("42 4D", "image/bmp", Set.of("image/bmp", "image/x-ms-bmp")),
+        new Signature("25 50 44 46 2D", "application/pdf", Set.of("application/pdf")),
+        // ISO base media files start with the size of the ftyp box, its type, then the major brand telling MP4 from
+        // its relatives. Other brands, like isom or mp42, are MP4.
+        new Signature("?? ?? ?? ?? 66 74 79 70", "video/mp4", Set.of("video/mp4", "audio/mp4")),
+        brand("M4A ", "audio/mp4", Set.of("audio/mp4", "audio/x-m4a")),
+        brand("M4B ", "audio/mp4", Set.of("audio/mp4", "audio/x-m4a")),
+        brand("qt  ", "video/quicktime", Set.of("video/quicktime")),
+        brand("heic", "image/heic", Set.of("image/heic", "image/heif")),
+        brand("heix", "image/heic", Set.of("image/heic", "image/heif")),
+        brand("mif1", "image/heif", Set.of("image/heif", "image/heic", "image/avif")),
+        brand("msf1", "image/heif", Set.of("image/heif", "image/heic", "image/avif")),
+        brand("avif", "image/avif", Set.of("image/avif")),
+        brand("avis", "image/avif", Set.of("image/avif")),
+        // Older QuickTime files have no ftyp box and start with another atom
+        new Signature("?? ?? ?? ?? 6D 6F 6F 76", "video/quicktime", Set.of("video/quicktime")),
+        new Signature("?? ?? ?? ?? 6D 64 61 74", "video/quicktime", Set.of("video/quicktime")),
+        new Signature("?? ?? ?? ?? 77 69 64 65", "video/quicktime", Set.of("video/quicktime")),
+        new Signature("?? ?? ?? ?? 66 72 65 65", "video/quicktime", Set.of("video/quicktime")),
+        new Signature("?? ?? ?? ?? 73 6B 69 70", "video/quicktime", Set.of("video/quicktime")),
+        // EBML header shared by WebM and Matroska
+        new Signature("1A 45 DF A3", "video/webm", Set.of("video/webm", "audio/webm", "video/x-matroska")),
+        new Signature("4F 67 67 53", "audio/ogg", Set.of("audio/ogg", "video/ogg", "application/ogg")),
+        // MP3 files start with an ID3 tag or directly with a frame: 11 sync bits, then MPEG 1, 2 or 2.5 layer III,
+        // with or without CRC
+        new Signature("49 44 33", "audio/mpeg", Set.of("audio/mpeg")),
+        new Signature("FF FB", "audio/mpeg", Set.of("audio/mpeg")),
+        new Signature("FF FA", "audio/mpeg", Set.of("audio/mpeg")),
+        new Signature("FF F3", "audio/mpeg", Set.of("audio/mpeg")),
+        new Signature("FF F2", "audio/mpeg", Set.of("audio/mpeg")),
+        new Signature("FF E3", "audio/mpeg", Set.of("audio/mpeg")),
+        new Signature("FF E2", "audio/mpeg", Set.of("audio/mpeg")),
+        new Signature("50 4B 03 04", "application/zip", Set.of("application/zip")),
+        new Signature("1F 8B", "application/gzip", Set.of("application/gzip", "application/x-gzip")));
+
+    /** Length of the longest signature, the number of leading bytes a detection needs */
+    static final int MAX_SIGNATURE_LENGTH =
+        SIGNATURES.stream().mapToInt(signature -> signature.bytes().length).max().orElse(0);
+
+    private static final Node ROOT = new Node();
+
+    /** Content types claimed by some signature, a payload declaring one of them must match a signature */
+    private static final Set<String> SNIFFABLE_CONTENT_TYPES = new HashSet<>();
+
+    static {
+        for (final Signature signature : SIGNATURES) {
+            Node node = ROOT;
+            for (final int value : signature.bytes()) {
+                node = node.child(value);
+            }
+            node.signature = signature;
+            SNIFFABLE_CONTENT_TYPES.addAll(signature.contentTypes());
+        }
+    }
+
+    private ContentSniffer() {}
+
+    /** @return signature of an ISO base media file with the given major brand */
+    private static Signature brand(final String brand, final String contentType, final Set<String> contentTypes) {
+        final StringBuilder pattern = new StringBuilder("?? ?? ?? ?? 66 74 79 70");
+        for (final char value : brand.toCharArray()) {
+            pattern.append(' ').append(String.format("%02X", (int) value));
+        }
+        return new Signature(pattern.toString(), contentType, contentTypes);
+    }
+
+    /**
+     * Detects the content type of a payload
+     *
+     * @param payload file content, only the first bytes are read
+     * @return longest matching signature, null if no signature matches
+     */
+    static @Nullable Signature detect(final byte[] payload) {
+        return detect(ROOT, payload, 0);
+    }
+
+    /**
+     * @param contentType sanitized content type
+     * @return true if files of the content type have a known signature
+     */
+    static boolean isSniffable(final String contentType) {
+        return SNIFFABLE_CONTENT_TYPES.contains(contentType);
+    }
+
+    private static @Nullable Signature detect(final Node node, final byte[] payload, final int offset) {
+        Signature longest = null;
+        if (offset < payload.length) {
+            final Node exact = node.children == null ? null : node.children[payload[offset] & 0xff];
+            if (exact != null) {
+                longest = detect(exact, payload, offset + 1);
+            }
+            if (longest == null && node.any != null) {
+                longest = detect(node.any, payload, offset + 1);
+            }
+        }
+        return longest != null ? longest : node.signature;
+    }
+
+    /**
+     * File signature
+     *
+     * @param pattern      space separated hex bytes, {@code ??} matches any byte
+     * @param contentType  detected content type
+     * @param contentTypes content types a matching file may declare
+     */
+    record Signature(String pattern, String contentType, Set<String> contentTypes) {
+
+        int[] bytes() {
+            return Arrays
+                .stream(this.pattern.split(" "))
+                .mapToInt(value -> "??".equals(value) ? ANY : Integer.parseInt(value, 16))
+                .toArray();
+        }
+
+    }
+
+    private static final class Node {
+
+        private Node @Nullable [] children;
+
+        @Nullable
+        private Node any;
+
+        @Nullable
+        private Signature signature;
+
+        private Node child(final int value) {
+            if (value == ANY) {
+                if (this.any == null) {
+                    this.any = new Node();
+                }
+                return this.any;
+            }
+            if (this.children == null) {
+                this.children = new Node[256];
+            }
+            if (this.children[value] == null) {
+                this.children[value] = new Node();
+            }
+            return this.children[value];
+        }
+
+    }
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023-2025 Rahim Alizada
+ * Copyright (c) 2023-2026 Rahim Alizada
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,10 +20,17 @@ import lombok.extern.slf4j.Slf4j;
 
 import javax.imageio.ImageIO;
 import javax.imageio.ImageReader;
+import javax.imageio.spi.ImageReaderSpi;
 import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 final class ImageUtil {
@@ -33,24 +40,108 @@ final class ImageUtil {
         System.setProperty("sun.java2d.cmm", "sun.java2d.cmm.kcms.KcmsServiceProvider");
     }
 
+    /** Maximum number of idle readers kept per content type */
+    private static final int MAX_IDLE_READERS = 8;
+
+    /** Reader providers by content type, scanning the plugin registry on every upload is comparatively slow */
+    private static final Map<String, ImageReaderSpi> PROVIDERS = new ConcurrentHashMap<>();
+
+    private static final Map<ImageReaderSpi, BlockingQueue<ImageReader>> IDLE_READERS = new ConcurrentHashMap<>();
+
     private ImageUtil() {}
 
+    /**
+     * Creates a reader for the content type
+     *
+     * @param contentType image content type
+     * @return new reader, disposed by the caller
+     * @throws IOException if there is no reader for the content type
+     */
     static ImageReader getReader(final String contentType) throws IOException {
-        if (ImageIO.getImageReadersByMIMEType(contentType).hasNext()) {
-            return ImageIO.getImageReadersByMIMEType(contentType).next();
-        }
-        throw new IOException("Image reader for content type '" + contentType + "' was not found");
+        return getProvider(contentType).createReaderInstance();
+    }
+
+    /**
+     * Reads the image dimensions from its header, without decoding the pixels
+     *
+     * @param bytes       image content
+     * @param contentType image content type
+     * @return image size
+     * @throws IOException if the content is not a readable image of the content type
+     */
+    static ImageSize readSize(final byte[] bytes, final String contentType) throws IOException {
+        return read(bytes, contentType, true,
+            imageReader -> new ImageSize(imageReader.getWidth(0), imageReader.getHeight(0)));
     }
 
     static BufferedImage toBufferedImage(final byte[] bytes, final String contentType) throws IOException {
-        final ImageReader imageReader = ImageUtil.getReader(contentType);
-        try (final ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(bytes);
-             final ImageInputStream imageInputStream = ImageIO.createImageInputStream(byteArrayInputStream)) {
-            imageReader.setInput(imageInputStream, false, false);
-            return imageReader.read(0);
+        return read(bytes, contentType, false, imageReader -> imageReader.read(0));
+    }
+
+    private static <T> T read(final byte[] bytes, final String contentType, final boolean headerOnly,
+                              final ReaderFunction<T> function) throws IOException {
+        final ImageReaderSpi provider = getProvider(contentType);
+        final ImageReader imageReader = borrowReader(provider);
+        boolean reusable = false;
+        // The payload is already in memory, ImageIO.createImageInputStream would cache it again in a temporary file
+        try (final ImageInputStream imageInputStream = new MemoryCacheImageInputStream(
+            new ByteArrayInputStream(bytes))) {
+            imageReader.setInput(imageInputStream, headerOnly, headerOnly);
+            final T result = function.apply(imageReader);
+            reusable = true;
+            return result;
         } finally {
+            returnReader(provider, imageReader, reusable);
+        }
+    }
+
+    private static ImageReaderSpi getProvider(final String contentType) throws IOException {
+        final ImageReaderSpi cached = PROVIDERS.get(contentType);
+        if (cached != null) {
+            return cached;
+        }
+        final Iterator<ImageReader> imageReaders = ImageIO.getImageReadersByMIMEType(contentType);
+        if (imageReaders.hasNext()) {
+            final ImageReader imageReader = imageReaders.next();
+            final ImageReaderSpi provider = imageReader.getOriginatingProvider();
             imageReader.dispose();
+            if (provider != null) {
+                // Unknown content types are not cached, they come from clients and would grow the map without bound
+                PROVIDERS.putIfAbsent(contentType, provider);
+                return PROVIDERS.get(contentType);
+            }
         }
+        throw new IOException("Image reader for content type '" + contentType + "' was not found");
+    }
+
+    private static ImageReader borrowReader(final ImageReaderSpi provider) throws IOException {
+        final ImageReader imageReader = idleReaders(provider).poll();
+        return imageReader != null ? imageReader : provider.createReaderInstance();
     }
 
+    private static void returnReader(final ImageReaderSpi provider, final ImageReader imageReader,
+                                     final boolean reusable) {
+        // A reader which failed may hold a broken decoder state, it is replaced instead of being reset
+        if (reusable) {
+            imageReader.reset();
+            if (idleReaders(provider).offer(imageReader)) {
+                return;
+            }
+        }
+        imageReader.dispose();
+    }
+
+    private static BlockingQueue<ImageReader> idleReaders(final ImageReaderSpi provider) {
+        return IDLE_READERS.computeIfAbsent(provider, _ -> new ArrayBlockingQueue<>(MAX_IDLE_READERS));
+    }
+
+    @FunctionalInterface
+    private interface ReaderFunction<T> {
+
+        T apply(ImageReader imageReader) throws IOException;
+
+    }
+
+    record ImageSize(int width, int height) {}
+
 }
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2026 Rahim Alizada
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jyvee.spring.webstorage.validator;
+
+import com.jyvee.spring.webstorage.configuration.StorageConfigurationProperties;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Rejects files whose leading bytes do not match their declared content type, before the image validator hands them
+ * to a decoder of the declared type. Content types without a known signature, like text, are not checked.
+ */
+@Lazy
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@ConditionalOnBean(StorageConfigurationProperties.class)
+class StorageContentSniffingValidator implements StorageValidator {
+
+    @Override
+    public Map<String, String> validate(@NotNull final Object configuration, @NotBlank final String contentType,
+                                        @NotNull final byte[] payload) {
+        return configuration instanceof final StorageContentTypeValidatorConfiguration validatorConfiguration
+            && validatorConfiguration.isContentSniffingEnabled() ? validateInternal(contentType, payload) : Map.of();
+    }
+
+    @Override
+    public Map<String, String> validate(@NotNull final Object configuration, @NotBlank final String contentType,
+                                        @NotNull final StoragePayload payload) throws IOException {
+        return configuration instanceof final StorageContentTypeValidatorConfiguration validatorConfiguration
+            && validatorConfiguration.isContentSniffingEnabled() ? validateInternal(contentType,
+            payload.peek(ContentSniffer.MAX_SIGNATURE_LENGTH)) : Map.of();
+    }
+
+    @Override
+    public Cost getCost() {
+        return Cost.MEDIUM;
+    }
+
+    private static Map<String, String> validateInternal(final String contentType, final byte[] payload) {
+        final String sanitizedContentType = StorageContentTypeValidator.sanitizeContentType(contentType);
+        if (!ContentSniffer.isSniffable(sanitizedContentType)) {
+            return Map.of();
+        }
+        final ContentSniffer.Signature signature = ContentSniffer.detect(payload);
+        if (signature == null || !signature.contentTypes().contains(sanitizedContentType)) {
+            throw new IllegalArgumentException("Content does not match the content type");
+        }
+        return Map.of("detectedContentType", signature.contentType());
+    }
+
+}
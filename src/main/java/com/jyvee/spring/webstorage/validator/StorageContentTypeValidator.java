@@ -30,7 +30,7 @@ import java.util.Map;
 
 @Lazy
 @Component
-@Order(Ordered.HIGHEST_PRECEDENCE)
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
 @ConditionalOnBean(StorageConfigurationProperties.class)
 class StorageContentTypeValidator implements StorageValidator {
 
@@ -41,12 +41,16 @@ class StorageContentTypeValidator implements StorageValidator {
             ? validateInternal(validatorConfiguration, contentType) : Map.of();
     }
 
+    @Override
+    public Map<String, String> validate(@NotNull final Object configuration, @NotBlank final String contentType,
+                                        @NotNull final StoragePayload payload) {
+        return configuration instanceof final StorageContentTypeValidatorConfiguration validatorConfiguration
+            ? validateInternal(validatorConfiguration, contentType) : Map.of();
+    }
+
     private static Map<String, String> validateInternal(
         final StorageContentTypeValidatorConfiguration validatorConfiguration, final String contentType) {
-        final String sanitizedContentType = contentType.indexOf(';') != -1 ? contentType
-            .substring(0, contentType.indexOf(';'))
-            .strip()
-            .toLowerCase(Locale.ENGLISH) : contentType.strip().toLowerCase(Locale.ENGLISH);
+        final String sanitizedContentType = sanitizeContentType(contentType);
 
         if (validatorConfiguration.getContentTypes() != null && !validatorConfiguration
             .getContentTypes()
@@ -56,4 +60,15 @@ class StorageContentTypeValidator implements StorageValidator {
         return Map.of();
     }
 
+    /**
+     * @param contentType content type, optionally with parameters
+     * @return lowercase content type without parameters
+     */
+    static String sanitizeContentType(final String contentType) {
+        return contentType.indexOf(';') != -1 ? contentType
+            .substring(0, contentType.indexOf(';'))
+            .strip()
+            .toLowerCase(Locale.ENGLISH) : contentType.strip().toLowerCase(Locale.ENGLISH);
+    }
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023-2025 Rahim Alizada
+ * Copyright (c) 2023-2026 Rahim Alizada
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,4 +25,14 @@ public interface StorageContentTypeValidatorConfiguration {
 
     @Nullable Set<String> getContentTypes();
 
+    /**
+     * Whether the declared content type is checked against the leading bytes of the file, so a file declared as an
+     * image, video or document with a known signature is rejected unless its content matches.
+     *
+     * @return true if the content is sniffed
+     */
+    default boolean isContentSniffingEnabled() {
+        return false;
+    }
+
 }
@@ -19,7 +19,6 @@ package com.jyvee.spring.webstorage.validator;
 import com.jyvee.spring.webstorage.configuration.StorageConfigurationProperties;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
-import org.jspecify.annotations.Nullable;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.core.annotation.Order;
@@ -35,52 +34,91 @@ import java.util.Map;
 @ConditionalOnBean(StorageConfigurationProperties.class)
 class StorageImageValidator implements StorageValidator {
 
+    /** Number of leading bytes usually holding the image dimensions */
+    private static final int HEADER_LENGTH = 64 * 1024;
+
     @Override
     public Map<String, String> validate(@NotNull final Object configuration, @NotBlank final String contentType,
                                         @NotNull final byte[] payload) {
+        return configuration instanceof final StorageImageValidatorConfiguration validatorConfiguration
+            ? validateInternal(validatorConfiguration, contentType, StoragePayload.of(payload)) : Map.of();
+    }
+
+    @Override
+    public Map<String, String> validate(@NotNull final Object configuration, @NotBlank final String contentType,
+                                        @NotNull final StoragePayload payload) {
         return configuration instanceof final StorageImageValidatorConfiguration validatorConfiguration
             ? validateInternal(validatorConfiguration, contentType, payload) : Map.of();
     }
 
+    @Override
+    public Cost getCost() {
+        return Cost.HIGH;
+    }
+
     private static Map<String, String> validateInternal(final StorageImageValidatorConfiguration validatorConfiguration,
-                                                        final String contentType, @NotNull final byte[] payload) {
+                                                        final String contentType, final StoragePayload payload) {
         if (validatorConfiguration.getMinWidth() == null && validatorConfiguration.getMinHeight() == null
-            && validatorConfiguration.getMaxWidth() == null && validatorConfiguration.getMaxHeight() == null) {
+            && validatorConfiguration.getMaxWidth() == null && validatorConfiguration.getMaxHeight() == null
+            && validatorConfiguration.getMaxPixels() == null) {
             return Map.of();
         }
         try {
-            return checkImage(contentType, payload, validatorConfiguration.getMinWidth(),
-                validatorConfiguration.getMinHeight(), validatorConfiguration.getMaxWidth(),
-                validatorConfiguration.getMaxHeight());
+            // The declared dimensions are checked before any pixel is decoded, a small file may declare a huge image
+            final ImageUtil.ImageSize declaredSize = readSize(contentType, payload);
+            checkImage(declaredSize, validatorConfiguration);
+            final ImageUtil.ImageSize imageSize = validatorConfiguration.isFullDecodeRequired()
+                ? decodeSize(contentType, payload.readAllBytes()) : declaredSize;
+            return Map.of("width", String.valueOf(imageSize.width()), "height", String.valueOf(imageSize.height()));
         } catch (final IOException e) {
             throw new IllegalArgumentException("Invalid image file", e);
         }
     }
 
-    private static Map<String, String> checkImage(final String contentType, final byte[] payload,
-                                                  @Nullable final Integer minWidth, @Nullable final Integer minHeight,
-                                                  @Nullable final Integer maxWidth, @Nullable final Integer maxHeight)
+    private static ImageUtil.ImageSize readSize(final String contentType, final StoragePayload payload)
         throws IOException {
+        final byte[] header = payload.peek(HEADER_LENGTH);
+        try {
+            return ImageUtil.readSize(header, contentType);
+        } catch (final IOException e) {
+            if (header.length < HEADER_LENGTH) {
+                throw e;
+            }
+            // The header does not fit in the peeked bytes, like a JPEG with large metadata segments before the frame
+            return ImageUtil.readSize(payload.readAllBytes(), contentType);
+        }
+    }
 
+    private static ImageUtil.ImageSize decodeSize(final String contentType, final byte[] payload)
+        throws IOException {
         final BufferedImage bufferedImage = ImageUtil.toBufferedImage(payload, contentType);
-        if (minWidth != null && bufferedImage.getWidth() < minWidth) {
+        return new ImageUtil.ImageSize(bufferedImage.getWidth(), bufferedImage.getHeight());
+    }
+
+    private static void checkImage(final ImageUtil.ImageSize imageSize,
+                                   final StorageImageValidatorConfiguration validatorConfiguration) {
+        final Integer minWidth = validatorConfiguration.getMinWidth();
+        final Integer minHeight = validatorConfiguration.getMinHeight();
+        final Integer maxWidth = validatorConfiguration.getMaxWidth();
+        final Integer maxHeight = validatorConfiguration.getMaxHeight();
+        final Long maxPixels = validatorConfiguration.getMaxPixels();
+
+        if (minWidth != null && imageSize.width() < minWidth) {
             throw new IllegalArgumentException("Image width is too small");
         }
-        if (minHeight != null && bufferedImage.getHeight() < minHeight) {
+        if (minHeight != null && imageSize.height() < minHeight) {
             throw new IllegalArgumentException("Image height is too small");
         }
 
-        if (maxWidth != null && bufferedImage.getWidth() > maxWidth) {
+        if (maxWidth != null && imageSize.width() > maxWidth) {
             throw new IllegalArgumentException("Image width is too big");
         }
-        if (maxHeight != null && bufferedImage.getHeight() > maxHeight) {
+        if (maxHeight != null && imageSize.height() > maxHeight) {
             throw new IllegalArgumentException("Image height is too big");
         }
-
-        return Map.of("width", String.valueOf(bufferedImage.getWidth()), "height",
-            String.valueOf(bufferedImage.getHeight()));
-
-        // return Map.of();
+        if (maxPixels != null && (long) imageSize.width() * imageSize.height() > maxPixels) {
+            throw new IllegalArgumentException("Image resolution is too big");
+        }
     }
 
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023-2025 Rahim Alizada
+ * Copyright (c) 2023-2026 Rahim Alizada
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -28,4 +28,24 @@ public interface StorageImageValidatorConfiguration {
 
     @Nullable Integer getMaxHeight();
 
+    /**
+     * Maximum number of pixels (width times height). Checked against the dimensions declared in the image header, so
+     * decompression bombs are rejected before their pixels are decoded.
+     *
+     * @return maximum number of pixels, null for no limit
+     */
+    default @Nullable Long getMaxPixels() {
+        return null;
+    }
+
+    /**
+     * Whether images are fully decoded on validation instead of reading their dimensions from the header. Decoding
+     * also rejects images with corrupt pixel data, at the cost of allocating the whole raster.
+     *
+     * @return true if images are fully decoded
+     */
+    default boolean isFullDecodeRequired() {
+        return false;
+    }
+
 }
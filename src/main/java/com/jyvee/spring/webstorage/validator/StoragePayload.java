@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2026 Rahim Alizada
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jyvee.spring.webstorage.validator;
+
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * File content read lazily from a stream. Validators {@link #peek(int) peek} at the bytes they need, so a file can be
+ * rejected after reading its first kilobytes, and only the validators needing the whole content read all of it. The
+ * peeked bytes are kept, so every validator sees the content from its start. Methods are synchronized, validators
+ * running concurrently may share an instance.
+ */
+public final class StoragePayload {
+
+    private static final int INITIAL_BUFFER_SIZE = 8 * 1024;
+
+    private static final int MAX_BUFFER_SIZE = Integer.MAX_VALUE - 8;
+
+    @Nullable
+    private final InputStream inputStream;
+
+    private final long length;
+
+    private byte[] buffer;
+
+    private int buffered;
+
+    private boolean complete;
+
+    private StoragePayload(@Nullable final InputStream inputStream, final long length, final byte[] buffer,
+                           final boolean complete) {
+        this.inputStream = inputStream;
+        this.length = length;
+        this.buffer = buffer;
+        this.buffered = complete ? buffer.length : 0;
+        this.complete = complete;
+    }
+
+    public static StoragePayload of(final byte[] payload) {
+        return new StoragePayload(null, payload.length, payload, true);
+    }
+
+    /**
+     * Wraps a stream, which is read on demand and not closed
+     *
+     * @param inputStream content stream
+     * @param length      content length, negative if unknown
+     * @return payload
+     */
+    public static StoragePayload of(final InputStream inputStream, final long length) {
+        return new StoragePayload(inputStream, length < 0 ? -1 : length, new byte[0], false);
+    }
+
+    /** @return content length, -1 if unknown until the whole content is read */
+    public long getLength() {
+        return this.length;
+    }
+
+    /**
+     * Reads the first bytes of the content
+     *
+     * @param maxLength maximum number of bytes
+     * @return first {@code maxLength} bytes, or the whole content if it is shorter, not to be modified
+     * @throws IOException if the stream cannot be read or is longer than its declared length
+     */
+    public synchronized byte[] peek(final int maxLength) throws IOException {
+        fill(maxLength);
+        if (this.complete && this.buffered <= maxLength) {
+            return readAllBytes();
+        }
+        return Arrays.copyOf(this.buffer, Math.min(maxLength, this.buffered));
+    }
+
+    /**
+     * Reads the whole content
+     *
+     * @return content, the same array on every call, not to be modified
+     * @throws IOException if the stream cannot be read or its length differs from the declared one
+     */
+    public synchronized byte[] readAllBytes() throws IOException {
+        fill(Integer.MAX_VALUE);
+        if (this.buffer.length != this.buffered) {
+            this.buffer = Arrays.copyOf(this.buffer, this.buffered);
+        }
+        return this.buffer;
+    }
+
+    private void fill(final int minLength) throws IOException {
+        if (this.complete || this.buffered >= minLength || this.inputStream == null) {
+            return;
+        }
+        while (this.buffered < minLength) {
+            if (this.buffered == this.buffer.length) {
+                this.buffer = Arrays.copyOf(this.buffer, nextBufferSize());
+            }
+            final int read = this.inputStream.read(this.buffer, this.buffered, this.buffer.length - this.buffered);
+            if (read == -1) {
+                this.complete = true;
+                break;
+            }
+            this.buffered += read;
+            if (this.length >= 0 && this.buffered > this.length) {
+                throw new IOException("Content is longer than its declared length " + this.length);
+            }
+        }
+        if (this.complete && this.length >= 0 && this.buffered != this.length) {
+            throw new IOException("Content is shorter than its declared length " + this.length);
+        }
+    }
+
+    private int nextBufferSize() throws IOException {
+        if (this.buffer.length >= MAX_BUFFER_SIZE) {
+            throw new IOException("Content is too large");
+        }
+        // Grows by doubling, a known length caps the buffer at one byte more, enough to detect a longer stream
+        final long doubled = Math.max(INITIAL_BUFFER_SIZE, this.buffer.length * 2L);
+        final long capped = this.length >= 0 ? Math.min(doubled, this.length + 1) : doubled;
+        return (int) Math.min(capped, MAX_BUFFER_SIZE);
+    }
+
+}
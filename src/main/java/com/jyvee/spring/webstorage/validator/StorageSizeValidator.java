@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023-2025 Rahim Alizada
+ * Copyright (c) 2023-2026 Rahim Alizada
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,6 +25,7 @@ import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
 import java.util.Map;
 
 @Lazy
@@ -37,16 +38,35 @@ class StorageSizeValidator implements StorageValidator {
     public Map<String, String> validate(@NotNull final Object configuration, @NotBlank final String contentType,
                                         @NotNull final byte[] payload) {
         return configuration instanceof final StorageSizeValidatorConfiguration validatorConfiguration
-            ? validateInternal(validatorConfiguration, payload) : Map.of();
+            ? validateInternal(validatorConfiguration, payload.length) : Map.of();
+    }
+
+    @Override
+    public Map<String, String> validate(@NotNull final Object configuration, @NotBlank final String contentType,
+                                        @NotNull final StoragePayload payload) throws IOException {
+        return configuration instanceof final StorageSizeValidatorConfiguration validatorConfiguration
+            ? validateInternal(validatorConfiguration, size(validatorConfiguration, payload)) : Map.of();
+    }
+
+    private static long size(final StorageSizeValidatorConfiguration validatorConfiguration,
+                             final StoragePayload payload) throws IOException {
+        if (payload.getLength() >= 0) {
+            return payload.getLength();
+        }
+        // Without a declared length, reading one byte past the maximum size is enough to reject the file
+        final Long maxSize = validatorConfiguration.getMaxSize();
+        final Long minSize = validatorConfiguration.getMinSize();
+        final long limit = maxSize != null ? maxSize + 1 : minSize != null ? minSize : 0;
+        return payload.peek((int) Math.min(limit, Integer.MAX_VALUE - 8)).length;
     }
 
     private static Map<String, String> validateInternal(final StorageSizeValidatorConfiguration validatorConfiguration,
-                                                        final byte[] payload) {
-        if (validatorConfiguration.getMaxSize() != null && payload.length > validatorConfiguration.getMaxSize()) {
+                                                        final long size) {
+        if (validatorConfiguration.getMaxSize() != null && size > validatorConfiguration.getMaxSize()) {
             throw new IllegalArgumentException("File size is too big");
         }
 
-        if (validatorConfiguration.getMinSize() != null && payload.length < validatorConfiguration.getMinSize()) {
+        if (validatorConfiguration.getMinSize() != null && size < validatorConfiguration.getMinSize()) {
             throw new IllegalArgumentException("File size is too small");
         }
         return Map.of();
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2026 Rahim Alizada
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jyvee.spring.webstorage.validator;
+
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs validators from the cheapest to the most expensive one, see {@link StorageValidator#getCost()}, and stops at
+ * the first rejection, so a file failing a size or content type check is never decoded. With an executor, expensive
+ * validators run concurrently once all cheaper ones have passed. Metadata is merged in validator order either way.
+ */
+public final class StorageValidationEngine {
+
+    private final List<StorageValidator> validators;
+
+    @Nullable
+    private final Executor executor;
+
+    private final Map<Class<?>, ValidatorMetrics> metrics = new ConcurrentHashMap<>();
+
+    public StorageValidationEngine(final List<StorageValidator> validators) {
+        this(validators, null);
+    }
+
+    /**
+     * @param validators validators, validators of the same cost run in the given order
+     * @param executor   executor running expensive validators concurrently, null runs all validators sequentially
+     */
+    public StorageValidationEngine(final List<StorageValidator> validators, @Nullable final Executor executor) {
+        this.validators = validators.stream().sorted(Comparator.comparing(StorageValidator::getCost)).toList();
+        this.executor = executor;
+    }
+
+    /**
+     * Validates a file.
+     *
+     * @param configuration file type configuration
+     * @param contentType   content type of the file
+     * @param payload       file content
+     * @return metadata collected by the validators
+     * @throws IllegalArgumentException if any validator rejects the file
+     */
+    public Map<String, String> validate(final Object configuration, final String contentType, final byte[] payload) {
+        try {
+            return validate(configuration, contentType, StoragePayload.of(payload));
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Validates a file whose content may still be streamed, validators read only as much of it as they need
+     *
+     * @param configuration file type configuration
+     * @param contentType   content type of the file
+     * @param payload       file content
+     * @return metadata collected by the validators
+     * @throws IOException              if the content cannot be read
+     * @throws IllegalArgumentException if any validator rejects the file
+     */
+    public Map<String, String> validate(final Object configuration, final String contentType,
+                                        final StoragePayload payload) throws IOException {
+        final Map<String, String> metadata = new LinkedHashMap<>();
+        final List<StorageValidator> expensiveValidators = new ArrayList<>();
+        for (final StorageValidator validator : this.validators) {
+            if (this.executor != null && validator.getCost() == StorageValidator.Cost.HIGH) {
+                expensiveValidators.add(validator);
+            } else {
+                metadata.putAll(run(validator, configuration, contentType, payload));
+            }
+        }
+        if (expensiveValidators.size() == 1) {
+            metadata.putAll(run(expensiveValidators.getFirst(), configuration, contentType, payload));
+        } else if (!expensiveValidators.isEmpty()) {
+            metadata.putAll(runConcurrently(expensiveValidators, configuration, contentType, payload));
+        }
+        return metadata;
+    }
+
+    /** @return validators in execution order */
+    public List<StorageValidator> getValidators() {
+        return this.validators;
+    }
+
+    /** @return timings of every validator which has run, by validator class */
+    public Map<Class<?>, ValidatorMetrics> getMetrics() {
+        return Map.copyOf(this.metrics);
+    }
+
+    private Map<String, String> runConcurrently(final List<StorageValidator> expensiveValidators,
+                                                final Object configuration, final String contentType,
+                                                final StoragePayload payload) throws IOException {
+        final List<CompletableFuture<Map<String, String>>> futures = expensiveValidators
+            .stream()
+            .map(validator -> CompletableFuture.supplyAsync(() -> {
+                try {
+                    return run(validator, configuration, contentType, payload);
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, this.executor))
+            .toList();
+        final CompletableFuture<Void> failed = new CompletableFuture<>();
+        // Fail as soon as any validator rejects the file instead of waiting for the slower ones
+        futures.forEach(future -> future.exceptionally(e -> {
+            failed.completeExceptionally(e);
+            return null;
+        }));
+        try {
+            CompletableFuture.anyOf(CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)), failed).join();
+        } catch (final CompletionException | CancellationException e) {
+            futures.forEach(future -> future.cancel(true));
+            final Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof final UncheckedIOException uncheckedIOException) {
+                throw uncheckedIOException.getCause();
+            }
+            if (cause instanceof final RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Validation failed", cause);
+        }
+        final Map<String, String> metadata = new LinkedHashMap<>();
+        futures.forEach(future -> metadata.putAll(future.join()));
+        return metadata;
+    }
+
+    private Map<String, String> run(final StorageValidator validator, final Object configuration,
+                                    final String contentType, final StoragePayload payload) throws IOException {
+        final ValidatorMetrics validatorMetrics =
+            this.metrics.computeIfAbsent(validator.getClass(), _ -> new ValidatorMetrics());
+        final long start = System.nanoTime();
+        boolean rejected = true;
+        try {
+            final Map<String, String> metadata = validator.validate(configuration, contentType, payload);
+            rejected = false;
+            return metadata;
+        } finally {
+            validatorMetrics.record(System.nanoTime() - start, rejected);
+        }
+    }
+
+    /** Invocation counters and total duration of one validator */
+    public static final class ValidatorMetrics {
+
+        private final LongAdder invocations = new LongAdder();
+
+        private final LongAdder rejections = new LongAdder();
+
+        private final LongAdder totalNanos = new LongAdder();
+
+        private void record(final long nanos, final boolean rejected) {
+            this.invocations.increment();
+            this.totalNanos.add(nanos);
+            if (rejected) {
+                this.rejections.increment();
+            }
+        }
+
+        /** @return number of validated files */
+        public long getInvocations() {
+            return this.invocations.sum();
+        }
+
+        /** @return number of rejected files */
+        public long getRejections() {
+            return this.rejections.sum();
+        }
+
+        /** @return total validation time in nanoseconds */
+        public long getTotalNanos() {
+            return this.totalNanos.sum();
+        }
+
+    }
+
+}
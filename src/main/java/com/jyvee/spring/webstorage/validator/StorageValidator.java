@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023-2025 Rahim Alizada
+ * Copyright (c) 2023-2026 Rahim Alizada
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,6 +19,7 @@ package com.jyvee.spring.webstorage.validator;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
+import java.io.IOException;
 import java.util.Map;
 
 @FunctionalInterface
@@ -26,4 +27,41 @@ public interface StorageValidator {
 
     Map<String, String> validate(@NotNull Object configuration, @NotBlank String contentType, @NotNull byte[] payload);
 
+    /**
+     * Validates a file whose content may still be streamed. Validators reading only the first bytes, or none, override
+     * this method so invalid files are rejected before the whole content is read, the default reads all of it.
+     *
+     * @param configuration file type configuration
+     * @param contentType   content type of the file
+     * @param payload       file content
+     * @return metadata of the file
+     * @throws IOException if the content cannot be read
+     */
+    default Map<String, String> validate(@NotNull final Object configuration, @NotBlank final String contentType,
+                                         @NotNull final StoragePayload payload) throws IOException {
+        return validate(configuration, contentType, payload.readAllBytes());
+    }
+
+    /**
+     * Cost of a validation, cheaper validators run first so an invalid file is rejected before expensive checks
+     *
+     * @return validation cost
+     */
+    default Cost getCost() {
+        return Cost.LOW;
+    }
+
+    enum Cost {
+
+        /** Checks of the size, content type or other properties known without reading the payload */
+        LOW,
+
+        /** Checks reading the payload or its header */
+        MEDIUM,
+
+        /** Checks decoding the payload */
+        HIGH
+
+    }
+
 }
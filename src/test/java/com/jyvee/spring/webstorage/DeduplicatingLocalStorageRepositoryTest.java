@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2026 Rahim Alizada
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jyvee.spring.webstorage;
+
+import com.jyvee.spring.test.webstorage.LocalStorageRepository;
+import com.jyvee.spring.test.webstorage.TestApplication;
+import com.jyvee.spring.test.webstorage.WebFile;
+import com.jyvee.spring.test.webstorage.WebFileType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+
+@SpringBootTest(classes = TestApplication.class)
+class DeduplicatingLocalStorageRepositoryTest {
+
+    @Autowired
+    private LocalStorageRepository repository;
+
+    @DynamicPropertySource
+    static void setProperties(final DynamicPropertyRegistry registry) throws IOException {
+        final String path = Files.createTempDirectory("").toString();
+        registry.add("web-storage.local.endpoint", () -> "https://s3.url/local");
+        registry.add("web-storage.local.path", () -> path);
+        registry.add("web-storage.local.deduplicate", () -> "true");
+    }
+
+    @BeforeEach
+    void beforeEach() throws IOException {
+        this.repository.delete(this.repository.list("test/files/temp_path"));
+    }
+
+    @Test
+    void saveByFileType_identicalContent_existingFileReturned() throws IOException {
+        final WebFile saved = this.repository.save(WebFileType.VALID_TEXT, "temp-path/test.txt", "text/plain",
+            "Test".getBytes(StandardCharsets.UTF_8), Map.of("key", "value"));
+        final WebFile duplicate = this.repository.save(WebFileType.VALID_TEXT, "temp-path/test.txt", "text/plain",
+            "Test".getBytes(StandardCharsets.UTF_8), Map.of("key", "other"));
+
+        Assertions.assertTrue(this.repository.getConfiguration().isDeduplicationEnabled());
+        Assertions.assertEquals(saved.getPath(), duplicate.getPath());
+        Assertions.assertEquals(saved.getChecksum(), duplicate.getChecksum());
+        Assertions.assertEquals("value", duplicate.getMetadata().get("key"));
+    }
+
+    @Test
+    void saveByFileType_differentContent_fileSaved() throws IOException {
+        final WebFile saved = this.repository.save(WebFileType.VALID_TEXT, "temp-path/test.txt", "text/plain",
+            "Test".getBytes(StandardCharsets.UTF_8), Map.of("key", "value"));
+        final WebFile other = this.repository.save(WebFileType.VALID_TEXT, "temp-path/test.txt", "text/plain",
+            "Other".getBytes(StandardCharsets.UTF_8), Map.of("key", "other"));
+
+        Assertions.assertNotEquals(saved.getPath(), other.getPath());
+        Assertions.assertEquals("other", other.getMetadata().get("key"));
+        Assertions.assertEquals(2, this.repository.list("test/files/temp_path").size());
+    }
+
+}
@@ -40,6 +40,7 @@ abstract class StorageRepositoryTest {
     @BeforeEach
     void beforeEach() throws IOException {
         this.repository.delete(this.repository.list("temp-path"));
+        this.repository.delete(this.repository.list("test/files/temp_path"));
         this.repository.delete(this.repository.list("_temp_path"));
         this.repository.delete("temp-path");
         this.repository.delete("_temp-path");
@@ -67,6 +68,18 @@ abstract class StorageRepositoryTest {
             .equals(Instant.now()) || saved.getTimestamp().isBefore(Instant.now()));
     }
 
+    @Test
+    void saveByFileType_identicalContent_fileReplaced() throws IOException {
+        final WebFile saved = this.repository.save(WebFileType.VALID_TEXT, "temp-path/test.txt", "text/plain",
+            "Test".getBytes(StandardCharsets.UTF_8), Map.of("key", "value"));
+        final WebFile replaced = this.repository.save(WebFileType.VALID_TEXT, "temp-path/test.txt", "text/plain",
+            "Test".getBytes(StandardCharsets.UTF_8), Map.of("key", "other"));
+
+        Assertions.assertFalse(this.repository.getConfiguration().isDeduplicationEnabled());
+        Assertions.assertEquals(saved.getPath(), replaced.getPath());
+        Assertions.assertEquals("other", replaced.getMetadata().get("key"));
+    }
+
     @Test
     void saveMultipart_validArgs_Ok() throws IOException {
         Assertions.assertThrows(IllegalArgumentException.class,
@@ -100,7 +113,7 @@ abstract class StorageRepositoryTest {
 
     @Test
     void service_validArgs_validatorsExist() {
-        Assertions.assertEquals(3, this.repository.getValidators().size());
+        Assertions.assertEquals(4, this.repository.getValidators().size());
     }
 
 }
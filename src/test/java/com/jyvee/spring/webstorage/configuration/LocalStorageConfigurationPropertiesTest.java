@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023-2025 Rahim Alizada
+ * Copyright (c) 2023-2026 Rahim Alizada
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -46,6 +46,13 @@ class LocalStorageConfigurationPropertiesTest {
     void testMethod() {
         Assertions.assertEquals(basePath, this.config.getPath().toString());
         Assertions.assertEquals("https://s3.url/local", this.config.getEndpoint().toString());
+        Assertions.assertFalse(this.config.isDeduplicationEnabled());
+        Assertions.assertEquals(LocalStorageConfigurationProperties.Durability.NONE, this.config.getDurability());
+        Assertions.assertEquals("www-data", this.config.getOwner());
+        Assertions.assertEquals("www-data", this.config.getGroup());
+        Assertions.assertEquals("rwxr-xr-x", this.config.getPermissions());
+        Assertions.assertEquals(LocalStorageConfigurationProperties.MetadataStore.EXTENDED_ATTRIBUTES,
+            this.config.getMetadataStore());
     }
 
 }
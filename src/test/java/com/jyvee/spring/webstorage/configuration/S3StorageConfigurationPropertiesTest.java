@@ -25,6 +25,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
+import java.time.Duration;
 
 @SpringBootTest(classes = TestApplication.class,
     properties = "web-storage.s3.uri=https://s3.url/?region=REGION&bucket=BUCKET&key=KEY&secret=SECRET&endpoint=https"
@@ -44,6 +45,53 @@ class S3StorageConfigurationPropertiesTest {
         Assertions.assertEquals("https://site.url", this.config.getEndpoint().toString());
     }
 
+    @Test
+    void parser_retryParameters_parsedOrDefault() {
+        Assertions.assertEquals(S3StorageConfigurationProperties.DEFAULT_MAX_ATTEMPTS, this.config.getMaxAttempts());
+        Assertions.assertEquals(S3StorageConfigurationProperties.DEFAULT_RETRY_BASE_DELAY,
+            this.config.getRetryBaseDelay());
+        Assertions.assertEquals(S3StorageConfigurationProperties.DEFAULT_RETRY_MAX_DELAY,
+            this.config.getRetryMaxDelay());
+        Assertions.assertEquals(S3StorageConfigurationProperties.DEFAULT_RETRY_BUDGET, this.config.getRetryBudget());
+        Assertions.assertEquals(S3StorageConfigurationProperties.DEFAULT_MAX_REQUEST_RATE,
+            this.config.getMaxRequestRate());
+        Assertions.assertEquals(Duration.ZERO, this.config.getHedgeDelay());
+        Assertions.assertEquals(S3StorageConfigurationProperties.DEFAULT_MAX_HEDGE_PERCENT,
+            this.config.getMaxHedgePercent());
+        Assertions.assertEquals(0, this.config.getMaxConcurrentRequests());
+        Assertions.assertEquals(0, this.config.getCircuitBreakerFailureRate());
+        Assertions.assertEquals(0, this.config.getCircuitBreakerSlowCallRate());
+        Assertions.assertFalse(this.config.isDeduplicationEnabled());
+
+        final S3StorageConfigurationProperties parsed = new S3StorageConfigurationPropertiesImpl(URI.create(
+            buildUri("REGION", "BUCKET", "KEY", "SECRET", "https://site.url")
+            + "&maxAttempts=5&retryBaseDelay=50ms&retryMaxDelay=2s&retryBudget=10&maxRequestRate=100"
+            + "&hedgeDelay=200ms&maxHedgePercent=10&maxConcurrentRequests=8&bulkheadMaxWait=1s"
+            + "&circuitBreakerFailureRate=20&circuitBreakerSlowCallRate=0&circuitBreakerSlowCallDuration=3s"
+            + "&circuitBreakerOpenDuration=1m&deduplicate=true"));
+        Assertions.assertEquals(5, parsed.getMaxAttempts());
+        Assertions.assertEquals(Duration.ofMillis(50), parsed.getRetryBaseDelay());
+        Assertions.assertEquals(Duration.ofSeconds(2), parsed.getRetryMaxDelay());
+        Assertions.assertEquals(10, parsed.getRetryBudget());
+        Assertions.assertEquals(100, parsed.getMaxRequestRate());
+        Assertions.assertEquals(Duration.ofMillis(200), parsed.getHedgeDelay());
+        Assertions.assertEquals(10, parsed.getMaxHedgePercent());
+        Assertions.assertEquals(8, parsed.getMaxConcurrentRequests());
+        Assertions.assertEquals(Duration.ofSeconds(1), parsed.getBulkheadMaxWait());
+        Assertions.assertEquals(20, parsed.getCircuitBreakerFailureRate());
+        Assertions.assertEquals(0, parsed.getCircuitBreakerSlowCallRate());
+        Assertions.assertEquals(Duration.ofSeconds(3), parsed.getCircuitBreakerSlowCallDuration());
+        Assertions.assertEquals(Duration.ofMinutes(1), parsed.getCircuitBreakerOpenDuration());
+        Assertions.assertTrue(parsed.isDeduplicationEnabled());
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new S3StorageConfigurationPropertiesImpl(
+            URI.create(buildUri("REGION", "BUCKET", "KEY", "SECRET", "https://site.url") + "&maxAttempts=0")));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new S3StorageConfigurationPropertiesImpl(
+            URI.create(buildUri("REGION", "BUCKET", "KEY", "SECRET", "https://site.url") + "&retryMaxDelay=soon")));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new S3StorageConfigurationPropertiesImpl(
+            URI.create(buildUri("REGION", "BUCKET", "KEY", "SECRET", "https://site.url") + "&deduplicate=yes")));
+    }
+
     @Test
     @SuppressWarnings("DataFlowIssue")
     void parser_InvalidURI_Exception() {
@@ -29,6 +29,7 @@ import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @Setter
 abstract class AbstractStorageProviderTest {
@@ -133,8 +134,38 @@ abstract class AbstractStorageProviderTest {
         Assertions.assertTrue(this.provider.list("temp_path/collection").isEmpty());
     }
 
+    @Test
+    void exists_savedAndDeletedFiles_reported() throws IOException {
+        saveTestFile("temp-path/exists.txt");
+        Assertions.assertTrue(this.provider.exists("temp-path/exists.txt"));
+        Assertions.assertFalse(this.provider.exists("temp_path"));
+        Assertions.assertFalse(this.provider.exists("temp_path/missing.txt"));
+
+        Assertions.assertEquals(Map.of("temp_path/exists.txt", true, "temp_path/missing.txt", false),
+            this.provider.existsAll(List.of("temp_path/exists.txt", "temp_path/missing.txt", "temp_path/exists.txt")));
+
+        this.provider.delete("temp_path/exists.txt");
+        Assertions.assertFalse(this.provider.exists("temp_path/exists.txt"));
+    }
+
+    @Test
+    void findIdentical_savedFile_foundOnlyForSameContent() throws IOException {
+        saveTestFile("temp-path/identical.txt");
+
+        final Optional<WebFile> identical = this.provider.findIdentical("temp-path/identical.txt", digests("Test"));
+        Assertions.assertTrue(identical.isPresent());
+        Assertions.assertEquals("0cbc6611f5540bd0809a388dc95a615b", identical.get().getChecksum());
+        Assertions.assertEquals("value", identical.get().getMetadata().get("key"));
+        Assertions.assertTrue(this.provider.findIdentical("temp-path/identical.txt", digests("Tset")).isEmpty());
+        Assertions.assertTrue(this.provider.findIdentical("temp-path/missing.txt", digests("Test")).isEmpty());
+    }
+
     private WebFile saveTestFile(final String path) throws IOException {
         return this.provider.save(path, "text/plain", "Test".getBytes(StandardCharsets.UTF_8), Map.of("key", "value"));
     }
 
+    private static PayloadDigests digests(final String payload) {
+        return PayloadDigests.of(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
 }
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2026 Rahim Alizada
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jyvee.spring.webstorage.provider;
+
+import com.jyvee.spring.test.webstorage.LocalStorageProvider;
+import com.jyvee.spring.test.webstorage.WebFile;
+import com.jyvee.spring.webstorage.configuration.LocalStorageConfigurationProperties;
+import com.jyvee.spring.webstorage.configuration.LocalStorageConfigurationPropertiesImpl;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AsyncLocalStorageProviderTest {
+
+    private LocalStorageConfigurationProperties configuration;
+
+    private AsyncLocalStorageProvider<WebFile> asyncProvider;
+
+    @BeforeAll
+    void beforeAll() throws IOException {
+        this.configuration = new LocalStorageConfigurationPropertiesImpl(URI.create("https://site.url/base"),
+            Files.createTempDirectory(""));
+        this.asyncProvider = new AsyncLocalStorageProvider<>(new LocalStorageProvider(this.configuration), 2, 16);
+    }
+
+    @AfterAll
+    void afterAll() {
+        this.asyncProvider.close();
+    }
+
+    @Test
+    void allMethods_validArgs_completed() throws Exception {
+        final WebFile saved =
+            get(this.asyncProvider.save("async/a.txt", "text/plain", bytes("Test"), Map.of("k", "v")));
+        Assertions.assertEquals(4, saved.getSize());
+
+        Assertions.assertEquals(Map.of("k", "v"), get(this.asyncProvider.load("async/a.txt")).getMetadata());
+        Assertions.assertTrue(get(this.asyncProvider.exists("async/a.txt")));
+        Assertions.assertTrue(
+            get(this.asyncProvider.findIdentical("async/a.txt", PayloadDigests.of(bytes("Test")))).isPresent());
+
+        get(this.asyncProvider.copy("async/a.txt", "async/b.txt"));
+        get(this.asyncProvider.move("async/b.txt", "async/c.txt"));
+        Assertions.assertEquals(List.of("async/a.txt", "async/c.txt"),
+            get(this.asyncProvider.list("async")).stream().sorted().toList());
+
+        get(this.asyncProvider.delete(List.of("async/a.txt", "async/c.txt")));
+        Assertions.assertEquals(List.of(), get(this.asyncProvider.list("async")));
+    }
+
+    @Test
+    void save_sidecarStoreAndFsync_savedWithoutTempFiles() throws Exception {
+        final Path basePath = Files.createTempDirectory("");
+        final LocalStorageConfigurationProperties sidecarConfiguration = LocalStorageConfigurationPropertiesImpl
+            .builder(URI.create("https://site.url/base"), basePath)
+            .durability(LocalStorageConfigurationProperties.Durability.FSYNC)
+            .metadataStore(LocalStorageConfigurationProperties.MetadataStore.SIDECAR_FILES)
+            .build();
+        final byte[] payload = new byte[1024 * 1024 + 3];
+        new Random(2).nextBytes(payload);
+        try (final AsyncLocalStorageProvider<WebFile> provider =
+                 new AsyncLocalStorageProvider<>(new LocalStorageProvider(sidecarConfiguration), 1, 4)) {
+            final WebFile saved =
+                get(provider.save("a/b/file.bin", "application/octet-stream", payload, Map.of("k", "v")));
+            Assertions.assertEquals(payload.length, saved.getSize());
+
+            Assertions.assertArrayEquals(payload, Files.readAllBytes(basePath.resolve("a/b/file.bin")));
+            Assertions.assertEquals(Map.of("k", "v"), get(provider.load("a/b/file.bin")).getMetadata());
+            try (final Stream<Path> files = Files.list(basePath.resolve("a/b"))) {
+                Assertions.assertEquals(List.of(".file.bin.attributes", "file.bin"),
+                    files.map(file -> file.getFileName().toString()).sorted().toList());
+            }
+        }
+    }
+
+    @Test
+    void read_savedFile_content() throws Exception {
+        final byte[] payload = new byte[3 * 1024 * 1024 + 7];
+        new Random(1).nextBytes(payload);
+        get(this.asyncProvider.save("read/large.bin", "application/octet-stream", payload, Map.of()));
+        get(this.asyncProvider.save("read/empty.bin", "application/octet-stream", new byte[0], Map.of()));
+
+        final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        final AtomicInteger largestChunk = new AtomicInteger();
+        Assertions.assertEquals(payload.length, get(this.asyncProvider.read("read/large.bin", chunk -> {
+            largestChunk.accumulateAndGet(chunk.remaining(), Math::max);
+            final byte[] bytes = new byte[chunk.remaining()];
+            chunk.get(bytes);
+            content.writeBytes(bytes);
+        })));
+        Assertions.assertArrayEquals(payload, content.toByteArray());
+        Assertions.assertTrue(largestChunk.get() <= 64 * 1024);
+
+        Assertions.assertEquals(0,
+            get(this.asyncProvider.read("read/empty.bin", _ -> Assertions.fail("No chunk expected"))));
+    }
+
+    @Test
+    void read_failingConsumer_failed() {
+        final ExecutionException exception = Assertions.assertThrows(ExecutionException.class, () -> {
+            get(this.asyncProvider.save("read/consumed.bin", "text/plain", bytes("Test"), Map.of()));
+            get(this.asyncProvider.read("read/consumed.bin", _ -> {
+                throw new IllegalStateException("Consumer failed");
+            }));
+        });
+        Assertions.assertInstanceOf(IllegalStateException.class, exception.getCause());
+    }
+
+    @Test
+    void read_missingFileOrDirectory_noSuchFile() {
+        for (final String path : List.of("read/missing.bin", "read")) {
+            final ExecutionException exception =
+                Assertions.assertThrows(ExecutionException.class, () -> get(this.asyncProvider.read(path, _ -> {})));
+            Assertions.assertInstanceOf(NoSuchFileException.class, exception.getCause());
+        }
+        final ExecutionException exception =
+            Assertions.assertThrows(ExecutionException.class, () -> get(this.asyncProvider.load("read/missing.bin")));
+        Assertions.assertInstanceOf(NoSuchFileException.class, exception.getCause());
+    }
+
+    @Test
+    void submit_fullQueue_rejected() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final LocalStorageProvider blockingProvider = new LocalStorageProvider(this.configuration) {
+            @Override
+            public boolean exists(final String path) throws IOException {
+                started.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.exists(path);
+            }
+        };
+        try (final AsyncLocalStorageProvider<WebFile> provider =
+                 new AsyncLocalStorageProvider<>(blockingProvider, 1, 1)) {
+            final CompletableFuture<Boolean> running = provider.exists("a.txt");
+            Assertions.assertTrue(started.await(10, TimeUnit.SECONDS));
+            final CompletableFuture<Boolean> queued = provider.exists("b.txt");
+
+            final ExecutionException exception =
+                Assertions.assertThrows(ExecutionException.class, () -> get(provider.exists("c.txt")));
+            Assertions.assertInstanceOf(RejectedExecutionException.class, exception.getCause());
+
+            release.countDown();
+            Assertions.assertFalse(get(running));
+            Assertions.assertFalse(get(queued));
+        }
+    }
+
+    @Test
+    void read_fullQueue_admittedReadsCompleted() throws Exception {
+        get(this.asyncProvider.save("read/queued.bin", "application/octet-stream", bytes("Test"), Map.of()));
+        try (final AsyncLocalStorageProvider<WebFile> provider =
+                 new AsyncLocalStorageProvider<>(new LocalStorageProvider(this.configuration), 1, 1)) {
+            final List<CompletableFuture<Long>> admitted = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                // Rejected reads fail before returning, admitted ones must not be rejected later on
+                final CompletableFuture<Long> read = provider.read("read/queued.bin", _ -> {});
+                if (!read.isCompletedExceptionally()) {
+                    admitted.add(read);
+                }
+            }
+            for (final CompletableFuture<Long> read : admitted) {
+                Assertions.assertEquals(4, get(read));
+            }
+        }
+    }
+
+    private static <R> R get(final CompletableFuture<R> future) throws Exception {
+        return future.get(10, TimeUnit.SECONDS);
+    }
+
+    private static byte[] bytes(final String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2026 Rahim Alizada
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jyvee.spring.webstorage.provider;
+
+import com.jyvee.spring.test.webstorage.LocalStorageProvider;
+import com.jyvee.spring.test.webstorage.WebFile;
+import com.jyvee.spring.webstorage.configuration.LocalStorageConfigurationProperties;
+import com.jyvee.spring.webstorage.configuration.LocalStorageConfigurationPropertiesImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CachingStorageProviderTest extends AbstractStorageProviderTest {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    private LocalStorageProvider localProvider;
+
+    private CachingStorageProvider<WebFile, LocalStorageConfigurationProperties> cachingProvider;
+
+    @BeforeAll
+    void beforeAll() throws IOException {
+        final Path basePath = Files.createTempDirectory("");
+        final LocalStorageConfigurationProperties configurationProperties =
+            new LocalStorageConfigurationPropertiesImpl(URI.create("https://site.url/base"), basePath);
+        this.localProvider = new LocalStorageProvider(configurationProperties);
+        setProvider(this.localProvider);
+    }
+
+    @BeforeEach
+    void beforeEachCaching() throws IOException {
+        this.localProvider.delete(this.localProvider.list("cache"));
+        this.cachingProvider =
+            new CachingStorageProvider<>(this.localProvider, 2, Duration.ofMinutes(1), Duration.ofSeconds(1),
+                this.nanoTime::get);
+        setProvider(this.cachingProvider);
+    }
+
+    @Test
+    void load_repeatedLoads_servedFromCache() throws IOException {
+        save("cache/a.txt");
+
+        final WebFile loaded = this.cachingProvider.load("cache/a.txt");
+        Assertions.assertSame(loaded, this.cachingProvider.load("/cache/a.txt"));
+        Assertions.assertEquals(1, this.cachingProvider.getMisses());
+        Assertions.assertEquals(1, this.cachingProvider.getHits());
+    }
+
+    @Test
+    void load_ttlElapsed_reloaded() throws IOException {
+        save("cache/a.txt");
+        final WebFile loaded = this.cachingProvider.load("cache/a.txt");
+
+        this.nanoTime.addAndGet(Duration.ofMinutes(1).toNanos());
+        Assertions.assertNotSame(loaded, this.cachingProvider.load("cache/a.txt"));
+        Assertions.assertEquals(2, this.cachingProvider.getMisses());
+    }
+
+    @Test
+    void load_maxSizeReached_leastRecentlyUsedEvicted() throws IOException {
+        save("cache/a.txt");
+        save("cache/b.txt");
+        save("cache/c.txt");
+        final WebFile a = this.cachingProvider.load("cache/a.txt");
+        final WebFile b = this.cachingProvider.load("cache/b.txt");
+        this.cachingProvider.load("cache/a.txt");
+        this.cachingProvider.load("cache/c.txt");
+
+        Assertions.assertEquals(2, this.cachingProvider.getSize());
+        Assertions.assertSame(a, this.cachingProvider.load("cache/a.txt"));
+        Assertions.assertNotSame(b, this.cachingProvider.load("cache/b.txt"));
+    }
+
+    @Test
+    void load_concurrentLoads_sizeBounded() throws IOException, InterruptedException {
+        for (int i = 0; i < 8; i++) {
+            save("cache/" + i + ".txt");
+        }
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final int offset = t;
+            final Thread thread = new Thread(() -> {
+                try {
+                    for (int i = 0; i < 500; i++) {
+                        final WebFile loaded = this.cachingProvider.load("cache/" + (i + offset) % 8 + ".txt");
+                        Assertions.assertEquals(4, loaded.getSize());
+                    }
+                } catch (final IOException | RuntimeException | AssertionError e) {
+                    failure.set(e);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        Assertions.assertNull(failure.get());
+        Assertions.assertTrue(this.cachingProvider.getSize() <= 2);
+        Assertions.assertEquals(2000, this.cachingProvider.getHits() + this.cachingProvider.getMisses());
+    }
+
+    @Test
+    void save_cachedPath_invalidated() throws IOException {
+        save("cache/a.txt");
+        this.cachingProvider.load("cache/a.txt");
+
+        this.cachingProvider.save("cache/a.txt", "text/plain", "updated".getBytes(StandardCharsets.UTF_8), Map.of());
+        Assertions.assertEquals(7, this.cachingProvider.load("cache/a.txt").getSize());
+    }
+
+    @Test
+    void delete_cachedPath_invalidated() throws IOException {
+        save("cache/a.txt");
+        this.cachingProvider.load("cache/a.txt");
+
+        this.cachingProvider.delete("cache/a.txt");
+        Assertions.assertEquals(0, this.cachingProvider.getSize());
+        Assertions.assertThrows(IOException.class, () -> this.cachingProvider.load("cache/a.txt"));
+    }
+
+    @Test
+    void copy_cachedTarget_invalidated() throws IOException {
+        save("cache/a.txt");
+        this.cachingProvider.save("cache/b.txt", "text/plain", "longer".getBytes(StandardCharsets.UTF_8), Map.of());
+        this.cachingProvider.load("cache/b.txt");
+
+        this.cachingProvider.copy("cache/a.txt", "cache/b.txt");
+        Assertions.assertEquals(4, this.cachingProvider.load("cache/b.txt").getSize());
+    }
+
+    @Test
+    void exists_missingPath_cachedUntilNegativeTtlElapsed() throws IOException {
+        Assertions.assertFalse(this.cachingProvider.exists("cache/a.txt"));
+        this.localProvider.save("cache/a.txt", "text/plain", "test".getBytes(StandardCharsets.UTF_8), Map.of());
+
+        Assertions.assertFalse(this.cachingProvider.exists("cache/a.txt"));
+        Assertions.assertEquals(1, this.cachingProvider.getHits());
+
+        this.nanoTime.addAndGet(Duration.ofSeconds(1).toNanos());
+        Assertions.assertTrue(this.cachingProvider.exists("cache/a.txt"));
+    }
+
+    @Test
+    void exists_missingPathSaved_negativeEntryInvalidated() throws IOException {
+        Assertions.assertFalse(this.cachingProvider.exists("cache/a.txt"));
+        save("cache/a.txt");
+
+        Assertions.assertTrue(this.cachingProvider.exists("cache/a.txt"));
+        Assertions.assertEquals(4, this.cachingProvider.load("cache/a.txt").getSize());
+    }
+
+    @Test
+    void exists_loadedPath_servedFromCache() throws IOException {
+        save("cache/a.txt");
+        this.cachingProvider.load("cache/a.txt");
+
+        Assertions.assertTrue(this.cachingProvider.exists("cache/a.txt"));
+        Assertions.assertEquals(1, this.cachingProvider.getHits());
+    }
+
+    @Test
+    void constructor_invalidArgs_exception() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> new CachingStorageProvider<>(this.localProvider, 0, Duration.ofMinutes(1)));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> new CachingStorageProvider<>(this.localProvider, 1, Duration.ZERO));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> new CachingStorageProvider<>(this.localProvider, 1, Duration.ofMinutes(1), Duration.ofSeconds(-1)));
+    }
+
+    private void save(final String path) throws IOException {
+        this.cachingProvider.save(path, "text/plain", "test".getBytes(StandardCharsets.UTF_8), Map.of());
+    }
+
+}
@@ -74,4 +74,12 @@ class DefaultStoragePathProviderTest {
 
     }
 
+    @Test
+    void getStoragePath_precomputedDigests_samePath() {
+        final byte[] payload = "payload".getBytes(StandardCharsets.UTF_8);
+        Assertions.assertEquals("files" + RESULT_PATH,
+            this.provider.getStoragePath(Path.of("files"), Path.of("filename.ext"), payload,
+                PayloadDigests.of(payload)));
+    }
+
 }
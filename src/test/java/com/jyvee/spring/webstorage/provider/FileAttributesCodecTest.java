@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2026 Rahim Alizada
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jyvee.spring.webstorage.provider;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+class FileAttributesCodecTest {
+
+    @Test
+    void decode_encodedAttributes_sameAttributes() throws IOException {
+        final Map<String, String> metadata = new LinkedHashMap<>();
+        metadata.put("width", "1024");
+        metadata.put("title", "Fotoğraf ƏğФ");
+        metadata.put("empty", "");
+        metadata.put("long", "x".repeat(300));
+
+        final FileAttributesCodec.FileAttributes attributes = FileAttributesCodec.decode(
+            FileAttributesCodec.encode("image/png", "098f6bcd4621d373cade4e832627b4f6", metadata));
+
+        Assertions.assertEquals("image/png", attributes.contentType());
+        Assertions.assertEquals("098f6bcd4621d373cade4e832627b4f6", attributes.md5());
+        Assertions.assertEquals(metadata, attributes.metadata());
+        Assertions.assertEquals(List.of("width", "title", "empty", "long"),
+            List.copyOf(attributes.metadata().keySet()));
+    }
+
+    @Test
+    void encode_noMetadata_compact() {
+        // Version, two lengths, both strings and the metadata count
+        Assertions.assertEquals(1 + 1 + 10 + 1 + 32 + 1,
+            FileAttributesCodec.encode("text/plain", "098f6bcd4621d373cade4e832627b4f6", Map.of()).remaining());
+    }
+
+    @Test
+    void decode_malformedAttributes_exception() {
+        final ByteBuffer encoded = FileAttributesCodec.encode("text/plain", "md5", Map.of("key", "value"));
+
+        Assertions.assertThrows(IOException.class,
+            () -> FileAttributesCodec.decode(encoded.duplicate().limit(encoded.limit() - 1)));
+        final ByteBuffer trailing = ByteBuffer.allocate(encoded.remaining() + 1).put(encoded.duplicate()).put((byte) 0);
+        Assertions.assertThrows(IOException.class, () -> FileAttributesCodec.decode(trailing.flip()));
+        Assertions.assertThrows(IOException.class, () -> FileAttributesCodec.decode(ByteBuffer.wrap(new byte[] {2})));
+        Assertions.assertThrows(IOException.class, () -> FileAttributesCodec.decode(ByteBuffer.allocate(0)));
+    }
+
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2026 Rahim Alizada
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jyvee.spring.webstorage.provider;
+
+import com.jyvee.spring.test.webstorage.LocalStorageProvider;
+import com.jyvee.spring.test.webstorage.WebFile;
+import com.jyvee.spring.webstorage.configuration.LocalStorageConfigurationPropertiesImpl;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class IndexedLocalStorageProviderTest extends AbstractStorageProviderTest {
+
+    private Path basePath;
+
+    private IndexedLocalStorageProvider<WebFile> indexedProvider;
+
+    @BeforeAll
+    void beforeAll() throws IOException {
+        this.basePath = Files.createTempDirectory("");
+        Files.createDirectories(this.basePath.resolve("existing/a"));
+        Files.writeString(this.basePath.resolve("existing/a/file.txt"), "Test");
+        Files.writeString(this.basePath.resolve("existing/.file.txt.1234.tmp"), "Test");
+
+        this.indexedProvider = new IndexedLocalStorageProvider<>(new LocalStorageProvider(
+            new LocalStorageConfigurationPropertiesImpl(URI.create("https://site.url/base"), this.basePath)), true);
+        setProvider(this.indexedProvider);
+    }
+
+    @AfterAll
+    void afterAll() throws IOException {
+        this.indexedProvider.close();
+    }
+
+    @Test
+    void list_existingFiles_indexedAtStartup() throws IOException {
+        Assertions.assertEquals(List.of("existing/a/file.txt"), this.indexedProvider.list("existing"));
+    }
+
+    @Test
+    void list_providerOperations_indexUpdated() throws IOException {
+        this.indexedProvider.save("own/a.txt", "text/plain", bytes("Test"), Map.of());
+        this.indexedProvider.copy("own/a.txt", "own/b.txt");
+        // Moves do not create directories, the failed move leaves the index as it was
+        Assertions.assertThrows(NoSuchFileException.class, () -> this.indexedProvider.move("own/b.txt", "own/c/d.txt"));
+        Assertions.assertEquals(List.of("own/a.txt", "own/b.txt"),
+            this.indexedProvider.list("own").stream().sorted().toList());
+
+        Files.createDirectories(this.basePath.resolve("own/c"));
+        this.indexedProvider.move("own/b.txt", "own/c/d.txt");
+        Assertions.assertEquals(List.of("own/a.txt", "own/c/d.txt"),
+            this.indexedProvider.list("own").stream().sorted().toList());
+
+        // Directories are not deleted, their files stay listed
+        this.indexedProvider.delete("own/c");
+        this.indexedProvider.delete("own/a.txt");
+        Assertions.assertEquals(List.of("own/c/d.txt"), this.indexedProvider.list("own"));
+    }
+
+    @Test
+    void list_externalChanges_indexUpdatedByWatcher() throws IOException, InterruptedException {
+        final Path directory = Files.createDirectories(this.basePath.resolve("external/x/y"));
+        Files.writeString(directory.resolve("file.txt"), "Test");
+        awaitTrue(() -> listUnchecked("external").equals(List.of("external/x/y/file.txt")));
+
+        Files.delete(directory.resolve("file.txt"));
+        awaitTrue(() -> listUnchecked("external").isEmpty());
+
+        Files.writeString(directory.resolve("again.txt"), "Test");
+        awaitTrue(() -> listUnchecked("external").equals(List.of("external/x/y/again.txt")));
+    }
+
+    @Test
+    void rebuild_unwatchedChanges_indexed() throws IOException {
+        try (final IndexedLocalStorageProvider<WebFile> provider = new IndexedLocalStorageProvider<>(
+            new LocalStorageProvider(
+                new LocalStorageConfigurationPropertiesImpl(URI.create("https://site.url/base"), this.basePath)))) {
+            Files.createDirectories(this.basePath.resolve("unwatched"));
+            Files.writeString(this.basePath.resolve("unwatched/file.txt"), "Test");
+            Assertions.assertEquals(List.of(), provider.list("unwatched"));
+
+            provider.rebuild();
+            Assertions.assertEquals(List.of("unwatched/file.txt"), provider.list("unwatched"));
+        }
+    }
+
+    @Test
+    void rebuild_concurrentRebuildsAndSaves_allFilesIndexed() throws IOException, InterruptedException {
+        final AtomicBoolean saving = new AtomicBoolean(true);
+        final List<Thread> rebuilders = new ArrayList<>();
+        final AtomicReference<@Nullable IOException> failure = new AtomicReference<>();
+        for (int i = 0; i < 2; i++) {
+            final Thread rebuilder = new Thread(() -> {
+                while (saving.get()) {
+                    try {
+                        this.indexedProvider.rebuild();
+                    } catch (final IOException e) {
+                        failure.set(e);
+                    }
+                }
+            });
+            rebuilder.start();
+            rebuilders.add(rebuilder);
+        }
+        try {
+            for (int i = 0; i < 200; i++) {
+                this.indexedProvider.save("rebuilt/file" + i + ".txt", "text/plain", bytes("Test"), Map.of());
+            }
+        } finally {
+            saving.set(false);
+            for (final Thread rebuilder : rebuilders) {
+                rebuilder.join();
+            }
+        }
+
+        Assertions.assertNull(failure.get());
+        Assertions.assertEquals(200, this.indexedProvider.list("rebuilt").size());
+    }
+
+    @Test
+    void rebuild_deletesDuringRebuild_deletedFilesNotIndexed() throws IOException, InterruptedException {
+        final Path directory = Files.createTempDirectory("");
+        Files.createDirectories(directory.resolve("deleted"));
+        for (int i = 0; i < 10_000; i++) {
+            Files.writeString(directory.resolve("deleted/file" + i + ".txt"), "Test");
+        }
+        try (final IndexedLocalStorageProvider<WebFile> provider = new IndexedLocalStorageProvider<>(
+            new LocalStorageProvider(
+                new LocalStorageConfigurationPropertiesImpl(URI.create("https://site.url/base"), directory)))) {
+            final AtomicReference<@Nullable IOException> failure = new AtomicReference<>();
+            // Reading the large directory takes long, most deletes land between reading and indexing it
+            final Thread rebuilder = new Thread(() -> {
+                try {
+                    provider.rebuild();
+                } catch (final IOException e) {
+                    failure.set(e);
+                }
+            });
+            rebuilder.start();
+            for (int i = 0; i < 10_000; i++) {
+                provider.delete("deleted/file" + i + ".txt");
+            }
+            rebuilder.join();
+
+            Assertions.assertNull(failure.get());
+            Assertions.assertEquals(List.of(), provider.list("deleted"));
+        }
+    }
+
+    private List<String> listUnchecked(final String path) {
+        try {
+            return this.indexedProvider.list(path);
+        } catch (final IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void awaitTrue(final BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.nanoTime() + 10_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            Assertions.assertTrue(System.nanoTime() < deadline, "Condition not met in time");
+            Thread.sleep(10);
+        }
+    }
+
+    private static byte[] bytes(final String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+}
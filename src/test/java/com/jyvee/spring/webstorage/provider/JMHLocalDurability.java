@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2026 Rahim Alizada
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jyvee.spring.webstorage.provider;
+
+import com.jyvee.spring.test.webstorage.LocalStorageProvider;
+import com.jyvee.spring.webstorage.configuration.LocalStorageConfigurationProperties;
+import com.jyvee.spring.webstorage.configuration.LocalStorageConfigurationPropertiesImpl;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Saves per second of 16 KB files with each durability mode, by 1, 8 and 32 concurrent threads. Run it on the file
+ * system of the storage, a temporary directory on tmpfs or a virtual disk ignoring flushes makes every mode equal.
+ */
+@SuppressWarnings("WeakerAccess")
+public class JMHLocalDurability {
+
+    @Test
+    @Disabled
+    void benchmarkLauncher() throws RunnerException {
+        for (final int threads : new int[] {1, 8, 32}) {
+            final Options options = new OptionsBuilder().include(this.getClass().getName() + "\\..*") //
+                                                        .warmupTime(TimeValue.seconds(5))
+                                                        .warmupIterations(2)//
+                                                        .measurementTime(TimeValue.seconds(10))
+                                                        .measurementIterations(3)//
+                                                        .mode(Mode.Throughput)
+                                                        .timeUnit(TimeUnit.SECONDS)
+                                                        .threads(threads)
+                                                        .forks(1)
+                                                        .shouldFailOnError(true)
+                                                        .shouldDoGC(true)
+                                                        .timeout(TimeValue.minutes(3))
+                                                        .build();
+            new Runner(options).run();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class BenchmarkState {
+
+        private final AtomicLong counter = new AtomicLong();
+
+        @Param({"NONE", "FSYNC"})
+        private LocalStorageConfigurationProperties.Durability durability;
+
+        private Path basePath;
+
+        private LocalStorageProvider provider;
+
+        private byte[] payload;
+
+        @Setup
+        public void setup() throws IOException {
+            this.basePath = Files.createTempDirectory(Path.of(System.getProperty("user.dir")), "durability");
+            this.provider = new LocalStorageProvider(
+                LocalStorageConfigurationPropertiesImpl
+                    .builder(URI.create("https://site.url/base"), this.basePath)
+                    .durability(this.durability)
+                    .build());
+            this.payload = new byte[16 * 1024];
+            new Random(1).nextBytes(this.payload);
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            try (final Stream<Path> paths = Files.walk(this.basePath)) {
+                for (final Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(path);
+                }
+            }
+        }
+
+    }
+
+    @Benchmark
+    public static void save(final BenchmarkState benchmarkState, final Blackhole blackhole) throws IOException {
+        // Distinct paths within a few directories, like content-addressed storage paths
+        final long index = benchmarkState.counter.incrementAndGet();
+        blackhole.consume(benchmarkState.provider.save("files/" + index % 16 + "/" + index + ".bin",
+            "application/octet-stream", benchmarkState.payload, Map.of()));
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2026 Rahim Alizada
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jyvee.spring.webstorage.provider;
+
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Full listing of a synthetic storage tree laid out like {@link DefaultStoragePathProvider} paths, {@code x/y/<file>}
+ * with 256 directories, by a sequential {@link Files#find} and by {@link ParallelFileWalker}. Run it on the file
+ * system of the storage with a cold cache for realistic numbers, a warm page cache mostly measures CPU.
+ */
+@SuppressWarnings("WeakerAccess")
+public class JMHLocalListing {
+
+    @Test
+    @Disabled
+    void benchmarkLauncher() throws RunnerException {
+        final Options options = new OptionsBuilder().include(this.getClass().getName() + "\\..*") //
+                                                    .warmupTime(TimeValue.seconds(5))
+                                                    .warmupIterations(2)//
+                                                    .measurementTime(TimeValue.seconds(10))
+                                                    .measurementIterations(3)//
+                                                    .mode(Mode.AverageTime)
+                                                    .timeUnit(TimeUnit.MILLISECONDS)
+                                                    .forks(1)
+                                                    .shouldFailOnError(true)
+                                                    .shouldDoGC(true)
+                                                    .timeout(TimeValue.minutes(3))
+                                                    .build();
+        new Runner(options).run();
+    }
+
+    @State(Scope.Benchmark)
+    public static class BenchmarkState {
+
+        @Param({"20", "200"})
+        private int filesPerDirectory;
+
+        private Path basePath;
+
+        @Setup
+        public void setup() throws IOException {
+            this.basePath = Files.createTempDirectory(Path.of(System.getProperty("user.dir")), "listing");
+            for (int x = 0; x < 16; x++) {
+                for (int y = 0; y < 16; y++) {
+                    final Path directory = Files.createDirectories(this.basePath.resolve(x + "/" + y));
+                    for (int i = 0; i < this.filesPerDirectory; i++) {
+                        Files.createFile(directory.resolve(Integer.toHexString(i) + ".bin"));
+                    }
+                }
+            }
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            try (final Stream<Path> paths = Files.walk(this.basePath)) {
+                for (final Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(path);
+                }
+            }
+        }
+
+    }
+
+    @Benchmark
+    public static long sequentialFind(final BenchmarkState benchmarkState) throws IOException {
+        try (final Stream<Path> stream = Files.find(benchmarkState.basePath, Integer.MAX_VALUE,
+            (_, attributes) -> attributes.isRegularFile())) {
+            return stream.count();
+        }
+    }
+
+    @Benchmark
+    public static long parallelWalk(final BenchmarkState benchmarkState) {
+        try (final Stream<Path> stream = ParallelFileWalker.find(benchmarkState.basePath,
+            (_, attributes) -> attributes.isRegularFile())) {
+            return stream.count();
+        }
+    }
+
+}
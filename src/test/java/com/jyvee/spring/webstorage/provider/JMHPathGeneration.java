@@ -20,7 +20,9 @@ import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.infra.Blackhole;
 import org.openjdk.jmh.runner.Runner;
@@ -30,6 +32,8 @@ import org.openjdk.jmh.runner.options.OptionsBuilder;
 import org.openjdk.jmh.runner.options.TimeValue;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.nio.file.Path;
+import java.util.Random;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -37,6 +41,8 @@ import java.util.concurrent.TimeUnit;
  * JMHPathGenerationTest.sanitizedStringConcat  thrpt    3  2872985.567 ± 372638.748  ops/s
  * JMHPathGenerationTest.uriComponentsBuilder   thrpt    3  2414971.275 ±  96622.188  ops/s
  * </pre>
+ * The end-to-end {@code getStoragePath} benchmarks hash payloads of 1 KB to 10 MB, compare them in ops/s per
+ * payload size.
  */
 @SuppressWarnings("WeakerAccess")
 public class JMHPathGeneration {
@@ -70,6 +76,42 @@ public class JMHPathGeneration {
 
     }
 
+    @State(Scope.Benchmark)
+    public static class PayloadState {
+
+        @Param({"1024", "102400", "1048576", "10485760"})
+        private int payloadSize;
+
+        private final Path basePath = Path.of("example/dir");
+
+        private final Path relativePath = Path.of("filename.ext");
+
+        private final StoragePathProvider md5Provider = new DefaultStoragePathProvider();
+
+        private final StoragePathProvider murmur3Provider = new Murmur3StoragePathProvider();
+
+        private byte[] payload;
+
+        @Setup
+        public void setup() {
+            this.payload = new byte[this.payloadSize];
+            new Random(this.payloadSize).nextBytes(this.payload);
+        }
+
+    }
+
+    @Benchmark
+    public static void md5StoragePath(final PayloadState payloadState, final Blackhole blackhole) {
+        blackhole.consume(payloadState.md5Provider.getStoragePath(payloadState.basePath, payloadState.relativePath,
+            payloadState.payload));
+    }
+
+    @Benchmark
+    public static void murmur3StoragePath(final PayloadState payloadState, final Blackhole blackhole) {
+        blackhole.consume(payloadState.murmur3Provider.getStoragePath(payloadState.basePath,
+            payloadState.relativePath, payloadState.payload));
+    }
+
     @Benchmark
     public static void uriComponentsBuilder(final BenchmarkState benchmarkState, final Blackhole blackhole) {
         blackhole.consume(UriComponentsBuilder
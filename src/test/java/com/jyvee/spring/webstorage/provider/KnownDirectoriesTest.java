@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2026 Rahim Alizada
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jyvee.spring.webstorage.provider;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+
+class KnownDirectoriesTest {
+
+    @Test
+    void add_fullCache_sizeBounded() {
+        final KnownDirectories directories = new KnownDirectories(2);
+
+        directories.add(Path.of("/base/a"));
+        directories.add(Path.of("/base/b"));
+        directories.add(Path.of("/base/c"));
+
+        Assertions.assertEquals(2, directories.size());
+        Assertions.assertTrue(directories.contains(Path.of("/base/c")));
+    }
+
+    @Test
+    void invalidate_parentDirectory_subdirectoriesForgotten() {
+        final KnownDirectories directories = new KnownDirectories(10);
+        directories.add(Path.of("/base/a/x"));
+        directories.add(Path.of("/base/a/y"));
+        directories.add(Path.of("/base/ab"));
+
+        directories.invalidate(Path.of("/base/a"));
+
+        Assertions.assertFalse(directories.contains(Path.of("/base/a/x")));
+        Assertions.assertFalse(directories.contains(Path.of("/base/a/y")));
+        Assertions.assertTrue(directories.contains(Path.of("/base/ab")));
+    }
+
+    @Test
+    void constructor_invalidSize_exception() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new KnownDirectories(0));
+    }
+
+}
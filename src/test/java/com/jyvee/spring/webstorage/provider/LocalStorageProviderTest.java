@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023-2025 Rahim Alizada
+ * Copyright (c) 2023-2026 Rahim Alizada
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,26 +17,274 @@
 package com.jyvee.spring.webstorage.provider;
 
 import com.jyvee.spring.test.webstorage.LocalStorageProvider;
+import com.jyvee.spring.test.webstorage.WebFile;
 import com.jyvee.spring.webstorage.configuration.LocalStorageConfigurationProperties;
 import com.jyvee.spring.webstorage.configuration.LocalStorageConfigurationPropertiesImpl;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
+import org.springframework.core.io.Resource;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.nio.MappedByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.UserDefinedFileAttributeView;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 class LocalStorageProviderTest extends AbstractStorageProviderTest {
 
+    private Path basePath;
+
+    private LocalStorageProvider localProvider;
+
     @BeforeAll
     void beforeAll() throws IOException {
         final Path basePath = Files.createTempDirectory("");
 
         final LocalStorageConfigurationProperties configurationProperties =
             new LocalStorageConfigurationPropertiesImpl(URI.create("https://site.url/base"), basePath);
-        setProvider(new LocalStorageProvider(configurationProperties));
+        this.basePath = basePath;
+        this.localProvider = new LocalStorageProvider(configurationProperties);
+        setProvider(this.localProvider);
+    }
+
+    @Test
+    void save_shorterPayload_replacedWithoutTemporaryFiles() throws IOException {
+        this.localProvider.save("temp-path/replaced.txt", "text/plain", bytes("Long content"), Map.of("key", "old"));
+        final WebFile saved =
+            this.localProvider.save("temp-path/replaced.txt", "text/plain", bytes("Short"), Map.of("key", "new"));
+
+        Assertions.assertEquals(5, saved.getSize());
+        Assertions.assertArrayEquals(bytes("Short"),
+            Files.readAllBytes(this.basePath.resolve("temp_path/replaced.txt")));
+        Assertions.assertEquals("new", this.localProvider.load("temp-path/replaced.txt").getMetadata().get("key"));
+        // Other tests leave directories behind, only files are compared
+        try (final Stream<Path> files = Files.list(this.basePath.resolve("temp_path"))) {
+            Assertions.assertEquals(List.of("replaced.txt"),
+                files.filter(Files::isRegularFile).map(path -> path.getFileName().toString()).toList());
+        }
+    }
+
+    @Test
+    void save_channelSource_transferred() throws IOException {
+        final Path sourcePath = Files.createTempFile("source", ".txt");
+        Files.write(sourcePath, bytes("Test"));
+        try (final FileChannel source = FileChannel.open(sourcePath)) {
+            final WebFile saved = this.localProvider.save("temp-path/transferred.txt", "text/plain", source,
+                Map.of("key", "value"), PayloadDigests.of(bytes("Test")));
+
+            Assertions.assertEquals(4, saved.getSize());
+            Assertions.assertEquals("0cbc6611f5540bd0809a388dc95a615b", saved.getChecksum());
+        }
+        Assertions.assertArrayEquals(bytes("Test"),
+            Files.readAllBytes(this.basePath.resolve("temp_path/transferred.txt")));
+        Assertions.assertEquals("value", this.localProvider.load("temp-path/transferred.txt").getMetadata().get("key"));
+        Files.delete(sourcePath);
+    }
+
+    @Test
+    void save_truncatedChannelSource_nothingSaved() throws IOException {
+        final ReadableByteChannel source = Channels.newChannel(new ByteArrayInputStream(bytes("Tes")));
+
+        Assertions.assertThrows(EOFException.class, () -> this.localProvider.save("temp-path/truncated.txt",
+            "text/plain", source, Map.of(), PayloadDigests.of(bytes("Test"))));
+        Assertions.assertTrue(this.localProvider.list("temp-path").isEmpty());
+        try (final Stream<Path> files = Files.list(this.basePath.resolve("temp_path"))) {
+            Assertions.assertEquals(0, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    @Test
+    void save_durabilityModes_saved() throws IOException {
+        for (final LocalStorageConfigurationProperties.Durability durability
+            : LocalStorageConfigurationProperties.Durability.values()) {
+            final LocalStorageProvider provider = new LocalStorageProvider(
+                LocalStorageConfigurationPropertiesImpl
+                    .builder(URI.create("https://site.url/base"), this.basePath)
+                    .durability(durability)
+                    .build());
+            final String path = "temp-path/" + durability + "/durable.txt";
+
+            Assertions.assertEquals(4, provider.save(path, "text/plain", bytes("Test"), Map.of()).getSize());
+            Assertions.assertArrayEquals(bytes("Test"),
+                Files.readAllBytes(this.basePath.resolve(StorageProviderUtil.sanitizePath(path))));
+        }
+    }
+
+    @Test
+    void save_knownDirectoryRemoved_directoryCreatedAgain() throws IOException {
+        this.localProvider.save("temp-path/removed/first.txt", "text/plain", bytes("First"), Map.of());
+        final Path directory = this.basePath.resolve("temp_path/removed");
+        Files.delete(directory.resolve("first.txt"));
+        Files.delete(directory);
+
+        this.localProvider.save("temp-path/removed/second.txt", "text/plain", bytes("Second"), Map.of());
+
+        Assertions.assertArrayEquals(bytes("Second"), Files.readAllBytes(directory.resolve("second.txt")));
+    }
+
+    @Test
+    void save_concurrentSavesIntoNewDirectory_allSaved() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Future<WebFile>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                final String path = "temp-path/concurrent/a/b/file" + i + ".txt";
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return this.localProvider.save(path, "text/plain", bytes(path), Map.of());
+                }));
+            }
+            start.countDown();
+            for (final Future<WebFile> future : futures) {
+                final WebFile file = future.get(10, TimeUnit.SECONDS);
+                Assertions.assertArrayEquals(bytes("temp-path/" + file.getPath().substring("temp_path/".length())),
+                    Files.readAllBytes(this.basePath.resolve(file.getPath())));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void load_singleAttribute_attributesRead() throws IOException {
+        this.localProvider.save("temp-path/attributes.txt", "text/plain", bytes("Test"), Map.of("a", "1", "b", "2"));
+
+        final Path filePath = this.basePath.resolve("temp_path/attributes.txt");
+        Assertions.assertEquals(List.of(LocalStorageProvider.ATTRIBUTES_ATTRIBUTE),
+            Files.getFileAttributeView(filePath, UserDefinedFileAttributeView.class).list());
+        final WebFile loaded = this.localProvider.load("temp-path/attributes.txt");
+        Assertions.assertEquals("text/plain", loaded.getContentType());
+        Assertions.assertEquals("0cbc6611f5540bd0809a388dc95a615b", loaded.getChecksum());
+        Assertions.assertEquals(Map.of("a", "1", "b", "2"), loaded.getMetadata());
+    }
+
+    @Test
+    void load_legacyAttributes_attributesRead() throws IOException {
+        final Path filePath = this.basePath.resolve("temp_path/legacy.txt");
+        Files.createDirectories(filePath.getParent());
+        Files.write(filePath, bytes("Test"));
+        final UserDefinedFileAttributeView view =
+            Files.getFileAttributeView(filePath, UserDefinedFileAttributeView.class);
+        view.write(LocalStorageProvider.CONTENT_TYPE_ATTRIBUTE, Charset.defaultCharset().encode("text/plain"));
+        view.write(LocalStorageProvider.MD5_ATTRIBUTE,
+            Charset.defaultCharset().encode("0cbc6611f5540bd0809a388dc95a615b"));
+        view.write(LocalStorageProvider.METADATA_ATTRIBUTE_PREFIX + "key", Charset.defaultCharset().encode("value"));
+
+        final WebFile loaded = this.localProvider.load("temp-path/legacy.txt");
+        Assertions.assertEquals("text/plain", loaded.getContentType());
+        Assertions.assertEquals(4, loaded.getSize());
+        Assertions.assertEquals(Map.of("key", "value"), loaded.getMetadata());
+        Assertions.assertTrue(
+            this.localProvider.findIdentical("temp-path/legacy.txt", PayloadDigests.of(bytes("Test"))).isPresent());
+    }
+
+    @Test
+    void sidecarStore_fileOperations_attributesInSidecar() throws IOException {
+        final Path basePath = Files.createTempDirectory("");
+        final LocalStorageProvider provider = new LocalStorageProvider(
+            LocalStorageConfigurationPropertiesImpl
+                .builder(URI.create("https://site.url/base"), basePath)
+                .owner(null)
+                .group(null)
+                .permissions("rw-r--r--")
+                .metadataStore(LocalStorageConfigurationProperties.MetadataStore.SIDECAR_FILES)
+                .build());
+
+        provider.save("dir/file.txt", "text/plain", bytes("Test"), Map.of("key", "value"));
+        final Path filePath = basePath.resolve("dir/file.txt");
+        Assertions.assertEquals(List.of(),
+            Files.getFileAttributeView(filePath, UserDefinedFileAttributeView.class).list());
+        Assertions.assertTrue(Files.isRegularFile(basePath.resolve("dir/.file.txt.attributes")));
+        Assertions.assertEquals(List.of("dir/file.txt"), provider.list("dir"));
+        Assertions.assertEquals(Map.of("key", "value"), provider.load("dir/file.txt").getMetadata());
+
+        provider.copy("dir/file.txt", "dir/copy.txt");
+        provider.move("dir/file.txt", "dir/moved.txt");
+        Assertions.assertEquals("text/plain", provider.load("dir/copy.txt").getContentType());
+        Assertions.assertEquals(Map.of("key", "value"), provider.load("dir/moved.txt").getMetadata());
+        Assertions.assertEquals(List.of("dir/copy.txt", "dir/moved.txt"),
+            provider.list("dir").stream().sorted().toList());
+
+        // Files saved with extended attributes are still read, and replace a stale sidecar when moved
+        this.localProvider.save("temp-path/xattr.txt", "text/plain", bytes("Test"), Map.of("key", "xattr"));
+        Files.move(this.basePath.resolve("temp_path/xattr.txt"), basePath.resolve("dir/xattr.txt"));
+        Assertions.assertEquals(Map.of("key", "xattr"), provider.load("dir/xattr.txt").getMetadata());
+        provider.move("dir/xattr.txt", "dir/copy.txt");
+        Assertions.assertEquals(Map.of("key", "xattr"), provider.load("dir/copy.txt").getMetadata());
+
+        provider.delete("dir/moved.txt");
+        Assertions.assertFalse(Files.exists(basePath.resolve("dir/.moved.txt.attributes")));
+        Assertions.assertThrows(NoSuchFileException.class, () -> provider.load("dir/moved.txt"));
+    }
+
+    @Test
+    void readMethods_savedFile_content() throws IOException {
+        this.localProvider.save("temp-path/read.txt", "text/plain", bytes("Test"), Map.of());
+
+        final Resource resource = this.localProvider.getResource("/temp-path/read.txt");
+        Assertions.assertEquals(4, resource.contentLength());
+        try (final InputStream inputStream = resource.getInputStream()) {
+            Assertions.assertArrayEquals(bytes("Test"), inputStream.readAllBytes());
+        }
+
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Assertions.assertEquals(4,
+            this.localProvider.transferTo("temp-path/read.txt", Channels.newChannel(outputStream)));
+        Assertions.assertArrayEquals(bytes("Test"), outputStream.toByteArray());
+
+        final Path targetPath = Files.createTempFile("target", ".txt");
+        try (final FileChannel target = FileChannel.open(targetPath, StandardOpenOption.WRITE)) {
+            Assertions.assertEquals(4, this.localProvider.transferTo("temp-path/read.txt", target));
+        }
+        Assertions.assertArrayEquals(bytes("Test"), Files.readAllBytes(targetPath));
+        Files.delete(targetPath);
+
+        final MappedByteBuffer buffer = this.localProvider.map("temp-path/read.txt");
+        Assertions.assertEquals(4, buffer.remaining());
+        Assertions.assertEquals('s', buffer.get(2));
+        Assertions.assertThrows(ReadOnlyBufferException.class, () -> buffer.put(0, (byte) 't'));
+    }
+
+    @Test
+    void readMethods_missingFileOrDirectory_exception() throws IOException {
+        this.localProvider.save("temp-path/directory/file.txt", "text/plain", bytes("Test"), Map.of());
+
+        for (final String path : List.of("temp-path/missing.txt", "temp-path/directory")) {
+            Assertions.assertThrows(NoSuchFileException.class, () -> this.localProvider.getResource(path));
+            Assertions.assertThrows(NoSuchFileException.class,
+                () -> this.localProvider.transferTo(path, Channels.newChannel(new ByteArrayOutputStream())));
+            Assertions.assertThrows(NoSuchFileException.class, () -> this.localProvider.map(path));
+        }
+    }
+
+    private static byte[] bytes(final String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
     }
 
 }
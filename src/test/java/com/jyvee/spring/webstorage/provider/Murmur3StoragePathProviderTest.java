@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026 Rahim Alizada
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jyvee.spring.webstorage.provider;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+class Murmur3StoragePathProviderTest {
+
+    private final Murmur3StoragePathProvider provider = new Murmur3StoragePathProvider();
+
+    private final DefaultStoragePathProvider defaultProvider = new DefaultStoragePathProvider();
+
+    @Test
+    void hashHex_referenceVectors_expectedHashes() {
+        Assertions.assertEquals("00000000000000000000000000000000", hash(""));
+        Assertions.assertEquals("6c1b07bc7bbc4be347939ac4a93c437a",
+            hash("The quick brown fox jumps over the lazy dog"));
+    }
+
+    @Test
+    void getStoragePath_validArgs_sameLayoutAsDefault() {
+        final byte[] payload = "payload".getBytes(StandardCharsets.UTF_8);
+        final String hash = hash(payload);
+        final String md5 = StorageProviderUtil.md5(payload);
+
+        for (final String basePath : List.of("", "/", "files", "files/", "/files", "/files/", "files/nested")) {
+            for (final String relativePath : List.of("filename.ext", "/filename.ext", "sub_path/filename.ext",
+                "/sub_path/filename.ext")) {
+                final String expected =
+                    this.defaultProvider.getStoragePath(Path.of(basePath), Path.of(relativePath), payload);
+                Assertions.assertEquals(expected.replace(md5.charAt(0) + "/" + md5.charAt(1) + "/" + md5,
+                        hash.charAt(0) + "/" + hash.charAt(1) + "/" + hash),
+                    this.provider.getStoragePath(Path.of(basePath), Path.of(relativePath), payload));
+            }
+        }
+    }
+
+    @Test
+    void getStoragePath_digests_notComputed() {
+        final byte[] payload = "payload".getBytes(StandardCharsets.UTF_8);
+        final PayloadDigests digests = PayloadDigests.of(payload);
+
+        Assertions.assertEquals(this.provider.getStoragePath(Path.of("files"), Path.of("a.txt"), payload),
+            this.provider.getStoragePath(Path.of("files"), Path.of("a.txt"), payload, digests));
+        // A digest computed for the path would still be the one of the original payload
+        payload[0] = 'P';
+        Assertions.assertEquals(StorageProviderUtil.md5(payload), digests.md5Hex());
+    }
+
+    @Test
+    void hashHex_allTailLengths_distinctHashes() {
+        final byte[] payload = new byte[48];
+        final Set<String> hashes = new HashSet<>();
+        for (int length = 0; length <= payload.length; length++) {
+            payload[Math.max(0, length - 1)] = (byte) length;
+            Assertions.assertTrue(hashes.add(hash(Arrays.copyOf(payload, length))));
+        }
+    }
+
+    private static String hash(final String payload) {
+        return hash(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String hash(final byte[] payload) {
+        return new String(Murmur3StoragePathProvider.hashHex(payload));
+    }
+
+}
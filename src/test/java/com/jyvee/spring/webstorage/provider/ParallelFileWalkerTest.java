@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2026 Rahim Alizada
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jyvee.spring.webstorage.provider;
+
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+class ParallelFileWalkerTest {
+
+    @Test
+    void find_directoryTree_allMatchingFiles() throws IOException {
+        final Path start = Files.createTempDirectory("");
+        final Set<Path> expected = createTree(start, 8, 20);
+        Files.createFile(start.resolve("skipped.tmp"));
+
+        try (final Stream<Path> stream = ParallelFileWalker.find(start,
+            (path, attributes) -> attributes.isRegularFile() && !path.toString().endsWith(".tmp"))) {
+            Assertions.assertEquals(expected, stream.collect(Collectors.toSet()));
+        }
+    }
+
+    @Test
+    void find_streamClosedEarly_walkStopped() throws IOException {
+        final Path start = Files.createTempDirectory("");
+        createTree(start, 16, 400);
+
+        final List<Path> first;
+        try (final Stream<Path> stream = ParallelFileWalker.find(start, (_, attributes) -> true)) {
+            first = stream.limit(10).toList();
+        }
+        Assertions.assertEquals(10, first.size());
+    }
+
+    @Test
+    void find_missingDirectory_empty() {
+        try (final Stream<Path> stream =
+                 ParallelFileWalker.find(Path.of("/missing-storage-directory"), (_, attributes) -> true)) {
+            Assertions.assertEquals(0, stream.count());
+        }
+    }
+
+    @Test
+    void find_regularFile_fileItself() throws IOException {
+        final Path file = Files.createTempFile("", "");
+
+        try (final Stream<Path> stream = ParallelFileWalker.find(file, (_, attributes) -> attributes.isRegularFile())) {
+            Assertions.assertEquals(List.of(file), stream.toList());
+        }
+    }
+
+    @Test
+    void find_fileRemovedWhileWalking_remainingFilesFound() throws IOException {
+        final Path start = Files.createTempDirectory("");
+        final Set<Path> expected = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            expected.add(Files.createFile(start.resolve("file" + i)));
+        }
+        final AtomicReference<@Nullable Path> removed = new AtomicReference<>();
+
+        try (final Stream<Path> stream = ParallelFileWalker.find(start, (path, _) -> {
+            // The first found file removes another one, which is still listed by the directory stream
+            if (removed.compareAndSet(null, path.resolveSibling(path.endsWith("file0") ? "file1" : "file0"))) {
+                deleteFile(removed.get());
+            }
+            return true;
+        })) {
+            final Set<Path> found = stream.collect(Collectors.toSet());
+            expected.remove(removed.get());
+            Assertions.assertEquals(expected, found);
+        }
+    }
+
+    private static void deleteFile(final Path file) {
+        try {
+            Files.delete(file);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Creates files in {@code x/y} directories like {@link DefaultStoragePathProvider} */
+    private static Set<Path> createTree(final Path start, final int width, final int filesPerDirectory)
+        throws IOException {
+        final Set<Path> files = new HashSet<>();
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < width; y++) {
+                final Path directory = Files.createDirectories(start.resolve(x + "/" + y));
+                for (int i = 0; i < filesPerDirectory; i++) {
+                    files.add(Files.createFile(directory.resolve("file" + i)));
+                }
+            }
+        }
+        return files;
+    }
+
+}
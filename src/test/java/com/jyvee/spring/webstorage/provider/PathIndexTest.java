@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2026 Rahim Alizada
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jyvee.spring.webstorage.provider;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+class PathIndexTest {
+
+    @Test
+    void list_indexedPaths_filesUnderPath() {
+        final PathIndex index = new PathIndex();
+        index.add("a/b/1.txt");
+        index.add("a/b/2.txt");
+        index.add("a/c/3.txt");
+        index.add("a/4.txt");
+        index.add("ab/5.txt");
+        index.add("a/b/1.txt");
+
+        Assertions.assertEquals(5, index.size());
+        Assertions.assertEquals(List.of("a/b/1.txt", "a/b/2.txt"), index.list("a/b").stream().sorted().toList());
+        Assertions.assertEquals(List.of("a/4.txt", "a/b/1.txt", "a/b/2.txt", "a/c/3.txt"),
+            index.list("a").stream().sorted().toList());
+        Assertions.assertEquals(5, index.list("").size());
+        Assertions.assertEquals(List.of("a/4.txt"), index.list("a/4.txt"));
+        Assertions.assertEquals(List.of(), index.list("a/missing"));
+        Assertions.assertEquals(List.of(), index.list("missing/b"));
+    }
+
+    @Test
+    void remove_fileOrDirectory_removedAndPruned() {
+        final PathIndex index = new PathIndex();
+        index.add("a/b/1.txt");
+        index.add("a/b/c/2.txt");
+        index.add("a/3.txt");
+
+        index.remove("a/b/1.txt");
+        index.remove("a/missing.txt");
+        Assertions.assertEquals(2, index.size());
+
+        index.remove("a/b");
+        Assertions.assertEquals(List.of("a/3.txt"), index.list(""));
+        Assertions.assertEquals(1, index.size());
+
+        index.remove("a/3.txt");
+        Assertions.assertEquals(List.of(), index.list("a"));
+        Assertions.assertEquals(0, index.size());
+    }
+
+    @Test
+    void list_directoryChainsSplitAndMerged_filesUnderPath() {
+        final PathIndex index = new PathIndex();
+        index.add("a/b/c/d/1.txt");
+        index.add("a/b/x/2.txt");
+        index.add("a/b/c/3.txt");
+
+        Assertions.assertEquals(List.of("a/b/c/3.txt", "a/b/c/d/1.txt"),
+            index.list("a/b/c").stream().sorted().toList());
+        Assertions.assertEquals(3, index.list("a/b").size());
+        Assertions.assertEquals(List.of(), index.list("a/b/c/e"));
+
+        index.remove("a/b/x/2.txt");
+        index.remove("a/b/c/3.txt");
+        Assertions.assertEquals(List.of("a/b/c/d/1.txt"), index.list("a"));
+        Assertions.assertEquals(List.of("a/b/c/d/1.txt"), index.list("a/b/c/d"));
+        Assertions.assertEquals(List.of("a/b/c/d/1.txt"), index.list("a/b/c/d/1.txt"));
+
+        index.remove("a/b/c");
+        Assertions.assertEquals(List.of(), index.list(""));
+        Assertions.assertEquals(0, index.size());
+    }
+
+    @Test
+    void addAll_directoryFiles_mergedWithIndexedFiles() {
+        final PathIndex index = new PathIndex();
+        index.add("a/2.txt");
+        index.add("a/b/4.txt");
+        index.addAll("a", List.of("3.txt", "1.txt", "2.txt", "3.txt"));
+        index.addAll("", List.of("5.txt"));
+        index.addAll("c", List.of());
+
+        Assertions.assertEquals(5, index.size());
+        Assertions.assertEquals(List.of("5.txt", "a/1.txt", "a/2.txt", "a/3.txt", "a/b/4.txt"),
+            index.list("").stream().sorted().toList());
+        Assertions.assertEquals(List.of(), index.list("c"));
+    }
+
+    @Test
+    void list_randomChanges_sameAsPathSet() {
+        final Random random = new Random(42);
+        final PathIndex index = new PathIndex();
+        final Set<String> expected = new TreeSet<>();
+        for (int i = 0; i < 5000; i++) {
+            final StringBuilder path = new StringBuilder();
+            final int depth = 1 + random.nextInt(4);
+            for (int segment = 0; segment < depth; segment++) {
+                path.append(segment == 0 ? "" : "/").append((char) ('a' + random.nextInt(3)));
+            }
+            final String file = path + "/" + random.nextInt(3) + ".txt";
+            if (random.nextInt(3) == 0) {
+                index.remove(file);
+                expected.remove(file);
+            } else if (random.nextInt(3) == 0) {
+                index.remove(path.toString());
+                expected.removeIf(indexed -> indexed.startsWith(path + "/"));
+            } else {
+                index.add(file);
+                expected.add(file);
+            }
+            Assertions.assertEquals(expected.size(), index.size());
+        }
+
+        Assertions.assertEquals(List.copyOf(expected), index.list("").stream().sorted().toList());
+        for (final String directory : List.of("a", "a/b", "b/c/a", "c/a/b/c")) {
+            Assertions.assertEquals(expected.stream().filter(path -> path.startsWith(directory + "/")).toList(),
+                index.list(directory).stream().sorted().toList());
+        }
+    }
+
+    @Test
+    void isIndexable_paths_relativeNormalizedOnly() {
+        Assertions.assertTrue(PathIndex.isIndexable(""));
+        Assertions.assertTrue(PathIndex.isIndexable("a/b.txt"));
+        Assertions.assertTrue(PathIndex.isIndexable(".hidden/b.txt"));
+        Assertions.assertFalse(PathIndex.isIndexable("a/../b.txt"));
+        Assertions.assertFalse(PathIndex.isIndexable("./b.txt"));
+        Assertions.assertFalse(PathIndex.isIndexable("a//b.txt"));
+    }
+
+}
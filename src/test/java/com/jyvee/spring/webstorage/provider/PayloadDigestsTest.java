@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2026 Rahim Alizada
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jyvee.spring.webstorage.provider;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+class PayloadDigestsTest {
+
+    @Test
+    void of_knownPayloads_expectedDigests() {
+        final PayloadDigests empty = PayloadDigests.of(new byte[]{});
+        Assertions.assertEquals(0, empty.getSize());
+        Assertions.assertEquals("d41d8cd98f00b204e9800998ecf8427e", empty.md5Hex());
+        Assertions.assertEquals("1B2M2Y8AsgTpgAmY7PhCfg==", empty.md5Base64());
+        Assertions.assertEquals("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855", empty.sha256Hex());
+
+        final PayloadDigests test = PayloadDigests.of("test".getBytes(StandardCharsets.UTF_8));
+        Assertions.assertEquals(4, test.getSize());
+        Assertions.assertEquals("098f6bcd4621d373cade4e832627b4f6", test.md5Hex());
+        Assertions.assertEquals("9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08", test.sha256Hex());
+    }
+
+    @Test
+    void of_multipleChunks_sameAsSingleDigests() throws IOException {
+        final byte[] payload = new byte[100_000];
+        Arrays.fill(payload, (byte) 'a');
+        payload[payload.length - 1] = 'b';
+
+        final PayloadDigests digests = PayloadDigests.of(payload);
+        Assertions.assertEquals(StorageProviderUtil.md5(payload), digests.md5Hex());
+
+        final PayloadDigests streamDigests = PayloadDigests.of(new ByteArrayInputStream(payload));
+        Assertions.assertEquals(payload.length, streamDigests.getSize());
+        Assertions.assertEquals(digests.md5Hex(), streamDigests.md5Hex());
+        Assertions.assertEquals(digests.sha256Hex(), streamDigests.sha256Hex());
+    }
+
+    @Test
+    void md5Hex_payloadChangedBeforeFirstUse_digestComputedOnDemand() {
+        final byte[] payload = "test".getBytes(StandardCharsets.UTF_8);
+        final PayloadDigests digests = PayloadDigests.of(payload);
+        Assertions.assertEquals("098f6bcd4621d373cade4e832627b4f6", digests.md5Hex());
+
+        // Only the requested digest has been computed, the SHA-256 sees the payload as it is now
+        payload[0] = 'b';
+        Assertions.assertEquals("098f6bcd4621d373cade4e832627b4f6", digests.md5Hex());
+        Assertions.assertEquals(PayloadDigests.of("best".getBytes(StandardCharsets.UTF_8)).sha256Hex(),
+            digests.sha256Hex());
+    }
+
+    @Test
+    void computeAll_payload_sameAsOnDemandDigests() {
+        final byte[] payload = new byte[50_000];
+        Arrays.fill(payload, (byte) 'c');
+        final PayloadDigests onDemand = PayloadDigests.of(payload);
+
+        final PayloadDigests all = PayloadDigests.of(payload).computeAll();
+        Assertions.assertEquals(onDemand.md5Hex(), all.md5Hex());
+        Assertions.assertEquals(onDemand.sha256Hex(), all.sha256Hex());
+        Assertions.assertSame(all, all.computeAll());
+    }
+
+}
@@ -21,14 +21,18 @@ import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
 import java.nio.file.attribute.PosixFilePermission;
 import java.nio.file.attribute.PosixFilePermissions;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Stream;
 
@@ -90,6 +94,50 @@ class StorageProviderUtilTest {
         Files.deleteIfExists(tempFile);
     }
 
+    @Test
+    void setPermissions_unreadableAttributes_ignored() throws IOException {
+        final Path missingFile = Files.createTempDirectory("").resolve("missing.txt");
+
+        Assertions.assertDoesNotThrow(
+            () -> StorageProviderUtil.setPermissions(missingFile, "www-data", "www-data", PERMISSION_STR));
+    }
+
+    @Test
+    void setPermissions_nonPosixFileSystem_ignored() throws IOException {
+        final Path zipFile = Files.createTempDirectory("").resolve("storage.zip");
+        try (final FileSystem fileSystem = FileSystems.newFileSystem(zipFile, Map.of("create", "true"))) {
+            final Path file = Files.writeString(fileSystem.getPath("file.txt"), "Test");
+
+            Assertions.assertDoesNotThrow(
+                () -> StorageProviderUtil.setPermissions(file, "www-data", "www-data", PERMISSION_STR));
+            Assertions.assertEquals("Test", Files.readString(file));
+        }
+    }
+
+    @Test
+    void setPermissions_currentOwner_permissionsChanged() throws IOException {
+        final Path tempFile = Files.createTempFile("", "");
+        final PosixFileAttributeView view = Files.getFileAttributeView(tempFile, PosixFileAttributeView.class);
+        if (view != null) {
+            final PosixFileAttributes attributes = view.readAttributes();
+
+            StorageProviderUtil.setPermissions(tempFile, attributes.owner().getName(), attributes.group().getName(),
+                "rw-r-----");
+            Assertions.assertEquals("rw-r-----", permissions(tempFile));
+            Assertions.assertEquals(attributes.owner(), Files.getOwner(tempFile));
+
+            // Unknown principals are left as is, the permissions are still applied
+            StorageProviderUtil.setPermissions(tempFile, "unknown-storage-user", "unknown-storage-group", "r--------");
+            Assertions.assertEquals("r--------", permissions(tempFile));
+            Assertions.assertEquals(attributes.group(), view.readAttributes().group());
+
+            StorageProviderUtil.setPermissions(tempFile, null, null, PERMISSION_STR);
+            Assertions.assertEquals(PERMISSION_STR, permissions(tempFile));
+        }
+
+        Files.deleteIfExists(tempFile);
+    }
+
     @Test
     void getMissingDirectories_validArgs_ok() throws IOException {
         final Path tempDirectory = Files.createTempDirectory("");
@@ -110,7 +158,8 @@ class StorageProviderUtilTest {
 
         final Path tempDirectory = Files.createTempDirectory("");
         final Path directory = tempDirectory.resolve("a/b/c/d");
-        StorageProviderUtil.createMissingDirectories(directory, principalName, principalName, PERMISSION_STR);
+        StorageProviderUtil.createMissingDirectories(tempDirectory, directory, principalName, principalName,
+            PERMISSION_STR);
 
         final List<Path> createdDirectories =
             List.of(tempDirectory.resolve("a"), tempDirectory.resolve("a/b"), tempDirectory.resolve("a/b/c"),
@@ -123,7 +172,50 @@ class StorageProviderUtilTest {
             // StorageProviderUtilTest.checkPathPermissions(createdDirectory, principalName);
 
         }
+        Assertions.assertEquals(List.of(),
+            StorageProviderUtil.createMissingDirectories(tempDirectory, directory, principalName, principalName,
+                PERMISSION_STR));
+
+    }
+
+    @Test
+    void createMissingDirectories_distinctDirectoriesUnderSamePrefix_prefixCached() throws IOException {
+        final Path tempDirectory = Files.createTempDirectory("");
+        final KnownDirectories knownDirectories = StorageProviderUtil.getKnownDirectories(tempDirectory);
+        Assertions.assertEquals(
+            List.of(tempDirectory.resolve("x"), tempDirectory.resolve("x/y"), tempDirectory.resolve("x/y/first")),
+            StorageProviderUtil.createMissingDirectories(tempDirectory, tempDirectory.resolve("x/y/first"), null,
+                null, PERMISSION_STR));
+        Assertions.assertTrue(knownDirectories.contains(tempDirectory.resolve("x/y")));
+        Assertions.assertFalse(knownDirectories.contains(tempDirectory.resolve("x/y/first")));
+        final int knownSize = knownDirectories.size();
+
+        for (int i = 0; i < 100; i++) {
+            final Path directory = tempDirectory.resolve("x/y/" + i);
+            // The known parent leaves only the directory itself to create
+            Assertions.assertEquals(List.of(directory),
+                StorageProviderUtil.createMissingDirectories(tempDirectory, directory, null, null, PERMISSION_STR));
+        }
+        Assertions.assertEquals(knownSize, knownDirectories.size());
 
+        // A directory found existing is shared by several files and remembered
+        Assertions.assertEquals(List.of(),
+            StorageProviderUtil.createMissingDirectories(tempDirectory, tempDirectory.resolve("x/y/first"), null,
+                null, PERMISSION_STR));
+        Assertions.assertTrue(knownDirectories.contains(tempDirectory.resolve("x/y/first")));
+    }
+
+    @Test
+    void createMissingDirectories_knownParentRemoved_createdAgain() throws IOException {
+        final Path tempDirectory = Files.createTempDirectory("");
+        StorageProviderUtil.createMissingDirectories(tempDirectory, tempDirectory.resolve("x/y/first"), null, null,
+            PERMISSION_STR);
+        Files.delete(tempDirectory.resolve("x/y/first"));
+        Files.delete(tempDirectory.resolve("x/y"));
+
+        Assertions.assertEquals(List.of(tempDirectory.resolve("x/y"), tempDirectory.resolve("x/y/second")),
+            StorageProviderUtil.createMissingDirectories(tempDirectory, tempDirectory.resolve("x/y/second"), null,
+                null, PERMISSION_STR));
     }
 
     @Test
@@ -133,6 +225,10 @@ class StorageProviderUtilTest {
             StorageProviderUtil.md5("test".getBytes(StandardCharsets.UTF_8)));
     }
 
+    private static String permissions(final Path path) throws IOException {
+        return PosixFilePermissions.toString(Files.getPosixFilePermissions(path));
+    }
+
     // On linux, the owner of the created directory is the current user, not the www-data user
     @SuppressWarnings("unused")
     private static void checkPathPermissions(final Path path, final String principalName) throws IOException {
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2026 Rahim Alizada
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jyvee.spring.webstorage.provider.s3;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+class S3CircuitBreakerTest {
+
+    private static final long SLOW_CALL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final long OPEN_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    private final S3CircuitBreaker circuitBreaker =
+        new S3CircuitBreaker(50, 80, SLOW_CALL_NANOS, OPEN_NANOS, this.nanoTime::get);
+
+    @Test
+    void onResult_failureRateReached_opened() {
+        for (int i = 0; i < S3CircuitBreaker.MIN_CALLS - 1; i++) {
+            Assertions.assertTrue(this.circuitBreaker.tryAcquire());
+            Assertions.assertFalse(this.circuitBreaker.onResult(i % 2 == 0, 0));
+        }
+        Assertions.assertTrue(this.circuitBreaker.tryAcquire());
+        Assertions.assertTrue(this.circuitBreaker.onResult(true, 0));
+
+        Assertions.assertEquals(S3CircuitBreaker.State.OPEN, this.circuitBreaker.getState());
+        Assertions.assertFalse(this.circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    void onResult_slowCallRateReached_opened() {
+        for (int i = 0; i < S3CircuitBreaker.MIN_CALLS; i++) {
+            this.circuitBreaker.tryAcquire();
+            this.circuitBreaker.onResult(false, SLOW_CALL_NANOS);
+        }
+        Assertions.assertEquals(S3CircuitBreaker.State.OPEN, this.circuitBreaker.getState());
+    }
+
+    @Test
+    void onResult_oldFailuresLeftWindow_closed() {
+        record(S3CircuitBreaker.MIN_CALLS / 2 - 1, true);
+        record(S3CircuitBreaker.WINDOW_SIZE, false);
+        // Together with the evicted failures these would exceed the failure rate
+        record(S3CircuitBreaker.WINDOW_SIZE / 2 - 1, true);
+        Assertions.assertEquals(S3CircuitBreaker.State.CLOSED, this.circuitBreaker.getState());
+    }
+
+    @Test
+    void tryAcquire_openDurationElapsed_probesLetThrough() {
+        open();
+        this.nanoTime.addAndGet(OPEN_NANOS);
+
+        for (int i = 0; i < S3CircuitBreaker.HALF_OPEN_PROBES; i++) {
+            Assertions.assertTrue(this.circuitBreaker.tryAcquire());
+        }
+        Assertions.assertFalse(this.circuitBreaker.tryAcquire());
+        Assertions.assertEquals(S3CircuitBreaker.State.HALF_OPEN, this.circuitBreaker.getState());
+
+        for (int i = 0; i < S3CircuitBreaker.HALF_OPEN_PROBES; i++) {
+            this.circuitBreaker.onResult(false, 0);
+        }
+        Assertions.assertEquals(S3CircuitBreaker.State.CLOSED, this.circuitBreaker.getState());
+    }
+
+    @Test
+    void onResult_failedProbe_reopened() {
+        open();
+        this.nanoTime.addAndGet(OPEN_NANOS);
+
+        Assertions.assertTrue(this.circuitBreaker.tryAcquire());
+        Assertions.assertTrue(this.circuitBreaker.onResult(true, 0));
+        Assertions.assertEquals(S3CircuitBreaker.State.OPEN, this.circuitBreaker.getState());
+        Assertions.assertFalse(this.circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    void onIgnored_interruptedProbe_permissionReturned() {
+        open();
+        this.nanoTime.addAndGet(OPEN_NANOS);
+        for (int i = 0; i < S3CircuitBreaker.HALF_OPEN_PROBES; i++) {
+            this.circuitBreaker.tryAcquire();
+        }
+
+        this.circuitBreaker.onIgnored();
+        Assertions.assertTrue(this.circuitBreaker.tryAcquire());
+    }
+
+    private void open() {
+        record(S3CircuitBreaker.MIN_CALLS, true);
+        Assertions.assertEquals(S3CircuitBreaker.State.OPEN, this.circuitBreaker.getState());
+    }
+
+    private void record(final int count, final boolean failed) {
+        for (int i = 0; i < count; i++) {
+            Assertions.assertTrue(this.circuitBreaker.tryAcquire());
+            this.circuitBreaker.onResult(failed, 0);
+        }
+    }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2026 Rahim Alizada
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jyvee.spring.webstorage.provider.s3;
+
+import com.adobe.testing.s3mock.testcontainers.S3MockContainer;
+import com.jyvee.spring.webstorage.configuration.S3StorageConfigurationProperties;
+import com.jyvee.spring.webstorage.configuration.S3StorageConfigurationPropertiesImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+
+@Testcontainers
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class S3HeadClientTest {
+
+    @Container
+    private static final S3MockContainer S3_MOCK = new S3MockContainer("latest").withInitialBuckets("bucket");
+
+    private S3HeadClient client;
+
+    @BeforeAll
+    void beforeAll() throws IOException {
+        final S3StorageConfigurationProperties props = new S3StorageConfigurationPropertiesImpl(URI.create(
+            S3_MOCK.getHttpEndpoint()
+            + "/?region=region&bucket=bucket&key=key&secret=secret&endpoint=https://site.url"));
+        this.client = new S3HeadClient(HttpClientProvider.get().getHttpClient(), props);
+
+        final S3PutClient putClient = new S3PutClient(HttpClientProvider.get().getHttpClient(), props);
+        putClient.put("head/file.txt", "text/plain", "Test".getBytes(StandardCharsets.UTF_8),
+            Map.of("owner", "user1"));
+    }
+
+    @Test
+    void head_existingKey_returnsExpectedHeaders() throws IOException {
+        final Optional<S3GetResponse> response = this.client.head("head/file.txt");
+        Assertions.assertTrue(response.isPresent());
+        Assertions.assertEquals("text/plain", response.get().contentType());
+        Assertions.assertEquals(4L, response.get().contentLength());
+        Assertions.assertEquals("user1", response.get().metadata().get("owner"));
+        Assertions.assertNotNull(response.get().lastModified());
+    }
+
+    @Test
+    void head_nonExistentKey_empty() throws IOException {
+        Assertions.assertTrue(this.client.head("head/missing.txt").isEmpty());
+        Assertions.assertTrue(this.client.head("head").isEmpty());
+    }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2026 Rahim Alizada
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jyvee.spring.webstorage.provider.s3;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+class S3RateLimiterTest {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    @Test
+    void reserve_burstExhausted_delayed() {
+        final S3RateLimiter rateLimiter = new S3RateLimiter(10, this.nanoTime::get);
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertEquals(0, rateLimiter.reserve());
+        }
+        Assertions.assertEquals(TimeUnit.MILLISECONDS.toNanos(100), rateLimiter.reserve());
+        Assertions.assertEquals(TimeUnit.MILLISECONDS.toNanos(200), rateLimiter.reserve());
+
+        this.nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        Assertions.assertEquals(0, rateLimiter.reserve());
+    }
+
+    @Test
+    void onThrottle_repeatedThrottling_rateHalvedOncePerInterval() {
+        final S3RateLimiter rateLimiter = new S3RateLimiter(100, this.nanoTime::get);
+
+        Assertions.assertTrue(rateLimiter.onThrottle());
+        Assertions.assertFalse(rateLimiter.onThrottle());
+        Assertions.assertEquals(50, rateLimiter.getRate());
+        Assertions.assertTrue(rateLimiter.reserve() > 0);
+
+        this.nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        Assertions.assertTrue(rateLimiter.onThrottle());
+        Assertions.assertEquals(25, rateLimiter.getRate());
+    }
+
+    @Test
+    void onThrottle_sustainedThrottling_minRateKept() {
+        final S3RateLimiter rateLimiter = new S3RateLimiter(4, this.nanoTime::get);
+        for (int i = 0; i < 10; i++) {
+            this.nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(1));
+            rateLimiter.onThrottle();
+        }
+        Assertions.assertEquals(S3RateLimiter.MIN_RATE, rateLimiter.getRate());
+    }
+
+    @Test
+    void isExpired_fullOrStaleBucket_expired() {
+        final S3RateLimiter rateLimiter = new S3RateLimiter(10, this.nanoTime::get);
+        Assertions.assertTrue(rateLimiter.isExpired());
+
+        rateLimiter.reserve();
+        Assertions.assertFalse(rateLimiter.isExpired());
+        this.nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        Assertions.assertTrue(rateLimiter.isExpired());
+
+        // A lowered rate is kept until it is outdated
+        rateLimiter.onThrottle();
+        this.nanoTime.addAndGet(TimeUnit.MINUTES.toNanos(1));
+        Assertions.assertFalse(rateLimiter.isExpired());
+        this.nanoTime.addAndGet(TimeUnit.MINUTES.toNanos(10));
+        Assertions.assertTrue(rateLimiter.isExpired());
+    }
+
+    @Test
+    void onSuccess_afterThrottling_rateRecoveredUpToMax() {
+        final S3RateLimiter rateLimiter = new S3RateLimiter(100, this.nanoTime::get);
+        rateLimiter.onThrottle();
+
+        rateLimiter.onSuccess();
+        Assertions.assertEquals(50, rateLimiter.getRate());
+
+        this.nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        rateLimiter.onSuccess();
+        Assertions.assertEquals(51, rateLimiter.getRate());
+
+        for (int i = 0; i < 100; i++) {
+            this.nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+            rateLimiter.onSuccess();
+        }
+        Assertions.assertEquals(100, rateLimiter.getRate());
+    }
+
+}
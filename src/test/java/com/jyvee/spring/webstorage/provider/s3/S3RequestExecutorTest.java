@@ -0,0 +1,373 @@
+/*
+ * Copyright (c) 2026 Rahim Alizada
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jyvee.spring.webstorage.provider.s3;
+
+import com.jyvee.spring.webstorage.configuration.S3StorageConfigurationProperties;
+import com.jyvee.spring.webstorage.configuration.S3StorageConfigurationPropertiesImpl;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class S3RequestExecutorTest {
+
+    private final Queue<Integer> statuses = new ConcurrentLinkedQueue<>();
+
+    private final Queue<Long> delaysMillis = new ConcurrentLinkedQueue<>();
+
+    private final List<String> amzDates = new ArrayList<>();
+
+    private HttpServer server;
+
+    @BeforeAll
+    void beforeAll() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.server.createContext("/", exchange -> {
+            synchronized (this.amzDates) {
+                this.amzDates.add(exchange.getRequestHeaders().getFirst("x-amz-date"));
+            }
+            final Long delayMillis = this.delaysMillis.poll();
+            if (delayMillis != null) {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (final InterruptedException _) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            final Integer status = this.statuses.poll();
+            final byte[] body = "body".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status == null ? 200 : status, body.length);
+            try (final OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        });
+        this.server.setExecutor(Executors.newCachedThreadPool());
+        this.server.start();
+    }
+
+    @AfterAll
+    void afterAll() {
+        this.server.stop(0);
+    }
+
+    @BeforeEach
+    void beforeEach() {
+        this.statuses.clear();
+        this.delaysMillis.clear();
+        synchronized (this.amzDates) {
+            this.amzDates.clear();
+        }
+    }
+
+    @Test
+    void send_throttledThenOk_retriedAndResigned() throws IOException, InterruptedException {
+        final S3RequestExecutor executor =
+            new S3RequestExecutor(configuration("retry", "maxAttempts=3&retryBaseDelay=1ms"));
+        this.statuses.addAll(List.of(503, 503));
+
+        final HttpResponse<String> response = send(executor, S3Operation.GET);
+
+        Assertions.assertEquals(200, response.statusCode());
+        Assertions.assertEquals(1, executor.getMetrics().getRequests());
+        Assertions.assertEquals(3, executor.getMetrics().getAttempts());
+        Assertions.assertEquals(2, executor.getMetrics().getRetries());
+        Assertions.assertEquals(3, this.amzDates.size());
+    }
+
+    @Test
+    void send_throttledTooOften_lastResponseReturned() throws IOException, InterruptedException {
+        final S3RequestExecutor executor =
+            new S3RequestExecutor(configuration("exhausted", "maxAttempts=2&retryBaseDelay=1ms"));
+        this.statuses.addAll(List.of(503, 503, 503));
+
+        Assertions.assertEquals(503, send(executor, S3Operation.PUT).statusCode());
+        Assertions.assertEquals(2, executor.getMetrics().getAttempts());
+        Assertions.assertEquals(1, executor.getMetrics().getRetriesExhausted());
+    }
+
+    @Test
+    void send_clientError_notRetried() throws IOException, InterruptedException {
+        final S3RequestExecutor executor =
+            new S3RequestExecutor(configuration("client-error", "maxAttempts=3&retryBaseDelay=1ms"));
+        this.statuses.add(404);
+
+        Assertions.assertEquals(404, send(executor, S3Operation.GET).statusCode());
+        Assertions.assertEquals(1, executor.getMetrics().getAttempts());
+        Assertions.assertEquals(0, executor.getMetrics().getRetries());
+    }
+
+    @Test
+    void send_emptyRetryBudget_notRetried() throws IOException, InterruptedException {
+        final S3RequestExecutor executor =
+            new S3RequestExecutor(configuration("budget", "retryBudget=0&retryBaseDelay=1ms"));
+        this.statuses.add(500);
+
+        Assertions.assertEquals(500, send(executor, S3Operation.GET).statusCode());
+        Assertions.assertEquals(1, executor.getMetrics().getRetryBudgetExhausted());
+    }
+
+    @Test
+    void backoffDelay_growingAttempts_cappedByMaxDelay() {
+        final S3RequestExecutor executor =
+            new S3RequestExecutor(configuration("backoff", "retryBaseDelay=100ms&retryMaxDelay=1s"));
+        for (int attempt = 1; attempt < 100; attempt++) {
+            final Duration delay = executor.backoffDelay(attempt);
+            Assertions.assertFalse(delay.isNegative());
+            Assertions.assertTrue(delay.compareTo(Duration.ofSeconds(1)) <= 0);
+            Assertions.assertTrue(delay.toMillis() <= 100L << Math.min(attempt - 1, 30));
+        }
+    }
+
+    @Test
+    void send_throttled_prefixRateLowered() throws IOException, InterruptedException {
+        final S3RequestExecutor executor =
+            new S3RequestExecutor(configuration("rate", "maxRequestRate=1000&retryBaseDelay=1ms"));
+        this.statuses.addAll(List.of(503, 503));
+
+        Assertions.assertEquals(200, send(executor, S3Operation.PUT, "images/a.png").statusCode());
+        final S3RateLimiter rateLimiter = executor.getRateLimiter("images/b.png");
+        Assertions.assertNotNull(rateLimiter);
+        // Halved by the first throttled response, possibly grown back a bit by the successful retry
+        Assertions.assertTrue(rateLimiter.getRate() < 1000);
+        Assertions.assertEquals(1, executor.getMetrics().getRateDecreases());
+        Assertions.assertEquals(1000, executor.getRateLimiter("docs/a.pdf").getRate());
+    }
+
+    @Test
+    void getRateLimiter_zeroMaxRequestRate_disabled() {
+        final S3RequestExecutor executor = new S3RequestExecutor(configuration("unlimited", "maxRequestRate=0"));
+        Assertions.assertNull(executor.getRateLimiter("images/a.png"));
+    }
+
+    @Test
+    void expireRateLimiters_idleAndThrottledPrefixes_onlyIdleDropped() {
+        final S3RequestExecutor executor = new S3RequestExecutor(configuration("rate-expiry", "maxRequestRate=1000"));
+        final S3RateLimiter idle = executor.getRateLimiter("images/a.png");
+        final S3RateLimiter throttled = executor.getRateLimiter("docs/a.pdf");
+        Assertions.assertNotNull(idle);
+        Assertions.assertNotNull(throttled);
+        throttled.onThrottle();
+
+        executor.expireRateLimiters();
+        Assertions.assertNotSame(idle, executor.getRateLimiter("images/b.png"));
+        Assertions.assertSame(throttled, executor.getRateLimiter("docs/b.pdf"));
+    }
+
+    @Test
+    void send_slowRead_hedgedAndFasterResponseUsed() throws IOException, InterruptedException {
+        final S3RequestExecutor executor =
+            new S3RequestExecutor(configuration("hedge", "hedgeDelay=50ms&maxHedgePercent=100"));
+        this.delaysMillis.add(5000L);
+
+        final long start = System.nanoTime();
+        Assertions.assertEquals(200, send(executor, S3Operation.GET).statusCode());
+        Assertions.assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(4)) < 0);
+        Assertions.assertEquals(1, executor.getMetrics().getHedges());
+        Assertions.assertEquals(1, executor.getMetrics().getHedgeWins());
+    }
+
+    @Test
+    void send_hedgeThrottled_slowerSuccessfulResponseUsed() throws IOException, InterruptedException {
+        final S3RequestExecutor executor = new S3RequestExecutor(
+            configuration("hedge-throttled", "maxAttempts=1&hedgeDelay=50ms&maxHedgePercent=100"));
+        this.delaysMillis.add(500L);
+        // Answers the hedge, the slow primary request is answered with the default 200
+        this.statuses.add(503);
+
+        Assertions.assertEquals(200, send(executor, S3Operation.GET).statusCode());
+        Assertions.assertEquals(1, executor.getMetrics().getHedges());
+        Assertions.assertEquals(0, executor.getMetrics().getHedgeWins());
+    }
+
+    @Test
+    void send_hedgeAndPrimaryThrottled_throttledResponseReturned() throws IOException, InterruptedException {
+        final S3RequestExecutor executor =
+            new S3RequestExecutor(configuration("hedge-both", "maxAttempts=1&hedgeDelay=50ms&maxHedgePercent=100"));
+        this.delaysMillis.add(500L);
+        this.statuses.addAll(List.of(503, 503));
+
+        Assertions.assertEquals(503, send(executor, S3Operation.GET).statusCode());
+        Assertions.assertEquals(1, executor.getMetrics().getHedges());
+    }
+
+    @Test
+    void send_slowWrite_notHedged() throws IOException, InterruptedException {
+        final S3RequestExecutor executor =
+            new S3RequestExecutor(configuration("hedge-write", "hedgeDelay=10ms&maxHedgePercent=100"));
+        this.delaysMillis.add(200L);
+
+        Assertions.assertEquals(200, send(executor, S3Operation.PUT).statusCode());
+        Assertions.assertEquals(0, executor.getMetrics().getHedges());
+        Assertions.assertEquals(1, this.amzDates.size());
+    }
+
+    @Test
+    void send_fastRead_notHedged() throws IOException, InterruptedException {
+        final S3RequestExecutor executor = new S3RequestExecutor(configuration("hedge-fast", "hedgeDelay=5s"));
+
+        Assertions.assertEquals(200, send(executor, S3Operation.LIST).statusCode());
+        Assertions.assertEquals(0, executor.getMetrics().getHedges());
+    }
+
+    @Test
+    void send_serverErrors_circuitOpenedAndFailingFast() throws IOException, InterruptedException {
+        final S3RequestExecutor executor =
+            new S3RequestExecutor(configuration("breaker", "maxAttempts=1&circuitBreakerFailureRate=50"));
+        for (int i = 0; i < S3CircuitBreaker.MIN_CALLS; i++) {
+            this.statuses.add(500);
+            Assertions.assertEquals(500, send(executor, S3Operation.GET).statusCode());
+        }
+        Assertions.assertEquals(S3CircuitBreaker.State.OPEN, executor.getCircuitBreakerState());
+
+        Assertions.assertThrows(IOException.class, () -> send(executor, S3Operation.GET));
+        Assertions.assertEquals(S3CircuitBreaker.MIN_CALLS, this.amzDates.size());
+        Assertions.assertEquals(1, executor.getMetrics().getCircuitBreakerOpened());
+        Assertions.assertEquals(1, executor.getMetrics().getCircuitBreakerRejected());
+    }
+
+    @Test
+    void send_throttledResponses_circuitKeptClosed() throws IOException, InterruptedException {
+        final S3RequestExecutor executor =
+            new S3RequestExecutor(configuration("breaker-throttled", "maxAttempts=1&circuitBreakerFailureRate=50"));
+        for (int i = 0; i < S3CircuitBreaker.MIN_CALLS; i++) {
+            this.statuses.add(503);
+            Assertions.assertEquals(503, send(executor, S3Operation.GET).statusCode());
+        }
+
+        Assertions.assertEquals(S3CircuitBreaker.State.CLOSED, executor.getCircuitBreakerState());
+        Assertions.assertEquals(200, send(executor, S3Operation.GET).statusCode());
+    }
+
+    @Test
+    void send_defaultConfiguration_noBulkheadNorCircuitBreaker() {
+        final S3RequestExecutor executor = new S3RequestExecutor(configuration("defaults", ""));
+
+        Assertions.assertNull(executor.getCircuitBreakerState());
+    }
+
+    @Test
+    void send_tooManyConcurrentRequests_rejected() throws Exception {
+        final S3RequestExecutor executor =
+            new S3RequestExecutor(configuration("bulkhead", "maxConcurrentRequests=1&bulkheadMaxWait=0ms"));
+        this.delaysMillis.add(1000L);
+        final CompletableFuture<HttpResponse<String>> slowRequest = CompletableFuture.supplyAsync(() -> {
+            try {
+                return send(executor, S3Operation.PUT);
+            } catch (final IOException | InterruptedException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        while (this.amzDates.isEmpty()) {
+            Thread.onSpinWait();
+        }
+
+        Assertions.assertThrows(IOException.class, () -> send(executor, S3Operation.GET));
+        Assertions.assertEquals(1, executor.getMetrics().getBulkheadRejected());
+        Assertions.assertEquals(200, slowRequest.get().statusCode());
+        Assertions.assertEquals(200, send(executor, S3Operation.GET).statusCode());
+    }
+
+    @Test
+    void send_requestWaitingToRetry_bulkheadPermitReleased() throws Exception {
+        final S3RequestExecutor executor = new S3RequestExecutor(configuration("bulkhead-retry",
+            "maxConcurrentRequests=1&bulkheadMaxWait=0ms&maxRequestRate=1&retryBaseDelay=1ms&maxAttempts=2"));
+        this.statuses.add(503);
+        final CompletableFuture<HttpResponse<String>> throttledRequest = CompletableFuture.supplyAsync(() -> {
+            try {
+                return send(executor, S3Operation.GET, "images/a.png");
+            } catch (final IOException | InterruptedException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        // The lowered rate holds the retry back for a second
+        while (executor.getMetrics().getRateDecreases() == 0) {
+            Thread.onSpinWait();
+        }
+
+        Assertions.assertEquals(200, send(executor, S3Operation.GET, "docs/a.pdf").statusCode());
+        Assertions.assertEquals(0, executor.getMetrics().getBulkheadRejected());
+        Assertions.assertEquals(200, throttledRequest.get().statusCode());
+    }
+
+    @Test
+    void get_sameStorageDifferentSettings_separateExecutors() {
+        final S3StorageConfigurationProperties configuration = configuration("shared", "maxAttempts=1");
+        final S3StorageConfigurationProperties otherConfiguration = configuration("shared", "maxAttempts=5");
+        Assertions.assertEquals(configuration.getStorageId(), otherConfiguration.getStorageId());
+
+        Assertions.assertSame(S3RequestExecutor.get(configuration), S3RequestExecutor.get(configuration));
+        Assertions.assertNotSame(S3RequestExecutor.get(configuration), S3RequestExecutor.get(otherConfiguration));
+    }
+
+    @Test
+    void prefixOf_validArgs_ok() {
+        Assertions.assertEquals("images", S3RequestExecutor.prefixOf("/images/2024/a.png"));
+        Assertions.assertEquals("images", S3RequestExecutor.prefixOf("images/"));
+        Assertions.assertEquals("", S3RequestExecutor.prefixOf("a.png"));
+        Assertions.assertEquals("", S3RequestExecutor.prefixOf(""));
+    }
+
+    @Test
+    void isRetryableStatus_validArgs_ok() {
+        Assertions.assertTrue(S3RequestExecutor.isRetryableStatus(S3Operation.PUT, 503));
+        Assertions.assertTrue(S3RequestExecutor.isRetryableStatus(S3Operation.GET, 429));
+        Assertions.assertTrue(S3RequestExecutor.isRetryableStatus(S3Operation.GET, 500));
+        Assertions.assertFalse(S3RequestExecutor.isRetryableStatus(S3Operation.GET, 403));
+        Assertions.assertFalse(S3RequestExecutor.isRetryableStatus(S3Operation.GET, 200));
+    }
+
+    private HttpResponse<String> send(final S3RequestExecutor executor, final S3Operation operation)
+        throws IOException, InterruptedException {
+        return send(executor, operation, "key");
+    }
+
+    private HttpResponse<String> send(final S3RequestExecutor executor, final S3Operation operation,
+                                      final String path) throws IOException, InterruptedException {
+        return executor.send(HttpClientProvider.get().getHttpClient(), operation, path, () -> HttpRequest
+            .newBuilder(URI.create("http://localhost:" + this.server.getAddress().getPort() + "/bucket/" + path))
+            .header("x-amz-date", S3ClientUtils.amzDate(Instant.now()))
+            .GET()
+            .build());
+    }
+
+    private S3StorageConfigurationProperties configuration(final String bucket, final String parameters) {
+        return new S3StorageConfigurationPropertiesImpl(URI.create(
+            "http://localhost:" + this.server.getAddress().getPort() + "/?region=region&bucket=" + bucket
+            + "&key=key&secret=secret&endpoint=https://site.url&" + parameters));
+    }
+
+}
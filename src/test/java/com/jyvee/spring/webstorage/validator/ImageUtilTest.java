@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023-2025 Rahim Alizada
+ * Copyright (c) 2023-2026 Rahim Alizada
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,6 +24,11 @@ import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 class ImageUtilTest {
 
@@ -38,6 +43,48 @@ class ImageUtilTest {
         Assertions.assertThrows(IOException.class, () -> ImageUtil.getReader("image/invalid"));
     }
 
+    @Test
+    void readSize_validArgs_ok() throws IOException {
+        final byte[] payload = Files.readAllBytes(new ClassPathResource("image.jpeg").getFile().toPath());
+        Assertions.assertEquals(new ImageUtil.ImageSize(600, 400), ImageUtil.readSize(payload, "image/jpeg"));
+    }
+
+    @Test
+    void readSize_invalidArgs_exception() {
+        Assertions.assertThrows(IOException.class,
+            () -> ImageUtil.readSize("test".getBytes(StandardCharsets.UTF_8), "image/jpeg"));
+        Assertions.assertThrows(IOException.class,
+            () -> ImageUtil.readSize("test".getBytes(StandardCharsets.UTF_8), "image/invalid"));
+    }
+
+    @Test
+    void readSize_afterFailure_readerReusable() throws IOException {
+        final byte[] payload = Files.readAllBytes(new ClassPathResource("image.jpeg").getFile().toPath());
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertThrows(IOException.class,
+                () -> ImageUtil.readSize("test".getBytes(StandardCharsets.UTF_8), "image/jpeg"));
+            Assertions.assertEquals(new ImageUtil.ImageSize(600, 400), ImageUtil.readSize(payload, "image/jpeg"));
+            Assertions.assertEquals(600, ImageUtil.toBufferedImage(payload, "image/jpeg").getWidth());
+        }
+    }
+
+    @Test
+    void readSize_concurrentReads_pooledReadersIsolated() throws Exception {
+        final byte[] payload = Files.readAllBytes(new ClassPathResource("image.jpeg").getFile().toPath());
+        final ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            final List<Future<ImageUtil.ImageSize>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                futures.add(executor.submit(() -> ImageUtil.readSize(payload, "image/jpeg")));
+            }
+            for (final Future<ImageUtil.ImageSize> future : futures) {
+                Assertions.assertEquals(new ImageUtil.ImageSize(600, 400), future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     void toBufferedImage_validArgs_ok() throws IOException {
         final byte[] payload = Files.readAllBytes(new ClassPathResource("image.jpeg").getFile().toPath());
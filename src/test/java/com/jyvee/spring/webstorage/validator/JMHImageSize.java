@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026 Rahim Alizada
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jyvee.spring.webstorage.validator;
+
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.springframework.core.io.ClassPathResource;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading the image dimensions from the header with decoding the whole image, for the 600x400 test image
+ * and a synthetic 8000x5000 (40 megapixel) JPEG.
+ */
+@SuppressWarnings("WeakerAccess")
+public class JMHImageSize {
+
+    @Test
+    @Disabled
+    void benchmarkLauncher() throws RunnerException {
+        final Options options = new OptionsBuilder().include(this.getClass().getName() + "\\..*") //
+                                                    .warmupTime(TimeValue.seconds(10))
+                                                    .warmupIterations(2)//
+                                                    .measurementTime(TimeValue.seconds(20))
+                                                    .measurementIterations(3)//
+                                                    .mode(Mode.AverageTime)
+                                                    .timeUnit(TimeUnit.MICROSECONDS)
+                                                    .forks(1)
+                                                    .shouldFailOnError(true)
+                                                    .shouldDoGC(true)
+                                                    .timeout(TimeValue.minutes(3))
+                                                    .build();
+        new Runner(options).run();
+    }
+
+    @State(Scope.Benchmark)
+    public static class BenchmarkState {
+
+        @Param({"image.jpeg", "synthetic"})
+        private String image;
+
+        private byte[] payload;
+
+        @Setup
+        public void setup() throws IOException {
+            if ("synthetic".equals(this.image)) {
+                final BufferedImage bufferedImage = new BufferedImage(8000, 5000, BufferedImage.TYPE_INT_RGB);
+                for (int y = 0; y < bufferedImage.getHeight(); y++) {
+                    for (int x = 0; x < bufferedImage.getWidth(); x++) {
+                        bufferedImage.setRGB(x, y, x * 31 ^ y * 17);
+                    }
+                }
+                final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                ImageIO.write(bufferedImage, "jpeg", outputStream);
+                this.payload = outputStream.toByteArray();
+            } else {
+                this.payload = Files.readAllBytes(new ClassPathResource(this.image).getFile().toPath());
+            }
+        }
+
+    }
+
+    @Benchmark
+    public static void readSize(final BenchmarkState benchmarkState, final Blackhole blackhole) throws IOException {
+        blackhole.consume(ImageUtil.readSize(benchmarkState.payload, "image/jpeg"));
+    }
+
+    @Benchmark
+    public static void toBufferedImage(final BenchmarkState benchmarkState, final Blackhole blackhole)
+        throws IOException {
+        blackhole.consume(ImageUtil.toBufferedImage(benchmarkState.payload, "image/jpeg"));
+    }
+
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2026 Rahim Alizada
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jyvee.spring.webstorage.validator;
+
+import com.jyvee.spring.test.webstorage.WebFileType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.Set;
+
+class StorageContentSniffingValidatorTest {
+
+    private static final StorageContentTypeValidatorConfiguration CONFIGURATION =
+        new StorageContentTypeValidatorConfiguration() {
+            @Override
+            public Set<String> getContentTypes() {
+                return Set.of();
+            }
+
+            @Override
+            public boolean isContentSniffingEnabled() {
+                return true;
+            }
+        };
+
+    private static byte[] payload;
+
+    private final StorageContentSniffingValidator validator = new StorageContentSniffingValidator();
+
+    @BeforeAll
+    static void beforeAll() throws IOException {
+        payload = Files.readAllBytes(new ClassPathResource("image.jpeg").getFile().toPath());
+    }
+
+    @Test
+    void validate_matchingContent_detectedContentType() {
+        Assertions.assertEquals(Map.of("detectedContentType", "image/jpeg"),
+            this.validator.validate(CONFIGURATION, "image/jpeg", payload));
+        Assertions.assertEquals(Map.of("detectedContentType", "image/jpeg"),
+            this.validator.validate(CONFIGURATION, "Image/JPEG; charset=binary", payload));
+        Assertions.assertEquals(Map.of("detectedContentType", "image/png"),
+            this.validator.validate(CONFIGURATION, "image/png", bytes(0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)));
+        Assertions.assertEquals(Map.of("detectedContentType", "image/webp"),
+            this.validator.validate(CONFIGURATION, "image/webp", bytes('R', 'I', 'F', 'F', 1, 2, 3, 4, 'W', 'E', 'B',
+                'P')));
+        Assertions.assertEquals(Map.of("detectedContentType", "video/mp4"),
+            this.validator.validate(CONFIGURATION, "video/mp4", bytes(0, 0, 0, 0x20, 'f', 't', 'y', 'p', 'i', 's')));
+        Assertions.assertEquals(Map.of("detectedContentType", "video/webm"),
+            this.validator.validate(CONFIGURATION, "audio/webm", bytes(0x1A, 0x45, 0xDF, 0xA3, 0x9F)));
+        Assertions.assertEquals(Map.of("detectedContentType", "application/pdf"),
+            this.validator.validate(CONFIGURATION, "application/pdf", "%PDF-1.7".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void validate_mp3_detectedWithOrWithoutTag() {
+        Assertions.assertEquals(Map.of("detectedContentType", "audio/mpeg"),
+            this.validator.validate(CONFIGURATION, "audio/mpeg", bytes('I', 'D', '3', 4, 0)));
+        // MPEG 1, 2 and 2.5 layer III frames
+        for (final int header : new int[] {0xFB, 0xFA, 0xF3, 0xF2, 0xE3, 0xE2}) {
+            Assertions.assertEquals(Map.of("detectedContentType", "audio/mpeg"),
+                this.validator.validate(CONFIGURATION, "audio/mpeg", bytes(0xFF, header, 0x90, 0x64)));
+        }
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> this.validator.validate(CONFIGURATION, "audio/mpeg", bytes(0xFF, 0xD8, 0xFF, 0xE0)));
+    }
+
+    @Test
+    void validate_isoBaseMediaFiles_detectedFromMajorBrand() {
+        Assertions.assertEquals(Map.of("detectedContentType", "image/heic"),
+            this.validator.validate(CONFIGURATION, "image/heic", bytes(0, 0, 0, 0x18, 'f', 't', 'y', 'p', 'h', 'e', 'i',
+                'c')));
+        Assertions.assertEquals(Map.of("detectedContentType", "image/avif"),
+            this.validator.validate(CONFIGURATION, "image/avif", bytes(0, 0, 0, 0x18, 'f', 't', 'y', 'p', 'a', 'v', 'i',
+                'f')));
+        Assertions.assertEquals(Map.of("detectedContentType", "audio/mp4"),
+            this.validator.validate(CONFIGURATION, "audio/mp4", bytes(0, 0, 0, 0x18, 'f', 't', 'y', 'p', 'M', '4', 'A',
+                ' ')));
+        Assertions.assertEquals(Map.of("detectedContentType", "video/quicktime"),
+            this.validator.validate(CONFIGURATION, "video/quicktime", bytes(0, 0, 0, 0x14, 'f', 't', 'y', 'p', 'q',
+                't', ' ', ' ')));
+        Assertions.assertEquals(Map.of("detectedContentType", "video/quicktime"),
+            this.validator.validate(CONFIGURATION, "video/quicktime", bytes(0, 0, 0x10, 0, 'm', 'o', 'o', 'v')));
+        Assertions.assertEquals(Map.of("detectedContentType", "video/mp4"),
+            this.validator.validate(CONFIGURATION, "audio/mp4", bytes(0, 0, 0, 0x18, 'f', 't', 'y', 'p', 'i', 's', 'o',
+                'm')));
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> this.validator.validate(CONFIGURATION, "video/mp4", bytes(0, 0, 0, 0x18, 'f', 't', 'y', 'p', 'h', 'e',
+                'i', 'c')));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> this.validator.validate(CONFIGURATION, "image/heic", bytes(0, 0, 0, 0x18, 'f', 't', 'y', 'p', 'i',
+                's', 'o', 'm')));
+    }
+
+    @Test
+    void validate_unknownSignature_notChecked() {
+        Assertions.assertTrue(
+            this.validator.validate(CONFIGURATION, "text/plain", "BM text".getBytes(StandardCharsets.UTF_8)).isEmpty());
+        Assertions.assertTrue(this.validator.validate(CONFIGURATION, "text/plain", payload).isEmpty());
+    }
+
+    @Test
+    void validate_disabledOrInvalidConfig_emptyMap() {
+        Assertions.assertTrue(this.validator.validate(WebFileType.VALID, "image/png", payload).isEmpty());
+        Assertions.assertTrue(this.validator.validate(new Object(), "image/png", payload).isEmpty());
+    }
+
+    @Test
+    void validate_mismatchingContent_exception() {
+        Assertions.assertEquals("Content does not match the content type", Assertions
+            .assertThrows(IllegalArgumentException.class,
+                () -> this.validator.validate(CONFIGURATION, "image/png", payload))
+            .getMessage());
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> this.validator.validate(CONFIGURATION, "image/jpeg", "payload".getBytes(StandardCharsets.UTF_8)));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> this.validator.validate(CONFIGURATION, "image/webp", bytes('R', 'I', 'F', 'F', 1, 2, 3, 4, 'W')));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> this.validator.validate(CONFIGURATION, "image/jpeg", new byte[0]));
+    }
+
+    private static byte[] bytes(final int... values) {
+        final byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte) values[i];
+        }
+        return bytes;
+    }
+
+}
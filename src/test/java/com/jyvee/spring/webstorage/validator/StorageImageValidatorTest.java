@@ -17,15 +17,23 @@
 package com.jyvee.spring.webstorage.validator;
 
 import com.jyvee.spring.test.webstorage.WebFileType;
+import org.jspecify.annotations.Nullable;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.springframework.core.io.ClassPathResource;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.Map;
+import java.util.zip.CRC32;
 
 class StorageImageValidatorTest {
 
@@ -46,6 +54,64 @@ class StorageImageValidatorTest {
         Assertions.assertEquals("400", metadata.get("height"));
     }
 
+    @Test
+    void validate_fullDecodeRequired_sameDimensions() {
+        final StorageImageValidatorConfiguration configuration = configuration(true, null);
+
+        Assertions.assertEquals(Map.of("width", "600", "height", "400"),
+            this.validator.validate(configuration, "image/jpeg", payload));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> this.validator.validate(configuration, "image/jpeg", "payload".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void validate_decompressionBomb_rejectedByHeader() throws IOException {
+        final byte[] bomb = pngHeader(50_000, 50_000);
+
+        Assertions.assertEquals("Image width is too big", Assertions
+            .assertThrows(IllegalArgumentException.class,
+                () -> this.validator.validate(WebFileType.VALID, "image/png", bomb))
+            .getMessage());
+        Assertions.assertEquals("Image width is too big", Assertions
+            .assertThrows(IllegalArgumentException.class,
+                () -> this.validator.validate(configuration(true, null), "image/png", bomb))
+            .getMessage());
+    }
+
+    @Test
+    void validate_stream_onlyHeaderRead() throws IOException {
+        final byte[] header = pngHeader(50_000, 50_000);
+        // The header is followed by more data than the validator may peek at, reading past it fails the test
+        final InputStream inputStream = new SequenceInputStream(new ByteArrayInputStream(header), new InputStream() {
+            private int remaining = 128 * 1024;
+
+            @Override
+            public int read() {
+                if (this.remaining-- <= 0) {
+                    throw new IllegalStateException("Payload was fully read");
+                }
+                return 0;
+            }
+        });
+
+        Assertions.assertEquals("Image width is too big", Assertions
+            .assertThrows(IllegalArgumentException.class,
+                () -> this.validator.validate(WebFileType.VALID, "image/png", StoragePayload.of(inputStream, -1)))
+            .getMessage());
+        Assertions.assertEquals(Map.of("width", "600", "height", "400"), this.validator.validate(WebFileType.VALID,
+            "image/jpeg", StoragePayload.of(new ByteArrayInputStream(payload), payload.length)));
+    }
+
+    @Test
+    void validate_maxPixelsExceeded_exception() {
+        Assertions.assertEquals(Map.of("width", "600", "height", "400"),
+            this.validator.validate(configuration(false, 600L * 400), "image/jpeg", payload));
+        Assertions.assertEquals("Image resolution is too big", Assertions
+            .assertThrows(IllegalArgumentException.class,
+                () -> this.validator.validate(configuration(true, 600L * 400 - 1), "image/jpeg", payload))
+            .getMessage());
+    }
+
     @Test
     void validate_InvalidPayload_Exception() {
         Assertions.assertThrows(IllegalArgumentException.class,
@@ -75,4 +141,54 @@ class StorageImageValidatorTest {
             .getMessage());
     }
 
+    private static StorageImageValidatorConfiguration configuration(final boolean fullDecodeRequired,
+                                                                    @Nullable final Long maxPixels) {
+        return new StorageImageValidatorConfiguration() {
+            @Override
+            public Integer getMinWidth() {
+                return WebFileType.VALID.getMinWidth();
+            }
+
+            @Override
+            public Integer getMinHeight() {
+                return WebFileType.VALID.getMinHeight();
+            }
+
+            @Override
+            public Integer getMaxWidth() {
+                return WebFileType.VALID.getMaxWidth();
+            }
+
+            @Override
+            public Integer getMaxHeight() {
+                return WebFileType.VALID.getMaxHeight();
+            }
+
+            @Override
+            public @Nullable Long getMaxPixels() {
+                return maxPixels;
+            }
+
+            @Override
+            public boolean isFullDecodeRequired() {
+                return fullDecodeRequired;
+            }
+        };
+    }
+
+    /** PNG signature and header chunk of an RGBA image, without any pixel data */
+    private static byte[] pngHeader(final int width, final int height) throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final DataOutputStream dataOutputStream = new DataOutputStream(outputStream);
+        dataOutputStream.write(new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'});
+        final ByteBuffer chunk = ByteBuffer.allocate(17).put("IHDR".getBytes(StandardCharsets.US_ASCII));
+        chunk.putInt(width).putInt(height).put((byte) 8).put((byte) 6).put((byte) 0).put((byte) 0).put((byte) 0);
+        final CRC32 crc = new CRC32();
+        crc.update(chunk.array());
+        dataOutputStream.writeInt(13);
+        dataOutputStream.write(chunk.array());
+        dataOutputStream.writeInt((int) crc.getValue());
+        return outputStream.toByteArray();
+    }
+
 }
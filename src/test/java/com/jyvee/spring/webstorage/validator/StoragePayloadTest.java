@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2026 Rahim Alizada
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jyvee.spring.webstorage.validator;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+class StoragePayloadTest {
+
+    @Test
+    void of_byteArray_sameArray() throws IOException {
+        final byte[] bytes = {1, 2, 3};
+        final StoragePayload payload = StoragePayload.of(bytes);
+
+        Assertions.assertEquals(3, payload.getLength());
+        Assertions.assertSame(bytes, payload.readAllBytes());
+        Assertions.assertSame(bytes, payload.peek(10));
+        Assertions.assertArrayEquals(new byte[] {1, 2}, payload.peek(2));
+    }
+
+    @Test
+    void peek_stream_onlyPeekedBytesRead() throws IOException {
+        final byte[] bytes = bytes(100_000);
+        final CountingInputStream inputStream = new CountingInputStream(bytes);
+        final StoragePayload payload = StoragePayload.of(inputStream, -1);
+
+        Assertions.assertEquals(-1, payload.getLength());
+        Assertions.assertArrayEquals(Arrays.copyOf(bytes, 12), payload.peek(12));
+        Assertions.assertTrue(inputStream.getCount() <= 8 * 1024);
+        Assertions.assertArrayEquals(Arrays.copyOf(bytes, 20_000), payload.peek(20_000));
+        Assertions.assertTrue(inputStream.getCount() < bytes.length);
+
+        Assertions.assertArrayEquals(bytes, payload.readAllBytes());
+        Assertions.assertSame(payload.readAllBytes(), payload.peek(200_000));
+        Assertions.assertArrayEquals(Arrays.copyOf(bytes, 12), payload.peek(12));
+    }
+
+    @Test
+    void readAllBytes_declaredLength_read() throws IOException {
+        final byte[] bytes = bytes(50_000);
+        final StoragePayload payload = StoragePayload.of(new ByteArrayInputStream(bytes), bytes.length);
+
+        Assertions.assertEquals(bytes.length, payload.getLength());
+        Assertions.assertArrayEquals(Arrays.copyOf(bytes, 100), payload.peek(100));
+        Assertions.assertArrayEquals(bytes, payload.readAllBytes());
+        Assertions.assertArrayEquals(new byte[0], StoragePayload.of(new ByteArrayInputStream(new byte[0]), 0).peek(8));
+    }
+
+    @Test
+    void readAllBytes_lengthMismatch_exception() {
+        final byte[] bytes = bytes(10_000);
+
+        Assertions.assertThrows(IOException.class,
+            () -> StoragePayload.of(new ByteArrayInputStream(bytes), bytes.length - 1).readAllBytes());
+        Assertions.assertThrows(IOException.class,
+            () -> StoragePayload.of(new ByteArrayInputStream(bytes), bytes.length + 1).readAllBytes());
+    }
+
+    private static byte[] bytes(final int length) {
+        final byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (i * 31);
+        }
+        return bytes;
+    }
+
+    private static final class CountingInputStream extends InputStream {
+
+        private final ByteArrayInputStream delegate;
+
+        private long count;
+
+        private CountingInputStream(final byte[] bytes) {
+            this.delegate = new ByteArrayInputStream(bytes);
+        }
+
+        @Override
+        public int read() {
+            final int read = this.delegate.read();
+            this.count += read == -1 ? 0 : 1;
+            return read;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int offset, final int length) {
+            final int read = this.delegate.read(bytes, offset, length);
+            this.count += Math.max(read, 0);
+            return read;
+        }
+
+        private long getCount() {
+            return this.count;
+        }
+
+    }
+
+}
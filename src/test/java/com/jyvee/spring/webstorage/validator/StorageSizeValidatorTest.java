@@ -22,7 +22,9 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.springframework.core.io.ClassPathResource;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 
 class StorageSizeValidatorTest {
@@ -47,6 +49,30 @@ class StorageSizeValidatorTest {
         Assertions.assertTrue(this.validator.validate(new Object(), "unused", payload).isEmpty());
     }
 
+    @Test
+    void validate_stream_rejectedAfterMaxSize() throws IOException {
+        Assertions.assertTrue(this.validator
+            .validate(WebFileType.VALID, "unused", StoragePayload.of(new ByteArrayInputStream(payload), -1))
+            .isEmpty());
+
+        // An endless stream of unknown length is rejected after reading one byte past the maximum size
+        final InputStream endlessStream = new InputStream() {
+            @Override
+            public int read() {
+                return 0;
+            }
+        };
+        Assertions.assertEquals("File size is too big", Assertions
+            .assertThrows(IllegalArgumentException.class,
+                () -> this.validator.validate(WebFileType.VALID, "unused", StoragePayload.of(endlessStream, -1)))
+            .getMessage());
+        // A declared length is enough, nothing is read
+        Assertions.assertEquals("File size is too small", Assertions
+            .assertThrows(IllegalArgumentException.class,
+                () -> this.validator.validate(WebFileType.VALID, "unused", StoragePayload.of(endlessStream, 10)))
+            .getMessage());
+    }
+
     @Test
     void validate_InvalidArgs_Exception() {
         Assertions.assertEquals("File size is too small", Assertions
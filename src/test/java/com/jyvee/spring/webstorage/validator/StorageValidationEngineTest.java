@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2026 Rahim Alizada
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jyvee.spring.webstorage.validator;
+
+import com.jyvee.spring.test.webstorage.WebFileType;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class StorageValidationEngineTest {
+
+    private static final byte[] PAYLOAD = new byte[] {1, 2, 3};
+
+    @Test
+    void constructor_unorderedValidators_sortedByCost() {
+        final StorageImageValidator imageValidator = new StorageImageValidator();
+        final StorageContentTypeValidator contentTypeValidator = new StorageContentTypeValidator();
+        final StorageSizeValidator sizeValidator = new StorageSizeValidator();
+
+        final StorageValidationEngine engine =
+            new StorageValidationEngine(List.of(imageValidator, sizeValidator, contentTypeValidator));
+
+        Assertions.assertEquals(List.of(sizeValidator, contentTypeValidator, imageValidator), engine.getValidators());
+    }
+
+    @Test
+    void validate_validFile_metadataMergedInOrder() {
+        final List<String> calls = Collections.synchronizedList(new ArrayList<>());
+        final StorageValidationEngine engine = new StorageValidationEngine(
+            List.of(validator("image", StorageValidator.Cost.HIGH, calls, Map.of("key", "image")),
+                validator("size", StorageValidator.Cost.LOW, calls, Map.of("key", "size", "size", "3"))));
+
+        Assertions.assertEquals(Map.of("key", "image", "size", "3"),
+            engine.validate(WebFileType.NO_CHECK, "image/png", PAYLOAD));
+        Assertions.assertEquals(List.of("size", "image"), calls);
+    }
+
+    @Test
+    void validate_cheapValidatorRejects_expensiveValidatorSkipped() {
+        final List<String> calls = Collections.synchronizedList(new ArrayList<>());
+        final StorageValidationEngine engine = new StorageValidationEngine(
+            List.of(validator("image", StorageValidator.Cost.HIGH, calls, Map.of()),
+                validator("size", StorageValidator.Cost.LOW, calls, null)));
+
+        Assertions.assertEquals("size", Assertions
+            .assertThrows(IllegalArgumentException.class,
+                () -> engine.validate(WebFileType.NO_CHECK, "image/png", PAYLOAD))
+            .getMessage());
+        Assertions.assertEquals(List.of("size"), calls);
+    }
+
+    @Test
+    void validate_executor_expensiveValidatorsConcurrent() throws InterruptedException {
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // Both validators wait for each other, so the validation completes only if they run at the same time
+            final CountDownLatch latch = new CountDownLatch(2);
+            final StorageValidationEngine engine =
+                new StorageValidationEngine(List.of(awaiting(latch, "first"), awaiting(latch, "second")), executor);
+
+            Assertions.assertEquals(Map.of("first", "true", "second", "true"),
+                engine.validate(WebFileType.NO_CHECK, "image/png", PAYLOAD));
+        } finally {
+            executor.shutdownNow();
+            Assertions.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void validate_executorAndRejection_exceptionRethrown() throws InterruptedException {
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final List<String> calls = Collections.synchronizedList(new ArrayList<>());
+            // The slow validator never completes on its own, the rejection must not wait for it
+            final StorageValidator slowValidator = awaiting(new CountDownLatch(2), "slow");
+            final StorageValidationEngine engine = new StorageValidationEngine(
+                List.of(slowValidator, validator("image", StorageValidator.Cost.HIGH, calls, null)), executor);
+
+            Assertions.assertEquals("image", Assertions
+                .assertThrows(IllegalArgumentException.class,
+                    () -> engine.validate(WebFileType.NO_CHECK, "image/png", PAYLOAD))
+                .getMessage());
+        } finally {
+            executor.shutdownNow();
+            Assertions.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void getMetrics_validations_countedPerValidator() {
+        final AtomicInteger counter = new AtomicInteger();
+        final StorageValidator validator = new StorageValidator() {
+            @Override
+            public Map<String, String> validate(final Object configuration, final String contentType,
+                                                final byte[] payload) {
+                if (counter.incrementAndGet() == 2) {
+                    throw new IllegalArgumentException("Rejected");
+                }
+                return Map.of();
+            }
+        };
+        final StorageValidationEngine engine = new StorageValidationEngine(List.of(validator));
+        Assertions.assertTrue(engine.getMetrics().isEmpty());
+
+        engine.validate(WebFileType.NO_CHECK, "image/png", PAYLOAD);
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> engine.validate(WebFileType.NO_CHECK, "image/png", PAYLOAD));
+        engine.validate(WebFileType.NO_CHECK, "image/png", PAYLOAD);
+
+        final StorageValidationEngine.ValidatorMetrics metrics = engine.getMetrics().get(validator.getClass());
+        Assertions.assertEquals(3, metrics.getInvocations());
+        Assertions.assertEquals(1, metrics.getRejections());
+        Assertions.assertTrue(metrics.getTotalNanos() > 0);
+    }
+
+    /** @return validator recording its name, rejecting the file with its name as message if metadata is null */
+    private static StorageValidator validator(final String name, final StorageValidator.Cost cost,
+                                              final List<String> calls, @Nullable final Map<String, String> metadata) {
+        return new StorageValidator() {
+            @Override
+            public Map<String, String> validate(final Object configuration, final String contentType,
+                                                final byte[] payload) {
+                calls.add(name);
+                if (metadata == null) {
+                    throw new IllegalArgumentException(name);
+                }
+                return metadata;
+            }
+
+            @Override
+            public Cost getCost() {
+                return cost;
+            }
+        };
+    }
+
+    private static StorageValidator awaiting(final CountDownLatch latch, final String name) {
+        return new StorageValidator() {
+            @Override
+            public Map<String, String> validate(final Object configuration, final String contentType,
+                                                final byte[] payload) {
+                latch.countDown();
+                try {
+                    if (!latch.await(10, TimeUnit.SECONDS)) {
+                        throw new IllegalStateException("Timeout");
+                    }
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(e);
+                }
+                return Map.of(name, "true");
+            }
+
+            @Override
+            public Cost getCost() {
+                return Cost.HIGH;
+            }
+        };
+    }
+
+}